@@ -0,0 +1,69 @@
+package com.salepilot.backend.security;
+
+import com.salepilot.backend.config.AppProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating a request's token: a full HS512 signature check and
+ * claims parse (what every request paid before verified tokens were cached)
+ * against a repeat token served from the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-hs512-signing-at-least-64-bytes-long-0123456789";
+
+    private JwtTokenProvider tokenProvider;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getJwt().setSecret(SECRET);
+        appProperties.getJwt().setExpiration(TimeUnit.HOURS.toMillis(1));
+        appProperties.getJwt().setRefreshExpiration(TimeUnit.DAYS.toMillis(7));
+        tokenProvider = new JwtTokenProvider(appProperties, new SimpleMeterRegistry());
+        tokenProvider.init();
+
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+
+        UserPrincipal principal = new UserPrincipal();
+        principal.setId(1L);
+        principal.setUsername("cashier");
+        principal.setEmail("cashier@example.com");
+        principal.setCurrentStoreId("store-1");
+        principal.setAuthorities(List.of());
+        token = tokenProvider.generateAccessToken(principal);
+    }
+
+    @Benchmark
+    public Claims verifySignature() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> parseCachedToken() {
+        return tokenProvider.parseToken(token);
+    }
+}
@@ -5,17 +5,30 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Getter
 @Setter
 @Configuration
 @ConfigurationProperties(prefix = "app")
 public class AppProperties {
 
+    private String businessTimeZone = "UTC"; // Zone whose calendar days rollups and stock snapshots are bucketed by
     private Jwt jwt = new Jwt();
     private Ai ai = new Ai();
     private Email email = new Email();
     private Storage storage = new Storage();
     private Firebase firebase = new Firebase();
+    private Inventory inventory = new Inventory();
+    private ProductImport productImport = new ProductImport();
+    private Export export = new Export();
+    private CatalogSync catalogSync = new CatalogSync();
+    private Dashboard dashboard = new Dashboard();
+    private Security security = new Security();
+    private Partitioning partitioning = new Partitioning();
+    private Bulkhead bulkhead = new Bulkhead();
+    private Datasource datasource = new Datasource();
 
     @Getter
     @Setter
@@ -23,6 +36,7 @@ public class AppProperties {
         private String secret;
         private long expiration;
         private long refreshExpiration;
+        private long verifiedCacheSize = 50000;
     }
 
     @Getter
@@ -65,4 +79,124 @@ public class AppProperties {
         private String credentialsPath;
         private String storageBucket;
     }
+
+    @Getter
+    @Setter
+    public static class Inventory {
+        private boolean allowNegativeStock = true;
+        private long snapshotCompactionIntervalMs = 300000;
+        private long lookupIndexMaxProducts = 2000000; // Across all cached stores
+        private long lookupIndexTtlSeconds = 600;
+    }
+
+    @Getter
+    @Setter
+    public static class ProductImport {
+        private int batchSize = 2000;
+        private int maxReportedErrors = 1000;
+        private long jobRetentionSeconds = 3600;
+    }
+
+    @Getter
+    @Setter
+    public static class Export {
+        private int fetchSize = 1000;
+        private long maxDurationMs = 600000; // Longer downloads are cut off (keep below spring.mvc.async.request-timeout)
+    }
+
+    @Getter
+    @Setter
+    public static class CatalogSync {
+        private long tombstoneRetentionDays = 90; // Cursors older than this must resync from scratch
+        private long tombstonePurgeIntervalMs = 3600000;
+        private int defaultPageSize = 500;
+        private int maxPageSize = 2000;
+    }
+
+    @Getter
+    @Setter
+    public static class Dashboard {
+        private long metricsCacheTtlSeconds = 60;
+        private long metricsRefreshIntervalMs = 2000;
+    }
+
+    @Getter
+    @Setter
+    public static class Partitioning {
+        private int monthsAhead = 3;
+        private long maintenanceIntervalMs = 21600000;
+        private Map<String, Integer> archiveAfterMonths = new LinkedHashMap<>(); // Table -> months kept attached
+    }
+
+    @Getter
+    @Setter
+    public static class Datasource {
+        private Replica replica = new Replica();
+
+        @Getter
+        @Setter
+        public static class Replica {
+            private boolean enabled = false;
+            private String url;
+            private String username;
+            private String password;
+            private int maxPoolSize = 5;
+            private long maxLagMs = 5000; // Staleness bound: beyond this, reads go to the primary
+            private long stickinessMs = 10000; // Reads stay on the primary this long after a store's write
+            private long lagCheckIntervalMs = 1000;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        private boolean enabled = true;
+        private int poolSize = 10; // Should match spring.datasource.hikari.maximum-pool-size
+        private int checkoutReserved = 2; // Connections only checkout work may use
+        private int reportingMaxConcurrent = 2; // Across all stores
+        private int exportMaxConcurrent = 3; // Across all stores; per-store-export keeps each store to one
+        private int perStoreCheckout = 4;
+        private int perStoreStandard = 4;
+        private int perStoreReporting = 1;
+        private int perStoreExport = 1;
+        private long acquireTimeoutMs = 2000;
+        private long storeIdleSeconds = 600; // Idle per-store lanes are dropped after this
+    }
+
+    @Getter
+    @Setter
+    public static class Security {
+        private boolean statelessAuth = false;
+        private long principalCacheTtlSeconds = 60;
+        private long principalCacheMaxSize = 10000;
+        private long revocationRefreshIntervalMs = 2000;
+        private long revocationPurgeIntervalMs = 3600000;
+        private RateLimit rateLimit = new RateLimit();
+        private Password password = new Password();
+
+        @Getter
+        @Setter
+        public static class RateLimit {
+            private boolean enabled = true;
+            private long requestsPerSecond = 100; // Per user (or client IP when anonymous)
+            private long storeRequestsPerSecond = 300; // Shared by all users of one store
+            private long burstSeconds = 2; // Bucket capacity in seconds of sustained rate
+            private long maxBuckets = 100000;
+            private long bucketIdleSeconds = 600;
+            private Map<String, Integer> endpointCosts = new LinkedHashMap<>(Map.of(
+                    "/api/v1/reports/**", 10,
+                    "/api/v1/chat/**", 20,
+                    "/api/v1/exports/**", 20));
+        }
+
+        @Getter
+        @Setter
+        public static class Password {
+            private int bcryptStrength = 12;
+            private boolean rehashOnLogin = true; // Re-encode hashes whose work factor differs from bcryptStrength
+            private int hashThreads = 0; // 0 = half the available processors
+            private int queueCapacity = 64;
+            private long timeoutMs = 5000;
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package com.salepilot.backend.config;
 
+import com.salepilot.backend.context.ContextPropagatingTaskDecorator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -9,18 +11,25 @@ import java.util.concurrent.Executor;
 
 /**
  * Async configuration for handling asynchronous operations.
+ * Tasks inherit the caller's tenant, security context and MDC.
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(TaskDecorator contextPropagatingTaskDecorator) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("async-");
+        executor.setTaskDecorator(contextPropagatingTaskDecorator);
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
@@ -0,0 +1,77 @@
+package com.salepilot.backend.config;
+
+import com.salepilot.backend.context.Bulkhead;
+import com.salepilot.backend.context.TenantBulkheads;
+import com.salepilot.backend.context.TenantContext;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+
+/**
+ * Admits transactional service calls through {@link TenantBulkheads} before a
+ * transaction (and therefore a pooled connection) is opened.
+ * Applies to @Transactional or @Bulkhead methods of classes in the service
+ * package when a tenant is set; nested service calls reuse the outer
+ * admission. Background jobs without a tenant are not limited.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    private static final String SERVICE_PACKAGE = "com.salepilot.backend.service";
+
+    private static final ThreadLocal<Boolean> admitted = new ThreadLocal<>();
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor tenantBulkheadAdvisor(ObjectProvider<TenantBulkheads> bulkheads) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Transactional.class, true))
+                .union(new AnnotationMatchingPointcut(null, Transactional.class, true))
+                .union(new AnnotationMatchingPointcut(Bulkhead.class, true))
+                .union(new AnnotationMatchingPointcut(null, Bulkhead.class, true))
+                .intersection((ClassFilter) clazz -> clazz.getName().startsWith(SERVICE_PACKAGE));
+
+        MethodInterceptor interceptor = invocation -> {
+            String storeId = TenantContext.getCurrentTenant();
+            TenantBulkheads registry = bulkheads.getObject();
+            if (storeId == null || admitted.get() != null || !registry.isEnabled()) {
+                return invocation.proceed();
+            }
+
+            Object target = invocation.getThis();
+            Bulkhead.Lane lane = laneOf(invocation.getMethod(), target != null ? target.getClass() : null);
+            try (TenantBulkheads.Permit ignored = registry.acquire(lane, storeId)) {
+                admitted.set(Boolean.TRUE);
+                return invocation.proceed();
+            } finally {
+                admitted.remove();
+            }
+        };
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE); // Outside the transaction interceptor
+        return advisor;
+    }
+
+    private static Bulkhead.Lane laneOf(Method method, Class<?> targetClass) {
+        Method specific = targetClass != null ? AopUtils.getMostSpecificMethod(method, targetClass) : method;
+        Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(specific, Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(specific.getDeclaringClass(), Bulkhead.class);
+        }
+        return bulkhead != null ? bulkhead.value() : Bulkhead.Lane.STANDARD;
+    }
+}
@@ -16,10 +16,19 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
 
+    public static final String DASHBOARD_METRICS_CACHE = "dashboardMetrics";
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(AppProperties appProperties) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeineCacheBuilder());
+
+        // Per-store dashboard metrics: short-lived, refreshed on sale/stock events
+        cacheManager.registerCustomCache(DASHBOARD_METRICS_CACHE, Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterWrite(appProperties.getDashboard().getMetricsCacheTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build());
         return cacheManager;
     }
 
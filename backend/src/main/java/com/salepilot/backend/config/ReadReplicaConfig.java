@@ -0,0 +1,63 @@
+package com.salepilot.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes @Transactional(readOnly = true) work to a read replica.
+ *
+ * The application DataSource is wrapped in a LazyConnectionDataSourceProxy:
+ * the physical connection is only fetched at the first statement, by which
+ * point the transaction manager has marked it read-only, and read-only
+ * connections come from {@link ReplicaRouter}. Writes, Flyway and anything
+ * else keep using the primary pool unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(AppProperties appProperties, MeterRegistry meterRegistry) {
+        return new ReplicaRouter(appProperties.getDatasource().getReplica(), meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<ReplicaRouter> router) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)
+                        || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+                proxy.setReadOnlyDataSource(router.getObject().readOnlyDataSource(primary));
+                return proxy;
+            }
+        };
+    }
+
+    /**
+     * Keep a store's reads on the primary for a while after it commits a write
+     */
+    @Bean
+    public TransactionExecutionListener replicaStickinessListener(ReplicaRouter replicaRouter) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly()) {
+                    replicaRouter.recordWrite();
+                }
+            }
+        };
+    }
+}
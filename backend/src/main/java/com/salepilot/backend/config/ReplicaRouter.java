@@ -0,0 +1,154 @@
+package com.salepilot.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salepilot.backend.context.TenantContext;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides, per read-only connection, whether the replica may serve it.
+ * The replica is used only for store-scoped reads, only while its measured
+ * replay lag is within max-lag-ms and only if the current store has not
+ * committed a write on this node within stickiness-ms, so a store always
+ * reads its own recent writes. Reads without a tenant (schedulers, startup
+ * work) always go to the primary. Lag is probed on a fixed delay against the
+ * primary's WAL position; a failing probe sends all reads to the primary.
+ *
+ * Stickiness is tracked per node. A store whose requests are spread across
+ * nodes may read from the replica on one node right after writing on another;
+ * deployments that need read-your-writes across nodes should route a store to
+ * one node (sticky sessions) or keep stickiness-ms above the replica's lag.
+ */
+@Slf4j
+public class ReplicaRouter {
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    /**
+     * Zero once the replica has replayed up to the given primary LSN, otherwise
+     * the time since it last replayed a transaction. Comparing with the primary
+     * (rather than with the replica's own receive position) keeps a replica
+     * whose WAL receiver has disconnected from reporting zero lag.
+     */
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_replay_lsn() >= ?::pg_lsn THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, "
+            + "'Infinity'::float8) END";
+
+    private final AppProperties.Datasource.Replica config;
+    private final HikariDataSource replica;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Cache<String, Boolean> recentWriters;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    private volatile JdbcTemplate primaryJdbcTemplate;
+    private volatile long lagMs = Long.MAX_VALUE;
+
+    public ReplicaRouter(AppProperties.Datasource.Replica config, MeterRegistry meterRegistry) {
+        this.config = config;
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("HikariPoolSalePilotReplica");
+        dataSource.setJdbcUrl(config.getUrl());
+        dataSource.setUsername(config.getUsername());
+        dataSource.setPassword(config.getPassword());
+        dataSource.setMaximumPoolSize(config.getMaxPoolSize());
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        this.replica = dataSource;
+        this.replicaJdbcTemplate = new JdbcTemplate(dataSource);
+
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(config.getStickinessMs(), TimeUnit.MILLISECONDS)
+                .build();
+
+        this.replicaReads = Counter.builder("datasource.reads").tag("target", "replica").register(meterRegistry);
+        this.primaryReads = Counter.builder("datasource.reads").tag("target", "primary").register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, r -> r.lagMs == Long.MAX_VALUE ? -1 : r.lagMs)
+                .baseUnit("milliseconds").register(meterRegistry);
+    }
+
+    /**
+     * DataSource for read-only connections: the replica when allowed, otherwise the primary
+     */
+    public DataSource readOnlyDataSource(DataSource primary) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (useReplica()) {
+                    replicaReads.increment();
+                    return replica.getConnection();
+                }
+                primaryReads.increment();
+                return primary.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return primary.getConnection(username, password);
+            }
+        };
+    }
+
+    /**
+     * Note a committed write of the current store so its reads stay on the primary
+     */
+    public void recordWrite() {
+        String storeId = TenantContext.getCurrentTenant();
+        if (storeId != null) {
+            recentWriters.put(storeId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Measure replica replay lag
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        JdbcTemplate primaryTemplate = primaryJdbcTemplate;
+        if (primaryTemplate == null) {
+            return;
+        }
+        try {
+            String primaryLsn = primaryTemplate.queryForObject(PRIMARY_LSN_QUERY, String.class);
+            Double measured = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class, primaryLsn);
+            lagMs = measured != null && !measured.isInfinite() ? measured.longValue() : Long.MAX_VALUE;
+        } catch (Exception e) {
+            if (lagMs != Long.MAX_VALUE) {
+                log.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            }
+            lagMs = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Close the replica pool (invoked by the container on shutdown)
+     */
+    public void close() {
+        replica.close();
+    }
+
+    private boolean useReplica() {
+        if (lagMs > config.getMaxLagMs()) {
+            return false;
+        }
+        String storeId = TenantContext.getCurrentTenant();
+        return storeId != null && recentWriters.getIfPresent(storeId) == null;
+    }
+}
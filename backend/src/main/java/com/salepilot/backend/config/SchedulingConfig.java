@@ -0,0 +1,57 @@
+package com.salepilot.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Scheduling configuration for periodic background jobs.
+ * Each run starts from the context captured at scheduling time (no tenant)
+ * and has whatever it sets cleared afterwards, so jobs that switch tenants
+ * cannot leak one into the next run on the same thread.
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final ObjectProvider<ThreadPoolTaskScheduler> taskScheduler;
+
+    public SchedulingConfig(ObjectProvider<ThreadPoolTaskScheduler> taskScheduler) {
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(TaskDecorator contextPropagatingTaskDecorator) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setTaskDecorator(contextPropagatingTaskDecorator);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+
+    /**
+     * One thread per registered job (every @Scheduled method is registered by
+     * now), so a slow compaction or partition run never delays token
+     * revocation refresh or the replica lag probe
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        int jobs = registrar.getCronTaskList().size()
+                + registrar.getFixedRateTaskList().size()
+                + registrar.getFixedDelayTaskList().size()
+                + registrar.getTriggerTaskList().size();
+
+        ThreadPoolTaskScheduler scheduler = taskScheduler.getObject();
+        scheduler.setPoolSize(Math.max(1, jobs));
+        registrar.setTaskScheduler(scheduler);
+        log.info("Scheduler pool sized for {} scheduled jobs", jobs);
+    }
+}
@@ -1,7 +1,9 @@
 package com.salepilot.backend.config;
 
+import com.salepilot.backend.security.BoundedPasswordEncoder;
 import com.salepilot.backend.security.JwtAuthenticationEntryPoint;
 import com.salepilot.backend.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,8 +17,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -39,9 +41,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
         private final UserDetailsService userDetailsService;
+        private final UserDetailsPasswordService userDetailsPasswordService;
         private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
         private final com.salepilot.backend.security.TenantFilter tenantFilter;
+        private final com.salepilot.backend.security.RateLimitFilter rateLimitFilter;
 
         /**
          * Configure HTTP security
@@ -90,7 +94,10 @@ public class SecurityConfig {
                                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
                                 // Add tenant filter after JWT to extract store ID from authenticated user
-                                .addFilterAfter(tenantFilter, JwtAuthenticationFilter.class);
+                                .addFilterAfter(tenantFilter, JwtAuthenticationFilter.class)
+
+                                // Rate limit once the caller (user / store) is known
+                                .addFilterAfter(rateLimitFilter, com.salepilot.backend.security.TenantFilter.class);
 
                 return http.build();
         }
@@ -103,6 +110,8 @@ public class SecurityConfig {
                 org.springframework.security.authentication.dao.DaoAuthenticationProvider provider = new org.springframework.security.authentication.dao.DaoAuthenticationProvider(
                                 userDetailsService);
                 provider.setPasswordEncoder(passwordEncoder);
+                // Re-encode on login when the stored work factor is out of date
+                provider.setUserDetailsPasswordService(userDetailsPasswordService);
                 return provider;
         }
 
@@ -115,10 +124,10 @@ public class SecurityConfig {
         }
 
         /**
-         * Password encoder (BCrypt)
+         * Password encoder (BCrypt on a bounded hashing pool)
          */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder(12);
+        public PasswordEncoder passwordEncoder(AppProperties appProperties, MeterRegistry meterRegistry) {
+                return new BoundedPasswordEncoder(appProperties.getSecurity().getPassword(), meterRegistry);
         }
 }
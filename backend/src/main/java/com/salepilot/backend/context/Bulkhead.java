@@ -0,0 +1,27 @@
+package com.salepilot.backend.context;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the concurrency lane a service method (or every method of a service)
+ * is admitted through. Transactional service methods without it use
+ * {@link Lane#STANDARD}. See {@link TenantBulkheads}.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    Lane value();
+
+    enum Lane {
+        CHECKOUT, // Sales, payments, returns: may use the reserved connections
+        STANDARD, // Everything else
+        REPORTING, // Reports and long-running bulk work: small global cap
+        EXPORT // Streaming downloads: hold a connection for the whole transfer, own global cap
+    }
+}
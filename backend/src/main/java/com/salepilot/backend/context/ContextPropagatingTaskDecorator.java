@@ -0,0 +1,15 @@
+package com.salepilot.backend.context;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * TaskDecorator carrying tenant, security context and MDC from the submitting
+ * thread into tasks run by the application's executors and scheduler.
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ContextSnapshot.capture().wrap(runnable);
+    }
+}
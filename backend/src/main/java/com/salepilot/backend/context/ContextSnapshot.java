@@ -0,0 +1,117 @@
+package com.salepilot.backend.context;
+
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Immutable copy of the per-thread request context: tenant ID, security
+ * context and logging MDC.
+ * Capture it on the submitting thread and restore it around work running
+ * elsewhere (executors, CompletableFuture stages, parallel streams). Restoring
+ * is scoped: the worker thread's previous context is put back when the
+ * {@link Scope} closes, so pooled threads never leak one tenant into the next
+ * task.
+ */
+public final class ContextSnapshot {
+
+    private final String tenantId;
+    private final SecurityContext securityContext;
+    private final Map<String, String> mdc;
+
+    private ContextSnapshot(String tenantId, SecurityContext securityContext, Map<String, String> mdc) {
+        this.tenantId = tenantId;
+        this.securityContext = securityContext;
+        this.mdc = mdc;
+    }
+
+    /**
+     * Capture the context of the current thread
+     */
+    public static ContextSnapshot capture() {
+        return new ContextSnapshot(
+                TenantContext.getCurrentTenant(),
+                SecurityContextHolder.getContext(),
+                MDC.getCopyOfContextMap());
+    }
+
+    /**
+     * Executor that runs each task with the context of the thread submitting
+     * it. Use for executors not already decorated by AsyncConfig, e.g. as the
+     * executor argument of CompletableFuture.*Async.
+     */
+    public static Executor propagating(Executor delegate) {
+        return task -> delegate.execute(capture().wrap(task));
+    }
+
+    /**
+     * Make this snapshot current until the returned scope is closed
+     */
+    public Scope restore() {
+        ContextSnapshot previous = capture();
+        apply(this);
+        return () -> apply(previous);
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Scope ignored = restore()) {
+                task.run();
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            try (Scope ignored = restore()) {
+                return task.call();
+            }
+        };
+    }
+
+    public <T> Supplier<T> wrap(Supplier<T> task) {
+        return () -> {
+            try (Scope ignored = restore()) {
+                return task.get();
+            }
+        };
+    }
+
+    private static void apply(ContextSnapshot snapshot) {
+        if (snapshot.tenantId != null) {
+            TenantContext.setCurrentTenant(snapshot.tenantId);
+        } else {
+            TenantContext.clear();
+        }
+
+        if (snapshot.securityContext != null) {
+            SecurityContextHolder.setContext(snapshot.securityContext);
+        } else {
+            SecurityContextHolder.clearContext();
+        }
+
+        if (snapshot.mdc != null) {
+            MDC.setContextMap(snapshot.mdc);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Restored context; closing it reinstates what the thread had before
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,233 @@
+package com.salepilot.backend.context;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.exception.BusinessException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-store bulkheads in front of the shared connection pool.
+ *
+ * Every admitted call holds a permit of its store's lane, so one store can
+ * only ever occupy a bounded share of the pool. On top of that, STANDARD,
+ * REPORTING and EXPORT calls share pool-size minus checkout-reserved global
+ * permits (checkout always finds a free connection), and REPORTING and EXPORT
+ * calls additionally share a small global cap each, so long downloads cannot
+ * crowd out reports. A store over its own share gets 429; a saturated
+ * server gets 503. A store's lane is dropped once idle for store-idle-seconds
+ * (never while a call holds or waits for one of its permits). Waiting, active
+ * and rejected counts are exported per lane; rejections are logged with the
+ * store.
+ */
+@Slf4j
+@Component
+public class TenantBulkheads {
+
+    private final AppProperties.Bulkhead config;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore sharedPermits;
+    private final Semaphore reportingPermits;
+    private final Semaphore exportPermits;
+    private final Cache<String, StoreLane> storeLanes;
+    private final Map<Bulkhead.Lane, AtomicInteger> waiting = new EnumMap<>(Bulkhead.Lane.class);
+    private final Map<Bulkhead.Lane, AtomicInteger> active = new EnumMap<>(Bulkhead.Lane.class);
+
+    public TenantBulkheads(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.config = appProperties.getBulkhead();
+        this.meterRegistry = meterRegistry;
+        this.sharedPermits = new Semaphore(Math.max(1, config.getPoolSize() - config.getCheckoutReserved()), true);
+        this.reportingPermits = new Semaphore(Math.max(1, config.getReportingMaxConcurrent()), true);
+        this.exportPermits = new Semaphore(Math.max(1, config.getExportMaxConcurrent()), true);
+
+        long idleNanos = TimeUnit.SECONDS.toNanos(config.getStoreIdleSeconds());
+        this.storeLanes = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, StoreLane>() {
+                    @Override
+                    public long expireAfterCreate(String key, StoreLane storeLane, long currentTime) {
+                        return storeLane.users > 0 ? Long.MAX_VALUE : idleNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, StoreLane storeLane, long currentTime,
+                            long currentDuration) {
+                        return storeLane.users > 0 ? Long.MAX_VALUE : idleNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, StoreLane storeLane, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        for (Bulkhead.Lane lane : Bulkhead.Lane.values()) {
+            String laneTag = lane.name().toLowerCase();
+            waiting.put(lane, new AtomicInteger());
+            active.put(lane, new AtomicInteger());
+            Gauge.builder("bulkhead.waiting", waiting.get(lane), AtomicInteger::get)
+                    .tag("lane", laneTag).register(meterRegistry);
+            Gauge.builder("bulkhead.active", active.get(lane), AtomicInteger::get)
+                    .tag("lane", laneTag).register(meterRegistry);
+        }
+        Gauge.builder("bulkhead.stores", storeLanes, Cache::estimatedSize).register(meterRegistry);
+
+        Gauge.builder("bulkhead.global.waiting", sharedPermits, Semaphore::getQueueLength)
+                .tag("pool", "shared").register(meterRegistry);
+        Gauge.builder("bulkhead.global.waiting", reportingPermits, Semaphore::getQueueLength)
+                .tag("pool", "reporting").register(meterRegistry);
+        Gauge.builder("bulkhead.global.waiting", exportPermits, Semaphore::getQueueLength)
+                .tag("pool", "export").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Wait for admission of a call for a store in a lane
+     *
+     * @return Permit to close when the call completes
+     * @throws BusinessException 429 / 503 if not admitted within the timeout
+     */
+    public Permit acquire(Bulkhead.Lane lane, String storeId) {
+        String key = storeId + ":" + lane;
+        Semaphore store = pin(key, lane);
+        boolean admitted;
+        waiting.get(lane).incrementAndGet();
+        try {
+            admitted = tryAcquire(store);
+        } finally {
+            waiting.get(lane).decrementAndGet();
+        }
+        if (!admitted) {
+            unpin(key);
+            reject(storeId, lane, "store");
+            throw new BusinessException("Too many concurrent requests for this store, please retry shortly",
+                    HttpStatus.TOO_MANY_REQUESTS, "STORE_BUSY");
+        }
+
+        active.get(lane).incrementAndGet();
+        Permit releaseStore = () -> {
+            store.release();
+            active.get(lane).decrementAndGet();
+            unpin(key);
+        };
+
+        if (lane == Bulkhead.Lane.CHECKOUT) {
+            return releaseStore;
+        }
+
+        if (!tryAcquire(sharedPermits)) {
+            releaseStore.close();
+            reject(storeId, lane, "shared");
+            throw serverBusy();
+        }
+
+        Semaphore cap = switch (lane) {
+            case REPORTING -> reportingPermits;
+            case EXPORT -> exportPermits;
+            default -> null;
+        };
+        if (cap != null) {
+            if (!tryAcquire(cap)) {
+                sharedPermits.release();
+                releaseStore.close();
+                reject(storeId, lane, lane.name().toLowerCase());
+                throw serverBusy();
+            }
+            return () -> {
+                cap.release();
+                sharedPermits.release();
+                releaseStore.close();
+            };
+        }
+
+        return () -> {
+            sharedPermits.release();
+            releaseStore.close();
+        };
+    }
+
+    private boolean tryAcquire(Semaphore semaphore) {
+        try {
+            return semaphore.tryAcquire(config.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Get (or create) a store's lane and keep it from expiring until unpinned,
+     * so every caller of a store shares one semaphore
+     */
+    private Semaphore pin(String key, Bulkhead.Lane lane) {
+        return storeLanes.asMap().compute(key, (k, existing) -> {
+            StoreLane storeLane = existing != null ? existing : new StoreLane(permitsFor(lane));
+            storeLane.users++;
+            return storeLane;
+        }).semaphore;
+    }
+
+    private void unpin(String key) {
+        storeLanes.asMap().computeIfPresent(key, (k, storeLane) -> {
+            storeLane.users--;
+            return storeLane;
+        });
+    }
+
+    private int permitsFor(Bulkhead.Lane lane) {
+        int permits = switch (lane) {
+            case CHECKOUT -> config.getPerStoreCheckout();
+            case STANDARD -> config.getPerStoreStandard();
+            case REPORTING -> config.getPerStoreReporting();
+            case EXPORT -> config.getPerStoreExport();
+        };
+        return Math.max(1, permits);
+    }
+
+    private void reject(String storeId, Bulkhead.Lane lane, String scope) {
+        log.warn("Bulkhead rejected {} call for store {} ({} permits exhausted)", lane, storeId, scope);
+        meterRegistry.counter("bulkhead.rejected", "lane", lane.name().toLowerCase(), "scope", scope).increment();
+    }
+
+    private BusinessException serverBusy() {
+        return new BusinessException("Server is busy, please retry shortly",
+                HttpStatus.SERVICE_UNAVAILABLE, "SERVER_BUSY");
+    }
+
+    /**
+     * One store's lane; users counts calls holding or waiting for a permit and
+     * is only changed inside a compute of its cache entry
+     */
+    private static final class StoreLane {
+        private final Semaphore semaphore;
+        private int users;
+
+        private StoreLane(int permits) {
+            this.semaphore = new Semaphore(permits, true);
+        }
+    }
+
+    /**
+     * Admission held for the duration of one call
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -3,6 +3,7 @@ package com.salepilot.backend.controller;
 import com.salepilot.backend.dto.AccountDTO;
 import com.salepilot.backend.dto.JournalEntryDTO;
 import com.salepilot.backend.dto.TrialBalanceDTO;
+import com.salepilot.backend.dto.response.CursorPageResponse;
 import com.salepilot.backend.entity.Account;
 import com.salepilot.backend.entity.JournalEntry;
 import com.salepilot.backend.service.AccountingService;
@@ -54,6 +55,15 @@ public class AccountingController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @GetMapping("/journal-entries")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ACCOUNTANT')")
+    @Operation(summary = "Get journal entries (keyset pagination, newest first, without lines)")
+    public ResponseEntity<CursorPageResponse<JournalEntryDTO>> getJournalEntries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(accountingService.getJournalEntries(cursor, size).map(this::mapJournalEntryToDTO));
+    }
+
     @GetMapping("/reports/trial-balance")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'ACCOUNTANT')")
     @Operation(summary = "Get Trial Balance Report")
@@ -74,4 +84,14 @@ public class AccountingController {
                 .isDebitNormal(account.getIsDebitNormal())
                 .build();
     }
+
+    private JournalEntryDTO mapJournalEntryToDTO(JournalEntry entry) {
+        return JournalEntryDTO.builder()
+                .id(entry.getId())
+                .date(entry.getDate())
+                .description(entry.getDescription())
+                .sourceType(entry.getSourceType())
+                .sourceId(entry.getSourceId())
+                .build();
+    }
 }
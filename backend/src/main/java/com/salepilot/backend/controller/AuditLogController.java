@@ -1,5 +1,7 @@
 package com.salepilot.backend.controller;
 
+import com.salepilot.backend.dto.AuditLogResponse;
+import com.salepilot.backend.dto.response.CursorPageResponse;
 import com.salepilot.backend.entity.AuditLog;
 import com.salepilot.backend.service.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -30,4 +33,25 @@ public class AuditLogController {
     public ResponseEntity<Page<AuditLog>> getLogs(Pageable pageable) {
         return ResponseEntity.ok(auditLogService.getLogs(pageable));
     }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @Operation(summary = "Get audit logs (keyset pagination, newest first)")
+    public ResponseEntity<CursorPageResponse<AuditLogResponse>> getLogsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(auditLogService.getLogs(cursor, size).map(this::mapToResponse));
+    }
+
+    // Mapper helper
+    private AuditLogResponse mapToResponse(AuditLog log) {
+        return AuditLogResponse.builder()
+                .id(log.getId())
+                .timestamp(log.getTimestamp())
+                .userId(log.getUser() != null ? log.getUser().getId() : null)
+                .userName(log.getUserName())
+                .action(log.getAction())
+                .details(log.getDetails())
+                .build();
+    }
 }
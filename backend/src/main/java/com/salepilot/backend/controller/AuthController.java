@@ -83,10 +83,11 @@ public class AuthController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Logout successful")
     })
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestHeader("Authorization") String token,
+            @RequestBody(required = false) RefreshTokenRequest request) {
         log.info("POST /auth/logout - User logout");
 
-        authService.logout(token);
+        authService.logout(token, request != null ? request.getRefreshToken() : null);
 
         return ResponseEntity.ok(ApiResponse.success("Logout successful", null));
     }
@@ -0,0 +1,44 @@
+package com.salepilot.backend.controller;
+
+import com.salepilot.backend.dto.CatalogChangesResponse;
+import com.salepilot.backend.service.CatalogSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * REST Controller for delta catalogue sync.
+ * POS terminals poll with their last cursor; an unchanged page is answered
+ * with 304 Not Modified when the terminal sends back the previous ETag.
+ */
+@RestController
+@RequestMapping("/api/v1/catalog")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Sync", description = "Delta catalogue sync for POS terminals")
+public class CatalogSyncController {
+
+    private final CatalogSyncService catalogSyncService;
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get product and category changes after a sync cursor")
+    public ResponseEntity<CatalogChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        CatalogChangesResponse changes = catalogSyncService.getChanges(since, limit);
+
+        // The page is fully described by its cursor range and what it contains
+        int count = changes.getProducts().size() + changes.getCategories().size();
+        String etag = "\"" + (since != null ? since : "") + "-" + changes.getCursor() + "-" + count + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(changes);
+    }
+}
@@ -0,0 +1,83 @@
+package com.salepilot.backend.controller;
+
+import com.salepilot.backend.context.ContextSnapshot;
+import com.salepilot.backend.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for streaming data exports.
+ * Responses are gzip-compressed CSV or NDJSON files written while the
+ * database cursor advances.
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+@Tag(name = "Exports", description = "Streaming CSV / NDJSON data exports")
+@PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/products")
+    @Operation(summary = "Export all products (gzip CSV or NDJSON)")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "CSV") ExportService.ExportFormat format) {
+        ContextSnapshot context = ContextSnapshot.capture();
+        return download("products", format, out -> {
+            try (ContextSnapshot.Scope ignored = context.restore()) {
+                exportService.exportProducts(format, out);
+            }
+        });
+    }
+
+    @GetMapping("/customers")
+    @Operation(summary = "Export all customers (gzip CSV or NDJSON)")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(defaultValue = "CSV") ExportService.ExportFormat format) {
+        ContextSnapshot context = ContextSnapshot.capture();
+        return download("customers", format, out -> {
+            try (ContextSnapshot.Scope ignored = context.restore()) {
+                exportService.exportCustomers(format, out);
+            }
+        });
+    }
+
+    @GetMapping("/sales")
+    @Operation(summary = "Export sales, optionally between two dates (gzip CSV or NDJSON)")
+    public ResponseEntity<StreamingResponseBody> exportSales(
+            @RequestParam(defaultValue = "CSV") ExportService.ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ContextSnapshot context = ContextSnapshot.capture();
+        return download("sales", format, out -> {
+            try (ContextSnapshot.Scope ignored = context.restore()) {
+                exportService.exportSales(format, from, to, out);
+            }
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportService.ExportFormat format,
+            StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension() + ".gz";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
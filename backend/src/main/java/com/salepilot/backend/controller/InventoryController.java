@@ -0,0 +1,99 @@
+package com.salepilot.backend.controller;
+
+import com.salepilot.backend.dto.InventoryMovementResponse;
+import com.salepilot.backend.dto.StockHistoryResponse;
+import com.salepilot.backend.entity.InventoryDailySnapshot;
+import com.salepilot.backend.entity.InventoryMovement;
+import com.salepilot.backend.service.InventoryMovementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for the inventory movement ledger.
+ */
+@RestController
+@RequestMapping("/api/v1/inventory")
+@RequiredArgsConstructor
+@Tag(name = "Inventory", description = "Inventory movement history endpoints")
+public class InventoryController {
+
+    private final InventoryMovementService inventoryMovementService;
+
+    @GetMapping("/products/{productId}/movements")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INVENTORY_MANAGER')")
+    @Operation(summary = "List stock movements for a product")
+    public ResponseEntity<Page<InventoryMovementResponse>> getMovements(
+            @PathVariable Long productId,
+            Pageable pageable) {
+        Page<InventoryMovement> movements = inventoryMovementService.getProductMovements(productId, pageable);
+        return ResponseEntity.ok(movements.map(this::mapToResponse));
+    }
+
+    @GetMapping("/products/{productId}/history")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INVENTORY_MANAGER')")
+    @Operation(summary = "Get per-day stock history for a product")
+    public ResponseEntity<StockHistoryResponse> getHistory(
+            @PathVariable Long productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<InventoryDailySnapshot> snapshots = inventoryMovementService.getDailyHistory(productId, from, to);
+
+        List<StockHistoryResponse.DailyStockDTO> days = snapshots.stream()
+                .map(s -> StockHistoryResponse.DailyStockDTO.builder()
+                        .day(s.getDay())
+                        .quantityIn(s.getQuantityIn())
+                        .quantityOut(s.getQuantityOut())
+                        .netChange(s.getNetChange())
+                        .closingBalance(s.getClosingBalance())
+                        .movementCount(s.getMovementCount())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(StockHistoryResponse.builder()
+                .productId(productId)
+                .from(from)
+                .to(to)
+                .days(days)
+                .build());
+    }
+
+    @GetMapping("/products/{productId}/stock-as-of")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INVENTORY_MANAGER')")
+    @Operation(summary = "Get product stock level at the end of a given day")
+    public ResponseEntity<Map<String, Object>> getStockAsOf(
+            @PathVariable Long productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        BigDecimal stock = inventoryMovementService.getStockAsOf(productId, date);
+        return ResponseEntity.ok(Map.of(
+                "productId", productId,
+                "date", date,
+                "stock", stock));
+    }
+
+    // Mapper helper
+    private InventoryMovementResponse mapToResponse(InventoryMovement movement) {
+        return InventoryMovementResponse.builder()
+                .id(movement.getId())
+                .productId(movement.getProduct().getId())
+                .movementType(movement.getMovementType())
+                .quantity(movement.getQuantity())
+                .balanceAfter(movement.getBalanceAfter())
+                .unitCost(movement.getUnitCost())
+                .referenceId(movement.getReferenceId())
+                .occurredAt(movement.getOccurredAt())
+                .build();
+    }
+}
@@ -1,19 +1,25 @@
 package com.salepilot.backend.controller;
 
+import com.salepilot.backend.dto.ProductImportJobResponse;
 import com.salepilot.backend.dto.ProductRequest;
 import com.salepilot.backend.dto.ProductResponse;
+import com.salepilot.backend.dto.ProductSnapshot;
 import com.salepilot.backend.entity.Product;
+import com.salepilot.backend.service.ProductImportService;
+import com.salepilot.backend.service.ProductLookupIndex;
 import com.salepilot.backend.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,6 +34,8 @@ import java.util.stream.Collectors;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductLookupIndex productLookupIndex;
+    private final ProductImportService productImportService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -99,6 +107,34 @@ public class ProductController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/scan/{code}")
+    @Operation(summary = "Resolve a scanned barcode or SKU from the in-memory index")
+    public ResponseEntity<ProductSnapshot> scan(@PathVariable String code) {
+        return productLookupIndex.lookup(code)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping(value = "/imports", consumes = { "text/csv",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" })
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Start a bulk product import (CSV or XLSX with a header row); poll the returned job")
+    public ResponseEntity<ProductImportJobResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        ProductImportService.ImportFormat format = contentType.startsWith("text/csv")
+                ? ProductImportService.ImportFormat.CSV
+                : ProductImportService.ImportFormat.XLSX;
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(productImportService.startImport(body, format));
+    }
+
+    @GetMapping("/imports/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get bulk product import progress and row errors")
+    public ResponseEntity<ProductImportJobResponse> getImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(productImportService.getJob(jobId));
+    }
+
     // DTO Mapping
 
     private Product mapToEntity(ProductRequest request) {
@@ -2,6 +2,8 @@ package com.salepilot.backend.controller;
 
 import com.salepilot.backend.dto.SaleRequest;
 import com.salepilot.backend.dto.SaleResponse;
+import com.salepilot.backend.dto.SaleSummaryResponse;
+import com.salepilot.backend.dto.response.CursorPageResponse;
 import com.salepilot.backend.entity.Payment;
 import com.salepilot.backend.entity.Sale;
 import com.salepilot.backend.entity.SaleItem;
@@ -52,7 +54,29 @@ public class SaleController {
     @Operation(summary = "Get all sales with pagination")
     public ResponseEntity<Page<SaleResponse>> getAllSales(Pageable pageable) {
         Page<Sale> sales = saleService.getAllSales(pageable);
-        return ResponseEntity.ok(sales.map(this::mapToResponse));
+
+        // Items & payments for the whole page in two queries
+        List<Long> saleIds = sales.map(Sale::getId).getContent();
+        Map<Long, List<SaleItem>> items = saleService.getSaleItemsBySale(saleIds);
+        Map<Long, List<Payment>> payments = saleService.getPaymentsBySale(saleIds);
+
+        return ResponseEntity.ok(sales.map(sale -> mapToResponse(sale,
+                items.getOrDefault(sale.getId(), List.of()),
+                payments.getOrDefault(sale.getId(), List.of()))));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get sale summaries with pagination (no items or payments)")
+    public ResponseEntity<Page<SaleSummaryResponse>> getSaleSummaries(Pageable pageable) {
+        return ResponseEntity.ok(saleService.getSaleSummaries(pageable));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get sale summaries (keyset pagination, newest first)")
+    public ResponseEntity<CursorPageResponse<SaleSummaryResponse>> getSaleSummariesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(saleService.getSaleSummaries(cursor, size));
     }
 
     @PostMapping("/{id}/payments")
@@ -73,9 +97,13 @@ public class SaleController {
 
     // Mapper helper
     private SaleResponse mapToResponse(Sale sale) {
-        List<SaleItem> items = saleService.getSaleItems(sale.getId());
-        List<Payment> payments = saleService.getSalePayments(sale.getId());
+        List<Long> saleIds = List.of(sale.getId());
+        return mapToResponse(sale,
+                saleService.getSaleItemsBySale(saleIds).getOrDefault(sale.getId(), List.of()),
+                saleService.getPaymentsBySale(saleIds).getOrDefault(sale.getId(), List.of()));
+    }
 
+    private SaleResponse mapToResponse(Sale sale, List<SaleItem> items, List<Payment> payments) {
         List<SaleResponse.SaleItemResponse> itemResponses = items.stream()
                 .map(item -> SaleResponse.SaleItemResponse.builder()
                         .id(item.getId())
@@ -1,20 +1,26 @@
 package com.salepilot.backend.controller;
 
+import com.salepilot.backend.dto.StockTakeBulkCountResponse;
 import com.salepilot.backend.dto.StockTakeResponse;
 import com.salepilot.backend.entity.StockTake;
 import com.salepilot.backend.entity.StockTakeItem;
+import com.salepilot.backend.service.StockCountParser;
 import com.salepilot.backend.service.StockTakeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,6 +35,7 @@ import java.util.stream.Collectors;
 public class StockTakeController {
 
     private final StockTakeService stockTakeService;
+    private final StockCountParser stockCountParser;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INVENTORY_MANAGER')")
@@ -57,6 +64,22 @@ public class StockTakeController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping(value = "/active/items/bulk", consumes = { "text/csv", "application/x-ndjson" })
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'INVENTORY_MANAGER')")
+    @Operation(summary = "Bulk upload counted quantities (CSV code,count or NDJSON) from a scanner")
+    public ResponseEntity<StockTakeBulkCountResponse> bulkUpdateItemCounts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        StockCountParser.CountFormat format = contentType.startsWith("application/x-ndjson")
+                ? StockCountParser.CountFormat.NDJSON
+                : StockCountParser.CountFormat.CSV;
+        // Read the whole upload before taking a transaction or bulkhead permit
+        StockCountParser.ParsedCounts parsed = stockCountParser.parse(
+                new InputStreamReader(body, StandardCharsets.UTF_8), format);
+        StockTakeBulkCountResponse response = stockTakeService.bulkUpdateItemCounts(parsed);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/active/finalize")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Finalize stock take and apply adjustments")
@@ -0,0 +1,25 @@
+package com.salepilot.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for audit log entries
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogResponse {
+
+    private Long id;
+    private Instant timestamp;
+    private Long userId;
+    private String userName;
+    private String action;
+    private String details;
+}
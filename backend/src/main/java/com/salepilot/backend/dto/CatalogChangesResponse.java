@@ -0,0 +1,69 @@
+package com.salepilot.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.salepilot.backend.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Catalogue changes after a client's sync cursor.
+ * Entries are in change order; deleted entries are tombstones carrying only
+ * the id. Clients store the opaque {@code cursor} and pass it as
+ * {@code since} next time, repeating immediately while {@code hasMore} is
+ * true.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangesResponse {
+
+    private String since;
+    private String cursor;
+    private boolean hasMore;
+    private List<ProductChange> products;
+    private List<CategoryChange> categories;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ProductChange {
+        private Long id;
+        private long changeSeq;
+        private boolean deleted; // Archived or removed
+        private String sku;
+        private String barcode;
+        private String name;
+        private Long categoryId;
+        private BigDecimal price;
+        private BigDecimal stock;
+        private Product.UnitOfMeasure unitOfMeasure;
+
+        @JsonIgnore
+        private long changeXid; // Writing transaction, orders changes together with changeSeq
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CategoryChange {
+        private Long id;
+        private long changeSeq;
+        private boolean deleted;
+        private String name;
+        private Long parentId;
+
+        @JsonIgnore
+        private long changeXid;
+    }
+}
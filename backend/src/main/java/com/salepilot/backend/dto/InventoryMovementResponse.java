@@ -0,0 +1,29 @@
+package com.salepilot.backend.dto;
+
+import com.salepilot.backend.entity.InventoryMovement;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Response DTO for a single inventory ledger movement
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovementResponse {
+
+    private Long id;
+    private Long productId;
+    private InventoryMovement.MovementType movementType;
+    private BigDecimal quantity;
+    private BigDecimal balanceAfter;
+    private BigDecimal unitCost;
+    private String referenceId;
+    private Instant occurredAt;
+}
@@ -0,0 +1,48 @@
+package com.salepilot.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress and outcome of an asynchronous bulk product import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportJobResponse {
+
+    private String jobId;
+    private JobStatus status;
+    private int rowsRead;
+    private int inserted;
+    private int updated;
+    private int failed;
+    private List<RowError> errors;
+    private boolean errorsTruncated; // More rows failed than are listed
+    private String message;
+    private Instant createdAt;
+    private Instant finishedAt;
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String sku;
+        private String message;
+    }
+}
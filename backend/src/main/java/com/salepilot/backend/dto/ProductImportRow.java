@@ -0,0 +1,35 @@
+package com.salepilot.backend.dto;
+
+import com.salepilot.backend.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One validated row of a bulk product import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRow {
+
+    private int rowNumber;
+    private String name;
+    private String sku;
+    private String barcode;
+    private String description;
+    private String brand;
+    private BigDecimal price;
+    private BigDecimal costPrice;
+    private BigDecimal stock; // Opening stock, applied to new products only
+    private Product.UnitOfMeasure unitOfMeasure; // null keeps the existing unit (UNIT for new products)
+    private Integer reorderPoint;
+    private String categoryName;
+    private String supplierName;
+    private Long categoryId;
+    private Long supplierId;
+}
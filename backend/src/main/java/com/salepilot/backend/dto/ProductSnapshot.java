@@ -0,0 +1,33 @@
+package com.salepilot.backend.dto;
+
+import com.salepilot.backend.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Compact product view served by the in-memory scan index.
+ * Instances held by the index are never mutated; changes replace them.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSnapshot {
+
+    private Long id;
+    private String sku;
+    private String barcode;
+    private String name;
+    private BigDecimal price;
+    private BigDecimal stock;
+    private Product.UnitOfMeasure unitOfMeasure;
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(product.getId(), product.getSku(), product.getBarcode(), product.getName(),
+                product.getPrice(), product.getStock(), product.getUnitOfMeasure());
+    }
+}
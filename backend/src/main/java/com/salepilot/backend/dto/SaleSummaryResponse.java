@@ -0,0 +1,41 @@
+package com.salepilot.backend.dto;
+
+import com.salepilot.backend.entity.Sale;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Lightweight sale row for list views (no items or payments).
+ * Field order matches the constructor expression in SaleRepository.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleSummaryResponse {
+
+    private Long id;
+    private String transactionId;
+    private Instant timestamp;
+    private Long customerId;
+    private String customerName;
+    private BigDecimal total;
+    private BigDecimal amountPaid;
+    private Sale.PaymentStatus paymentStatus;
+    private Sale.FulfillmentStatus fulfillmentStatus;
+    private Sale.SalesChannel channel;
+    private Sale.RefundStatus refundStatus;
+
+    /**
+     * Outstanding amount (never negative)
+     */
+    public BigDecimal getBalanceDue() {
+        BigDecimal balanceDue = total.subtract(amountPaid);
+        return balanceDue.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO : balanceDue;
+    }
+}
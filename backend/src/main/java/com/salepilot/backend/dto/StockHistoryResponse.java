@@ -0,0 +1,38 @@
+package com.salepilot.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for per-day stock history of a product
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHistoryResponse {
+
+    private Long productId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<DailyStockDTO> days;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyStockDTO {
+        private LocalDate day;
+        private BigDecimal quantityIn;
+        private BigDecimal quantityOut;
+        private BigDecimal netChange;
+        private BigDecimal closingBalance;
+        private Integer movementCount;
+    }
+}
@@ -0,0 +1,48 @@
+package com.salepilot.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for a bulk stock take count upload, with one result per failed line
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTakeBulkCountResponse {
+
+    private int totalLines;
+    private int applied;
+    private int failed;
+    private List<LineResult> results;
+    private boolean resultsTruncated; // More lines failed than are listed
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineResult {
+        private int line;
+        private String code; // Barcode or SKU as sent by the scanner
+        private Long productId;
+        private BigDecimal counted;
+        private LineStatus status;
+        private String message;
+    }
+
+    /**
+     * Per-line outcome
+     */
+    public enum LineStatus {
+        APPLIED,
+        INVALID, // Line could not be parsed
+        PRODUCT_NOT_FOUND, // No product with that barcode or SKU
+        NOT_IN_STOCK_TAKE // Product exists but was not snapshotted into the session
+    }
+}
@@ -0,0 +1,29 @@
+package com.salepilot.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Summary of the stock adjustments applied when a stock take is finalized
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockTakeVarianceDTO {
+
+    private int itemsAdjusted;
+    private BigDecimal gainValue; // Sum of (counted - expected) x cost where counted > expected
+    private BigDecimal lossValue; // Sum of (expected - counted) x cost where counted < expected
+
+    /**
+     * Net variance value (positive = inventory gain, negative = shrinkage)
+     */
+    public BigDecimal getNetValue() {
+        return gainValue.subtract(lossValue);
+    }
+}
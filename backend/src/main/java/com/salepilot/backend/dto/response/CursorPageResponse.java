@@ -0,0 +1,39 @@
+package com.salepilot.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset (cursor) paginated response wrapper.
+ * No total count is computed; pass {@code nextCursor} back to fetch the next
+ * page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private Integer size;
+    private Boolean hasMore;
+    private String nextCursor; // Opaque continuation token, null on the last page
+
+    /**
+     * Map the page content, keeping the cursor
+     */
+    public <R> CursorPageResponse<R> map(Function<T, R> mapper) {
+        return CursorPageResponse.<R>builder()
+                .content(content.stream().map(mapper).collect(Collectors.toList()))
+                .size(size)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
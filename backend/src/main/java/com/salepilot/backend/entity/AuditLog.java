@@ -7,10 +7,11 @@ import java.time.Instant;
 
 /**
  * Audit Log entity for tracking all user actions and system events.
+ * Stored in monthly partitions by timestamp; old months may be archived.
  */
 @Entity
 @Table(name = "audit_logs", indexes = {
-        @Index(name = "idx_audit_logs_store_id_timestamp", columnList = "store_id, timestamp"),
+        @Index(name = "idx_audit_logs_store_id_timestamp_id", columnList = "store_id, timestamp DESC, id DESC"),
         @Index(name = "idx_audit_logs_user_id", columnList = "user_id"),
         @Index(name = "idx_audit_logs_action", columnList = "action")
 })
@@ -6,6 +6,8 @@ import lombok.*;
 /**
  * Product category entity with hierarchical parent-child structure.
  * Categories can have custom attributes for products.
+ * The change_seq / changed_at columns used by catalogue sync are stamped by
+ * database triggers (V19) and are deliberately not mapped.
  */
 @Entity
 @Table(name = "categories", indexes = {
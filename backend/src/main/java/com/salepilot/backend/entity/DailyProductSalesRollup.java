@@ -0,0 +1,41 @@
+package com.salepilot.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-product, per-day sales quantities and revenue.
+ * Maintained in the same transaction as each sale / return by SalesRollupService.
+ */
+@Entity
+@Table(name = "daily_product_sales_rollup", indexes = {
+        @Index(name = "uidx_daily_product_sales_rollup_store_day_product", columnList = "store_id, day, product_id", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyProductSalesRollup extends TenantAware {
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity_sold", nullable = false, precision = 14, scale = 3)
+    private BigDecimal quantitySold;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "cost", nullable = false, precision = 14, scale = 2)
+    private BigDecimal cost;
+
+    @Column(name = "quantity_returned", nullable = false, precision = 14, scale = 3)
+    private BigDecimal quantityReturned;
+}
@@ -0,0 +1,55 @@
+package com.salepilot.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-store, per-day, per-channel sales totals.
+ * Maintained in the same transaction as each sale / return by SalesRollupService.
+ */
+@Entity
+@Table(name = "daily_sales_rollup", indexes = {
+        @Index(name = "uidx_daily_sales_rollup_store_day_channel", columnList = "store_id, day, channel", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySalesRollup extends TenantAware {
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", nullable = false, length = 20)
+    private Sale.SalesChannel channel;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "gross_sales", nullable = false, precision = 14, scale = 2)
+    private BigDecimal grossSales; // Sum of sale totals
+
+    @Column(name = "discount_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal discountTotal;
+
+    @Column(name = "tax_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal taxTotal;
+
+    @Column(name = "return_count", nullable = false)
+    private Long returnCount;
+
+    @Column(name = "refund_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundTotal;
+
+    /**
+     * Sales net of refunds for the day
+     */
+    public BigDecimal getNetSales() {
+        return grossSales.subtract(refundTotal);
+    }
+}
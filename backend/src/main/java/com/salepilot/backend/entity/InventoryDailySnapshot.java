@@ -0,0 +1,48 @@
+package com.salepilot.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-product, per-day rollup of inventory movements.
+ * Maintained by the periodic compaction in InventoryMovementService.
+ */
+@Entity
+@Table(name = "inventory_daily_snapshots", indexes = {
+        @Index(name = "uidx_inventory_daily_snapshots_store_product_day", columnList = "store_id, product_id, day", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryDailySnapshot extends TenantAware {
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "quantity_in", nullable = false, precision = 12, scale = 3)
+    private BigDecimal quantityIn;
+
+    @Column(name = "quantity_out", nullable = false, precision = 12, scale = 3)
+    private BigDecimal quantityOut;
+
+    @Column(name = "closing_balance", precision = 10, scale = 3)
+    private BigDecimal closingBalance; // Stock at end of day
+
+    @Column(name = "movement_count", nullable = false)
+    private Integer movementCount;
+
+    /**
+     * Net stock change for the day
+     */
+    public BigDecimal getNetChange() {
+        return quantityIn.subtract(quantityOut);
+    }
+}
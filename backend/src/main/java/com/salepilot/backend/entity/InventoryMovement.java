@@ -0,0 +1,61 @@
+package com.salepilot.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Inventory movement entity: one immutable ledger row per stock change.
+ * Rows are only ever appended (in bulk) by InventoryMovementService.
+ */
+@Entity
+@Immutable
+@Table(name = "inventory_movements", indexes = {
+        @Index(name = "idx_inventory_movements_store_product_occurred", columnList = "store_id, product_id, occurred_at"),
+        @Index(name = "idx_inventory_movements_store_occurred", columnList = "store_id, occurred_at"),
+        @Index(name = "idx_inventory_movements_reference", columnList = "store_id, movement_type, reference_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryMovement extends TenantAware {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false)
+    private MovementType movementType;
+
+    @Column(name = "quantity", nullable = false, precision = 10, scale = 3)
+    private BigDecimal quantity; // Signed: positive = stock in, negative = stock out
+
+    @Column(name = "balance_after", precision = 10, scale = 3)
+    private BigDecimal balanceAfter; // Product stock right after this movement
+
+    @Column(name = "unit_cost", precision = 10, scale = 2)
+    private BigDecimal unitCost; // Cost snapshot for valuation
+
+    @Column(name = "reference_id")
+    private String referenceId; // Transaction ID, return ID, PO number or stock take ID
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    /**
+     * Movement type enumeration
+     */
+    public enum MovementType {
+        SALE,
+        RETURN,
+        PURCHASE_RECEIPT,
+        STOCK_TAKE_ADJUSTMENT,
+        MANUAL_ADJUSTMENT
+    }
+}
@@ -11,7 +11,7 @@ import java.time.Instant;
  */
 @Entity
 @Table(name = "journal_entries", indexes = {
-        @Index(name = "idx_journal_entries_store_id_date", columnList = "store_id, date"),
+        @Index(name = "idx_journal_entries_store_id_date_id", columnList = "store_id, date DESC, id DESC"),
         @Index(name = "idx_journal_entries_source_type", columnList = "source_type"),
         @Index(name = "idx_journal_entries_source_id", columnList = "source_id")
 })
@@ -49,6 +49,7 @@ public class JournalEntry extends TenantAware {
         SALE,
         PURCHASE,
         MANUAL,
-        PAYMENT
+        PAYMENT,
+        STOCK_TAKE
     }
 }
@@ -9,6 +9,7 @@ import java.time.Instant;
 /**
  * Payment entity for tracking payments made against sales.
  * Supports partial payments and multiple payment methods.
+ * Stored in monthly partitions by date.
  */
 @Entity
 @Table(name = "payments", indexes = {
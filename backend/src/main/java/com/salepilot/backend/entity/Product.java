@@ -8,13 +8,15 @@ import java.math.BigDecimal;
 /**
  * Product entity representing items for sale in the POS system.
  * Includes SKU, barcode, pricing, stock, and image management.
+ * The change_seq / changed_at columns used by catalogue sync are stamped by
+ * database triggers (V19) and are deliberately not mapped.
  */
 @Entity
 @Table(name = "products", indexes = {
         @Index(name = "idx_products_store_id", columnList = "store_id"),
         @Index(name = "idx_products_store_id_status", columnList = "store_id, status"),
-        @Index(name = "idx_products_sku", columnList = "sku"),
-        @Index(name = "idx_products_barcode", columnList = "barcode")
+        @Index(name = "uidx_products_store_sku", columnList = "store_id, sku", unique = true),
+        @Index(name = "idx_products_store_id_barcode", columnList = "store_id, barcode")
 })
 @Getter
 @Setter
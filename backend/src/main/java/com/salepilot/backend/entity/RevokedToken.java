@@ -0,0 +1,36 @@
+package com.salepilot.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Revoked (logged out) JWT, identified by its jti claim.
+ * Kept only until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "uidx_revoked_tokens_jti", columnList = "jti", unique = true),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken extends BaseEntity {
+
+    @Column(name = "jti", nullable = false, unique = true, length = 64)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
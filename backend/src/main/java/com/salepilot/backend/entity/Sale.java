@@ -10,11 +10,12 @@ import java.time.LocalDate;
 /**
  * Sale entity representing a transaction in the POS system.
  * Can be for POS or online sales, with payment and fulfillment tracking.
+ * Stored in monthly partitions by timestamp; filter on it where possible.
  */
 @Entity
 @Table(name = "sales", indexes = {
         @Index(name = "idx_sales_store_id", columnList = "store_id"),
-        @Index(name = "idx_sales_store_id_timestamp", columnList = "store_id, timestamp"),
+        @Index(name = "idx_sales_store_id_timestamp_id", columnList = "store_id, timestamp DESC, id DESC"),
         @Index(name = "idx_sales_fulfillment_status", columnList = "fulfillment_status"),
         @Index(name = "idx_sales_customer_id", columnList = "customer_id")
 })
@@ -55,6 +55,10 @@ public class User extends BaseEntity {
     @Builder.Default
     private Boolean credentialsNonExpired = true;
 
+    @Column(name = "security_version", nullable = false)
+    @Builder.Default
+    private Long securityVersion = 0L; // Bumped on password / role / status changes
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
     @Builder.Default
@@ -97,6 +101,13 @@ public class User extends BaseEntity {
     private String onboardingState; // JSONB field storing
                                     // {"completedActions":[],"dismissedHelpers":[],"lastUpdated":null}
 
+    /**
+     * Invalidate cached principals and access tokens issued before this change
+     */
+    public void bumpSecurityVersion() {
+        securityVersion = (securityVersion != null ? securityVersion : 0L) + 1;
+    }
+
     /**
      * Get full name of the user
      */
@@ -0,0 +1,16 @@
+package com.salepilot.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a committed change (sale, return, PO receipt, stock take)
+ * may alter a store's dashboard metrics.
+ */
+@Getter
+@RequiredArgsConstructor
+public class DashboardMetricsChangedEvent {
+
+    private final String storeId;
+    private final String source; // e.g. "sale", "return"
+}
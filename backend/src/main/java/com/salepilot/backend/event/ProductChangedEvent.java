@@ -0,0 +1,17 @@
+package com.salepilot.backend.event;
+
+import com.salepilot.backend.dto.ProductSnapshot;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a product is created, updated or archived.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    private final String storeId;
+    private final Long productId;
+    private final ProductSnapshot snapshot; // null when the product was archived
+}
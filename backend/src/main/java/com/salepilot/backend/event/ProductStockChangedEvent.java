@@ -0,0 +1,19 @@
+package com.salepilot.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Published when stock levels change outside of a product update
+ * (sale, return, PO receipt, stock take).
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductStockChangedEvent {
+
+    private final String storeId;
+    private final Map<Long, BigDecimal> newLevels; // ProductID -> stock; null when any product may have changed
+}
@@ -0,0 +1,15 @@
+package com.salepilot.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when a user's password, roles or account status change, so cached
+ * principals can be dropped once the change commits.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserSecurityChangedEvent {
+
+    private final Long userId;
+}
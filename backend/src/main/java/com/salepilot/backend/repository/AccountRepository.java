@@ -1,7 +1,6 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.Account;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +10,7 @@ import java.util.Optional;
  * Repository for Account entity (Chart of Accounts).
  */
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends TenantAwareRepository<Account> {
 
     /**
      * Find all accounts for a store
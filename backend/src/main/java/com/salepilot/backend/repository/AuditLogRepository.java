@@ -1,22 +1,44 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 /**
  * Repository for AuditLog entity.
  */
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends TenantAwareRepository<AuditLog> {
 
     /**
      * Find all audit logs for a store
      */
     Page<AuditLog> findByStoreIdOrderByTimestampDesc(String storeId, Pageable pageable);
 
+    /**
+     * First keyset page of audit logs, newest first
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.storeId = :storeId ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findByStoreIdKeyset(@Param("storeId") String storeId, Limit limit);
+
+    /**
+     * Keyset page of audit logs strictly older than (timestamp, id)
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.storeId = :storeId " +
+            "AND (a.timestamp, a.id) < (:timestamp, :id) " +
+            "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findByStoreIdKeysetAfter(@Param("storeId") String storeId,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") Long id,
+            Limit limit);
+
     /**
      * Find audit logs by user
      */
@@ -0,0 +1,167 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.dto.CatalogChangesResponse;
+import com.salepilot.backend.entity.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC reads of the catalogue change log created in V19 / V23.
+ * Changes are read in (change_xid, change_seq) order and only below a commit
+ * horizon, the oldest transaction still running: every change under it has
+ * committed or rolled back, and any later change gets a transaction id at or
+ * above it, so a client cursor may safely move past everything returned.
+ * xid8 values are passed as text and compared as numbers in Java.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogSyncRepository {
+
+    private static final String HORIZON_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text";
+
+    private static final String AFTER_CURSOR = "store_id = ? AND (change_xid, change_seq) > (?::xid8, ?) "
+            + "AND change_xid < ?::xid8 ORDER BY change_xid, change_seq LIMIT ?";
+
+    private static final String PRODUCT_CHANGES_SQL = "SELECT id, change_xid::text AS change_xid, change_seq, "
+            + "status, sku, barcode, name, category_id, price, stock, unit_of_measure "
+            + "FROM products WHERE " + AFTER_CURSOR;
+
+    private static final String CATEGORY_CHANGES_SQL = "SELECT id, change_xid::text AS change_xid, change_seq, "
+            + "name, parent_id FROM categories WHERE " + AFTER_CURSOR;
+
+    private static final String TOMBSTONES_SQL = "SELECT entity_type, entity_id, change_xid::text AS change_xid, "
+            + "change_seq FROM catalog_tombstones WHERE " + AFTER_CURSOR;
+
+    private static final String PURGED_THROUGH_SQL = "SELECT purged_xid::text AS purged_xid, purged_seq "
+            + "FROM catalog_tombstone_purge WHERE id = 1";
+
+    private static final String LOCK_PURGED_THROUGH_SQL = PURGED_THROUGH_SQL + " FOR UPDATE";
+
+    // Newest purgeable tombstone; everything at or before it in cursor order goes
+    private static final String PURGE_BOUND_SQL = "SELECT change_xid::text AS change_xid, change_seq "
+            + "FROM catalog_tombstones WHERE changed_at < now() - (? * interval '1 millisecond') "
+            + "AND change_xid < pg_snapshot_xmin(pg_current_snapshot()) "
+            + "ORDER BY change_xid DESC, change_seq DESC LIMIT 1";
+
+    private static final String PURGE_SQL = "DELETE FROM catalog_tombstones "
+            + "WHERE (change_xid, change_seq) <= (?::xid8, ?)";
+
+    private static final String ADVANCE_PURGED_THROUGH_SQL = "UPDATE catalog_tombstone_purge "
+            + "SET purged_xid = ?::xid8, purged_seq = ?, purged_at = now() WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Position in the change log: the writing transaction and the change sequence
+     */
+    public record Position(long xid, long seq) implements Comparable<Position> {
+
+        public static final Position START = new Position(0, 0);
+
+        @Override
+        public int compareTo(Position other) {
+            int byXid = Long.compare(xid, other.xid);
+            return byXid != 0 ? byXid : Long.compare(seq, other.seq);
+        }
+    }
+
+    /**
+     * Oldest transaction still running; read once per sync so every source uses
+     * the same horizon
+     */
+    public long findCommitHorizon() {
+        String horizon = jdbcTemplate.queryForObject(HORIZON_SQL, String.class);
+        return Long.parseLong(horizon);
+    }
+
+    /**
+     * Products changed after a position and below the horizon within tenant;
+     * archived products come back as tombstones
+     */
+    public List<CatalogChangesResponse.ProductChange> findProductChanges(String storeId, Position after,
+            long horizon, int limit) {
+        return jdbcTemplate.query(PRODUCT_CHANGES_SQL, (rs, rowNum) -> {
+            CatalogChangesResponse.ProductChange.ProductChangeBuilder change =
+                    CatalogChangesResponse.ProductChange.builder()
+                            .id(rs.getLong("id"))
+                            .changeXid(Long.parseLong(rs.getString("change_xid")))
+                            .changeSeq(rs.getLong("change_seq"));
+            if (Product.ProductStatus.ARCHIVED.name().equals(rs.getString("status"))) {
+                return change.deleted(true).build();
+            }
+            return change
+                    .sku(rs.getString("sku"))
+                    .barcode(rs.getString("barcode"))
+                    .name(rs.getString("name"))
+                    .categoryId(rs.getObject("category_id", Long.class))
+                    .price(rs.getBigDecimal("price"))
+                    .stock(rs.getBigDecimal("stock"))
+                    .unitOfMeasure(Product.UnitOfMeasure.valueOf(rs.getString("unit_of_measure")))
+                    .build();
+        }, storeId, Long.toString(after.xid()), after.seq(), Long.toString(horizon), limit);
+    }
+
+    /**
+     * Categories changed after a position and below the horizon within tenant
+     */
+    public List<CatalogChangesResponse.CategoryChange> findCategoryChanges(String storeId, Position after,
+            long horizon, int limit) {
+        return jdbcTemplate.query(CATEGORY_CHANGES_SQL, (rs, rowNum) -> {
+            return CatalogChangesResponse.CategoryChange.builder()
+                    .id(rs.getLong("id"))
+                    .changeXid(Long.parseLong(rs.getString("change_xid")))
+                    .changeSeq(rs.getLong("change_seq"))
+                    .name(rs.getString("name"))
+                    .parentId(rs.getObject("parent_id", Long.class))
+                    .build();
+        }, storeId, Long.toString(after.xid()), after.seq(), Long.toString(horizon), limit);
+    }
+
+    /**
+     * Hard deletes after a position and below the horizon within tenant: each
+     * row is [entity_type, entity_id, change_xid, change_seq]
+     */
+    public List<Object[]> findTombstones(String storeId, Position after, long horizon, int limit) {
+        return jdbcTemplate.query(TOMBSTONES_SQL, (rs, rowNum) -> new Object[] {
+                rs.getString("entity_type"),
+                rs.getLong("entity_id"),
+                Long.parseLong(rs.getString("change_xid")),
+                rs.getLong("change_seq")
+        }, storeId, Long.toString(after.xid()), after.seq(), Long.toString(horizon), limit);
+    }
+
+    /**
+     * Highest position removed by {@link #purgeTombstones}; cursors before it
+     * may have missed deletes
+     */
+    public Position findPurgedThrough() {
+        return jdbcTemplate.queryForObject(PURGED_THROUGH_SQL, (rs, rowNum) ->
+                new Position(Long.parseLong(rs.getString("purged_xid")), rs.getLong("purged_seq")));
+    }
+
+    /**
+     * Delete tombstones older than the retention and record how far the purge
+     * went. The row lock on the purge record serialises concurrent purges
+     * across nodes.
+     *
+     * @return Number of tombstones deleted
+     */
+    public int purgeTombstones(Duration retention) {
+        jdbcTemplate.queryForObject(LOCK_PURGED_THROUGH_SQL, (rs, rowNum) -> rs.getLong("purged_seq"));
+        Optional<Position> bound = jdbcTemplate.query(PURGE_BOUND_SQL, (rs, rowNum) ->
+                new Position(Long.parseLong(rs.getString("change_xid")), rs.getLong("change_seq")),
+                retention.toMillis()).stream().findFirst();
+        if (bound.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = jdbcTemplate.update(PURGE_SQL, Long.toString(bound.get().xid()), bound.get().seq());
+        jdbcTemplate.update(ADVANCE_PURGED_THROUGH_SQL, Long.toString(bound.get().xid()), bound.get().seq());
+        return deleted;
+    }
+}
@@ -1,7 +1,6 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.Category;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +10,7 @@ import java.util.Optional;
  * Repository for Category entity.
  */
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
+public interface CategoryRepository extends TenantAwareRepository<Category> {
 
     /**
      * Find all categories for a store
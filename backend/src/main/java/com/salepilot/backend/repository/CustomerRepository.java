@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +15,7 @@ import java.util.Optional;
  * Repository for Customer entity.
  */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends TenantAwareRepository<Customer> {
 
     /**
      * Find all customers for a store
@@ -24,14 +23,33 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Page<Customer> findByStoreId(String storeId, Pageable pageable);
 
     /**
-     * Search customers by name, email, or phone
+     * Search customers by name, email or phone using the trigram index on
+     * search_text (term normalised via SearchUtils). Name prefix matches rank
+     * first, then closest word similarity.
      */
-    @Query("SELECT c FROM Customer c WHERE c.storeId = :storeId AND " +
-            "(LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(c.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "c.phone LIKE CONCAT('%', :search, '%'))")
+    @Query(value = "SELECT c.* FROM customers c WHERE c.store_id = :storeId AND " +
+            "(c.search_text LIKE :pattern OR :term <% c.search_text) " +
+            "ORDER BY (lower(c.name) LIKE :prefix) DESC, " +
+            "word_similarity(:term, lower(c.name)) DESC, " +
+            "word_similarity(:term, c.search_text) DESC, c.id",
+            countQuery = "SELECT COUNT(*) FROM customers c WHERE c.store_id = :storeId AND " +
+                    "(c.search_text LIKE :pattern OR :term <% c.search_text)",
+            nativeQuery = true)
     Page<Customer> searchCustomers(@Param("storeId") String storeId,
-            @Param("search") String search,
+            @Param("term") String term,
+            @Param("pattern") String pattern,
+            @Param("prefix") String prefix,
+            Pageable pageable);
+
+    /**
+     * Search customers by name prefix, for terms too short for the trigram index
+     */
+    @Query(value = "SELECT c.* FROM customers c WHERE c.store_id = :storeId AND lower(c.name) LIKE :prefix " +
+            "ORDER BY lower(c.name), c.id",
+            countQuery = "SELECT COUNT(*) FROM customers c WHERE c.store_id = :storeId AND lower(c.name) LIKE :prefix",
+            nativeQuery = true)
+    Page<Customer> searchCustomersByPrefix(@Param("storeId") String storeId,
+            @Param("prefix") String prefix,
             Pageable pageable);
 
     /**
@@ -0,0 +1,32 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.DailyProductSalesRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for DailyProductSalesRollup entity.
+ */
+@Repository
+public interface DailyProductSalesRollupRepository extends TenantAwareRepository<DailyProductSalesRollup>,
+        DailyProductSalesRollupRepositoryCustom {
+
+    /**
+     * Top selling products within a date range
+     * Returns [productId, productName, totalQuantity, totalRevenue]
+     */
+    @Query("SELECT r.productId, p.name, SUM(r.quantitySold), SUM(r.revenue) " +
+            "FROM DailyProductSalesRollup r, Product p " +
+            "WHERE p.id = r.productId AND r.storeId = :storeId AND r.day BETWEEN :from AND :to " +
+            "GROUP BY r.productId, p.name " +
+            "ORDER BY SUM(r.quantitySold) DESC")
+    List<Object[]> findTopSellingProducts(@Param("storeId") String storeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.DailyProductSalesRollup;
+
+import java.util.List;
+
+/**
+ * Custom DailyProductSalesRollup repository operations implemented with plain JDBC.
+ */
+public interface DailyProductSalesRollupRepositoryCustom {
+
+    /**
+     * Add the given per-product deltas to their day's rollup rows in a single
+     * JDBC batch (upsert). Rows are applied in ascending product id order so
+     * concurrent transactions lock them in the same order.
+     *
+     * @param storeId The owning store
+     * @param deltas  Quantities / amounts to add, one per product and day
+     */
+    void batchAdd(String storeId, List<DailyProductSalesRollup> deltas);
+}
@@ -0,0 +1,50 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.DailyProductSalesRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link DailyProductSalesRollupRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class DailyProductSalesRollupRepositoryCustomImpl implements DailyProductSalesRollupRepositoryCustom {
+
+    private static final String UPSERT_SQL = "INSERT INTO daily_product_sales_rollup "
+            + "(store_id, day, product_id, quantity_sold, revenue, cost, quantity_returned, "
+            + "created_at, updated_at, version, deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), 0, FALSE) "
+            + "ON CONFLICT (store_id, day, product_id) DO UPDATE SET "
+            + "quantity_sold = daily_product_sales_rollup.quantity_sold + EXCLUDED.quantity_sold, "
+            + "revenue = daily_product_sales_rollup.revenue + EXCLUDED.revenue, "
+            + "cost = daily_product_sales_rollup.cost + EXCLUDED.cost, "
+            + "quantity_returned = daily_product_sales_rollup.quantity_returned + EXCLUDED.quantity_returned, "
+            + "updated_at = NOW()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchAdd(String storeId, List<DailyProductSalesRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<DailyProductSalesRollup> ordered = deltas.stream()
+                .sorted(Comparator.comparing(DailyProductSalesRollup::getDay)
+                        .thenComparing(DailyProductSalesRollup::getProductId))
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, ordered, ordered.size(), (ps, delta) -> {
+            ps.setString(1, storeId);
+            ps.setDate(2, Date.valueOf(delta.getDay()));
+            ps.setLong(3, delta.getProductId());
+            ps.setBigDecimal(4, delta.getQuantitySold());
+            ps.setBigDecimal(5, delta.getRevenue());
+            ps.setBigDecimal(6, delta.getCost());
+            ps.setBigDecimal(7, delta.getQuantityReturned());
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.DailySalesRollup;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for DailySalesRollup entity.
+ */
+@Repository
+public interface DailySalesRollupRepository extends TenantAwareRepository<DailySalesRollup>,
+        DailySalesRollupRepositoryCustom {
+
+    /**
+     * Rollup rows (one per channel per day) within a date range
+     */
+    List<DailySalesRollup> findByStoreIdAndDayBetween(String storeId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,35 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.Sale;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Custom DailySalesRollup repository operations implemented with plain JDBC.
+ */
+public interface DailySalesRollupRepositoryCustom {
+
+    /**
+     * Add one sale to the store / day / channel rollup row (upsert).
+     *
+     * @param storeId  The owning store
+     * @param day      Business day of the sale
+     * @param channel  Sales channel
+     * @param total    Sale total
+     * @param discount Sale discount
+     * @param tax      Sale tax
+     */
+    void addSale(String storeId, LocalDate day, Sale.SalesChannel channel, BigDecimal total, BigDecimal discount,
+            BigDecimal tax);
+
+    /**
+     * Add one return to the store / day / channel rollup row (upsert).
+     *
+     * @param storeId      The owning store
+     * @param day          Business day of the return
+     * @param channel      Channel of the original sale
+     * @param refundAmount Amount refunded
+     */
+    void addReturn(String storeId, LocalDate day, Sale.SalesChannel channel, BigDecimal refundAmount);
+}
@@ -0,0 +1,44 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.Sale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * JDBC implementation of {@link DailySalesRollupRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class DailySalesRollupRepositoryCustomImpl implements DailySalesRollupRepositoryCustom {
+
+    private static final String UPSERT_SQL = "INSERT INTO daily_sales_rollup "
+            + "(store_id, day, channel, transaction_count, gross_sales, discount_total, tax_total, return_count, "
+            + "refund_total, created_at, updated_at, version, deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), 0, FALSE) "
+            + "ON CONFLICT (store_id, day, channel) DO UPDATE SET "
+            + "transaction_count = daily_sales_rollup.transaction_count + EXCLUDED.transaction_count, "
+            + "gross_sales = daily_sales_rollup.gross_sales + EXCLUDED.gross_sales, "
+            + "discount_total = daily_sales_rollup.discount_total + EXCLUDED.discount_total, "
+            + "tax_total = daily_sales_rollup.tax_total + EXCLUDED.tax_total, "
+            + "return_count = daily_sales_rollup.return_count + EXCLUDED.return_count, "
+            + "refund_total = daily_sales_rollup.refund_total + EXCLUDED.refund_total, "
+            + "updated_at = NOW()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addSale(String storeId, LocalDate day, Sale.SalesChannel channel, BigDecimal total,
+            BigDecimal discount, BigDecimal tax) {
+        jdbcTemplate.update(UPSERT_SQL, storeId, Date.valueOf(day), channel.name(), 1L, total, discount, tax,
+                0L, BigDecimal.ZERO);
+    }
+
+    @Override
+    public void addReturn(String storeId, LocalDate day, Sale.SalesChannel channel, BigDecimal refundAmount) {
+        jdbcTemplate.update(UPSERT_SQL, storeId, Date.valueOf(day), channel.name(), 0L, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, 1L, refundAmount);
+    }
+}
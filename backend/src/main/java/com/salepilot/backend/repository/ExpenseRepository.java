@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Expense;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +13,7 @@ import java.time.Instant;
  * Repository for Expense entity.
  */
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends TenantAwareRepository<Expense> {
 
     /**
      * Find expenses for a store
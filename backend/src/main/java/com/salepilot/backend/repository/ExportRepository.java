@@ -0,0 +1,114 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.util.RowWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only JDBC cursors for data exports.
+ *
+ * Rows are fetched fetch-size at a time (Postgres only honours the fetch
+ * size inside a transaction, so callers must run in one) and handed straight
+ * to a {@link RowWriter}; no entities are materialised.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExportRepository {
+
+    private static final String PRODUCTS_SQL = "SELECT p.id, p.sku, p.barcode, p.name, p.description, p.brand, "
+            + "c.name AS category, s.name AS supplier, p.price, p.cost_price, p.stock, p.unit_of_measure, "
+            + "p.reorder_point, p.status, p.created_at, p.updated_at "
+            + "FROM products p "
+            + "LEFT JOIN categories c ON c.id = p.category_id "
+            + "LEFT JOIN suppliers s ON s.id = p.supplier_id "
+            + "WHERE p.store_id = ? ORDER BY p.id";
+
+    private static final String CUSTOMERS_SQL = "SELECT id, name, email, phone, store_credit, account_balance, "
+            + "notes, created_at, updated_at "
+            + "FROM customers WHERE store_id = ? ORDER BY id";
+
+    private static final String SALES_SQL = "SELECT s.id, s.transaction_id, s.timestamp, s.customer_id, "
+            + "c.name AS customer_name, s.subtotal, s.discount, s.tax, s.total, s.store_credit_used, s.amount_paid, "
+            + "s.payment_status, s.fulfillment_status, s.refund_status, s.channel, s.due_date "
+            + "FROM sales s LEFT JOIN customers c ON c.id = s.customer_id "
+            + "WHERE s.store_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream a store's products, ordered by id
+     */
+    public void streamProducts(String storeId, int fetchSize, RowWriter writer) {
+        stream(PRODUCTS_SQL, fetchSize, writer, storeId);
+    }
+
+    /**
+     * Stream a store's customers, ordered by id
+     */
+    public void streamCustomers(String storeId, int fetchSize, RowWriter writer) {
+        stream(CUSTOMERS_SQL, fetchSize, writer, storeId);
+    }
+
+    /**
+     * Stream a store's sales in [from, to] (either bound optional), ordered by time
+     */
+    public void streamSales(String storeId, LocalDate from, LocalDate to, int fetchSize, RowWriter writer) {
+        // Bounds are added only when given so monthly partitions outside the range are pruned
+        StringBuilder sql = new StringBuilder(SALES_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(storeId);
+        if (from != null) {
+            sql.append(" AND s.timestamp >= ?");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            sql.append(" AND s.timestamp < ?");
+            args.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY s.timestamp, s.id");
+        stream(sql.toString(), fetchSize, writer, args.toArray());
+    }
+
+    private void stream(String sql, int fetchSize, RowWriter writer, Object... args) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, (ResultSet rs) -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> names = new ArrayList<>(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                names.add(metaData.getColumnLabel(i));
+            }
+
+            try {
+                writer.columns(names);
+                Object[] values = new Object[columnCount];
+                while (rs.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        values[i] = rs.getObject(i + 1);
+                    }
+                    writer.row(values);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // Client went away; aborts the query
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.InventoryDailySnapshot;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for InventoryDailySnapshot entity.
+ */
+@Repository
+public interface InventoryDailySnapshotRepository extends TenantAwareRepository<InventoryDailySnapshot> {
+
+    /**
+     * Daily history for a product within a date range
+     */
+    List<InventoryDailySnapshot> findByStoreIdAndProductIdAndDayBetweenOrderByDayAsc(String storeId, Long productId,
+            LocalDate from, LocalDate to);
+
+    /**
+     * Latest snapshot on or before a date (closing balance = stock as of that day)
+     */
+    Optional<InventoryDailySnapshot> findFirstByStoreIdAndProductIdAndDayLessThanEqualOrderByDayDesc(String storeId,
+            Long productId, LocalDate day);
+
+    /**
+     * Earliest snapshot after a date
+     */
+    Optional<InventoryDailySnapshot> findFirstByStoreIdAndProductIdAndDayGreaterThanOrderByDayAsc(String storeId,
+            Long productId, LocalDate day);
+}
@@ -0,0 +1,21 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.InventoryMovement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for InventoryMovement entity.
+ * Writes go through {@link InventoryMovementRepositoryCustom#batchInsert}.
+ */
+@Repository
+public interface InventoryMovementRepository
+        extends TenantAwareRepository<InventoryMovement>, InventoryMovementRepositoryCustom {
+
+    /**
+     * Movement history for a product, newest first
+     */
+    Page<InventoryMovement> findByStoreIdAndProduct_IdOrderByOccurredAtDesc(String storeId, Long productId,
+            Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.InventoryMovement;
+
+import java.util.List;
+
+/**
+ * Custom InventoryMovement repository operations implemented with plain JDBC.
+ */
+public interface InventoryMovementRepositoryCustom {
+
+    /**
+     * Append movements in a single JDBC batch.
+     *
+     * @param storeId   The owning store
+     * @param movements Movements to append
+     */
+    void batchInsert(String storeId, List<InventoryMovement> movements);
+
+    /**
+     * Fold every movement written since the last run by a transaction that has
+     * since finished into inventory_daily_snapshots and advance the watermark.
+     * The horizon is the oldest transaction still running
+     * (pg_snapshot_xmin), so movements of long transactions are picked up once
+     * they commit rather than skipped.
+     *
+     * @param businessTimeZone Zone whose calendar days the snapshots cover
+     * @return Number of snapshot rows written
+     */
+    int compactDailySnapshots(String businessTimeZone);
+}
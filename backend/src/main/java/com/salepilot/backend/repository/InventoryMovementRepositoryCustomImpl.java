@@ -0,0 +1,89 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.InventoryMovement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link InventoryMovementRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class InventoryMovementRepositoryCustomImpl implements InventoryMovementRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO inventory_movements "
+            + "(store_id, product_id, movement_type, quantity, balance_after, unit_cost, reference_id, occurred_at, "
+            + "created_at, updated_at, version, deleted) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, FALSE)";
+
+    // xid8 values are passed around as text
+    private static final String LOCK_WATERMARK_SQL = "SELECT last_xid::text FROM inventory_snapshot_watermark "
+            + "WHERE id = 1 FOR UPDATE";
+
+    // Every transaction older than this has finished, so no movement below it can still appear
+    private static final String HORIZON_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text";
+
+    // occurred_at holds wall-clock time in the session zone; snapshots are per business day
+    private static final String UPSERT_SNAPSHOTS_SQL = "INSERT INTO inventory_daily_snapshots "
+            + "(store_id, product_id, day, quantity_in, quantity_out, closing_balance, movement_count, "
+            + "created_at, updated_at, version, deleted) "
+            + "SELECT store_id, product_id, day, "
+            + "SUM(CASE WHEN quantity > 0 THEN quantity ELSE 0 END), "
+            + "SUM(CASE WHEN quantity < 0 THEN -quantity ELSE 0 END), "
+            + "(ARRAY_AGG(balance_after ORDER BY occurred_at DESC, id DESC))[1], "
+            + "COUNT(*), NOW(), NOW(), 0, FALSE "
+            + "FROM (SELECT id, store_id, product_id, quantity, balance_after, occurred_at, "
+            + "CAST((occurred_at AT TIME ZONE current_setting('TimeZone')) AT TIME ZONE ? AS DATE) AS day "
+            + "FROM inventory_movements WHERE xid >= ?::xid8 AND xid < ?::xid8) m "
+            + "GROUP BY store_id, product_id, day "
+            + "ON CONFLICT (store_id, product_id, day) DO UPDATE SET "
+            + "quantity_in = inventory_daily_snapshots.quantity_in + EXCLUDED.quantity_in, "
+            + "quantity_out = inventory_daily_snapshots.quantity_out + EXCLUDED.quantity_out, "
+            + "closing_balance = COALESCE(EXCLUDED.closing_balance, inventory_daily_snapshots.closing_balance), "
+            + "movement_count = inventory_daily_snapshots.movement_count + EXCLUDED.movement_count, "
+            + "updated_at = NOW()";
+
+    private static final String ADVANCE_WATERMARK_SQL = "UPDATE inventory_snapshot_watermark "
+            + "SET last_xid = ?::xid8, compacted_at = NOW() WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(String storeId, List<InventoryMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, movements.size(), (ps, movement) -> {
+            ps.setString(1, storeId);
+            ps.setLong(2, movement.getProduct().getId());
+            ps.setString(3, movement.getMovementType().name());
+            ps.setBigDecimal(4, movement.getQuantity());
+            ps.setBigDecimal(5, movement.getBalanceAfter());
+            ps.setBigDecimal(6, movement.getUnitCost());
+            ps.setString(7, movement.getReferenceId());
+            ps.setTimestamp(8, Timestamp.from(movement.getOccurredAt()));
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    @Override
+    public int compactDailySnapshots(String businessTimeZone) {
+        // Row lock on the watermark serialises concurrent compactions across nodes
+        String from = jdbcTemplate.queryForObject(LOCK_WATERMARK_SQL, String.class);
+        String to = jdbcTemplate.queryForObject(HORIZON_SQL, String.class);
+
+        if (from == null || to == null || Long.parseLong(to) <= Long.parseLong(from)) {
+            return 0;
+        }
+
+        int snapshots = jdbcTemplate.update(UPSERT_SNAPSHOTS_SQL, businessTimeZone, from, to);
+        jdbcTemplate.update(ADVANCE_WATERMARK_SQL, to);
+        return snapshots;
+    }
+}
@@ -1,7 +1,6 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.JournalEntryLine;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,7 +9,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Repository
-public interface JournalEntryLineRepository extends JpaRepository<JournalEntryLine, Long> {
+public interface JournalEntryLineRepository extends TenantAwareRepository<JournalEntryLine> {
 
     List<JournalEntryLine> findByJournalEntry_Id(Long journalEntryId);
 
@@ -1,9 +1,9 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.JournalEntry;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,13 +15,30 @@ import java.util.List;
  * Repository for JournalEntry entity.
  */
 @Repository
-public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+public interface JournalEntryRepository extends TenantAwareRepository<JournalEntry> {
 
     /**
      * Find all journal entries for a store
      */
     Page<JournalEntry> findByStoreIdOrderByDateDesc(String storeId, Pageable pageable);
 
+    /**
+     * First keyset page of journal entries, newest first
+     */
+    @Query("SELECT je FROM JournalEntry je WHERE je.storeId = :storeId ORDER BY je.date DESC, je.id DESC")
+    List<JournalEntry> findByStoreIdKeyset(@Param("storeId") String storeId, Limit limit);
+
+    /**
+     * Keyset page of journal entries strictly older than (date, id)
+     */
+    @Query("SELECT je FROM JournalEntry je WHERE je.storeId = :storeId " +
+            "AND (je.date, je.id) < (:date, :id) " +
+            "ORDER BY je.date DESC, je.id DESC")
+    List<JournalEntry> findByStoreIdKeysetAfter(@Param("storeId") String storeId,
+            @Param("date") Instant date,
+            @Param("id") Long id,
+            Limit limit);
+
     /**
      * Find journal entries by date range
      */
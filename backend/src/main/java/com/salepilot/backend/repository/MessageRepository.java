@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +12,7 @@ import org.springframework.stereotype.Repository;
  * Repository for Message entity.
  */
 @Repository
-public interface MessageRepository extends JpaRepository<Message, Long> {
+public interface MessageRepository extends TenantAwareRepository<Message> {
 
     /**
      * Find conversation between two users
@@ -3,14 +3,13 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repository for Notification entity.
  */
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends TenantAwareRepository<Notification> {
 
     /**
      * Find notifications for a user in a store
@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Offer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +13,7 @@ import java.math.BigDecimal;
  * Repository for Offer entity.
  */
 @Repository
-public interface OfferRepository extends JpaRepository<Offer, Long> {
+public interface OfferRepository extends TenantAwareRepository<Offer> {
 
     /**
      * Find active offers by store (if applicable, though offers might be
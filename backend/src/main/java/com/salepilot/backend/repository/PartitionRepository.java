@@ -0,0 +1,49 @@
+package com.salepilot.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * JDBC access to the monthly partition helpers created in V16.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PartitionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Create any missing monthly partitions of a table covering [from, to]
+     *
+     * @return Number of partitions created
+     */
+    public int ensureMonthlyPartitions(String table, LocalDate from, LocalDate to) {
+        Integer created = jdbcTemplate.queryForObject("SELECT ensure_monthly_partitions(?, ?, ?)",
+                Integer.class, table, from, to);
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Detach monthly partitions ending on or before the cutoff into the archive schema
+     *
+     * @return Number of partitions archived
+     */
+    public int archiveMonthlyPartitions(String table, LocalDate cutoff) {
+        Integer archived = jdbcTemplate.queryForObject("SELECT archive_monthly_partitions(?, ?)",
+                Integer.class, table, cutoff);
+        return archived != null ? archived : 0;
+    }
+
+    /**
+     * Rows in a table's DEFAULT partition, i.e. outside every monthly partition
+     *
+     * @param table One of the tables partitioned in V16
+     */
+    public long countDefaultPartitionRows(String table) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + "_default", Long.class);
+        return rows != null ? rows : 0;
+    }
+}
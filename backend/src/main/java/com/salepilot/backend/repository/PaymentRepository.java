@@ -3,9 +3,9 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Payment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +13,7 @@ import java.util.Optional;
  * Repository for Payment entity.
  */
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends TenantAwareRepository<Payment> {
 
     /**
      * Find payment by internal payment ID
@@ -25,6 +25,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     List<Payment> findByStoreIdAndSale_Id(String storeId, Long saleId);
 
+    /**
+     * Find payments for a batch of sales
+     */
+    List<Payment> findByStoreIdAndSale_IdIn(String storeId, Collection<Long> saleIds);
+
     /**
      * Find all payments for a store
      */
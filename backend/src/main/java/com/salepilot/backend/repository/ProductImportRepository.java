@@ -0,0 +1,141 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.dto.ProductImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JDBC writes for bulk product import.
+ * Products are upserted on (store_id, sku) in JDBC batches; stock is only
+ * set for new products, existing stock changes go through inventory
+ * movements. Re-importing an archived product updates it but leaves it
+ * archived.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductImportRepository {
+
+    private static final String UPSERT_PRODUCT_SQL = "INSERT INTO products "
+            + "(store_id, name, description, sku, barcode, category_id, supplier_id, price, cost_price, stock, "
+            + "unit_of_measure, brand, reorder_point, status, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, COALESCE(?, 'UNIT'), ?, ?, 'ACTIVE', ?, ?, 0) "
+            + "ON CONFLICT (store_id, sku) DO UPDATE SET "
+            + "name = EXCLUDED.name, "
+            + "description = COALESCE(EXCLUDED.description, products.description), "
+            + "barcode = COALESCE(EXCLUDED.barcode, products.barcode), "
+            + "category_id = COALESCE(EXCLUDED.category_id, products.category_id), "
+            + "supplier_id = COALESCE(EXCLUDED.supplier_id, products.supplier_id), "
+            + "price = EXCLUDED.price, "
+            + "cost_price = COALESCE(EXCLUDED.cost_price, products.cost_price), "
+            + "unit_of_measure = CASE WHEN ? THEN EXCLUDED.unit_of_measure ELSE products.unit_of_measure END, "
+            + "brand = COALESCE(EXCLUDED.brand, products.brand), "
+            + "reorder_point = COALESCE(EXCLUDED.reorder_point, products.reorder_point), "
+            + "updated_at = EXCLUDED.updated_at, "
+            + "version = products.version + 1";
+
+    private static final String FIND_CATEGORY_IDS_SQL =
+            "SELECT id, lower(name) AS key FROM categories WHERE store_id = ? AND lower(name) = ANY(?) ORDER BY id";
+
+    private static final String FIND_SUPPLIER_IDS_SQL =
+            "SELECT id, lower(name) AS key FROM suppliers WHERE store_id = ? AND lower(name) = ANY(?) ORDER BY id";
+
+    private static final String INSERT_CATEGORY_SQL = "INSERT INTO categories (store_id, name, created_at, updated_at, "
+            + "version) VALUES (?, ?, NOW(), NOW(), 0) RETURNING id";
+
+    private static final String INSERT_SUPPLIER_SQL = "INSERT INTO suppliers (store_id, name, created_at, updated_at, "
+            + "version) VALUES (?, ?, NOW(), NOW(), 0) RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert or update a batch of products within tenant
+     */
+    public void upsertProducts(String storeId, List<ProductImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, storeId);
+            ps.setString(2, row.getName());
+            ps.setString(3, row.getDescription());
+            ps.setString(4, row.getSku());
+            ps.setString(5, row.getBarcode());
+            ps.setObject(6, row.getCategoryId(), Types.BIGINT);
+            ps.setObject(7, row.getSupplierId(), Types.BIGINT);
+            ps.setBigDecimal(8, row.getPrice());
+            ps.setBigDecimal(9, row.getCostPrice());
+            ps.setBigDecimal(10, row.getStock());
+            ps.setString(11, row.getUnitOfMeasure() != null ? row.getUnitOfMeasure().name() : null);
+            ps.setString(12, row.getBrand());
+            ps.setObject(13, row.getReorderPoint(), Types.INTEGER);
+            ps.setTimestamp(14, now);
+            ps.setTimestamp(15, now);
+            ps.setBoolean(16, row.getUnitOfMeasure() != null);
+        });
+    }
+
+    /**
+     * Resolve category names (case-insensitive) to IDs within tenant
+     *
+     * @return Map of lower-cased name -> category ID for names that exist
+     */
+    public Map<String, Long> findCategoryIds(String storeId, Collection<String> lowerCaseNames) {
+        return findIdsByName(FIND_CATEGORY_IDS_SQL, storeId, lowerCaseNames);
+    }
+
+    /**
+     * Resolve supplier names (case-insensitive) to IDs within tenant
+     *
+     * @return Map of lower-cased name -> supplier ID for names that exist
+     */
+    public Map<String, Long> findSupplierIds(String storeId, Collection<String> lowerCaseNames) {
+        return findIdsByName(FIND_SUPPLIER_IDS_SQL, storeId, lowerCaseNames);
+    }
+
+    /**
+     * Create a category within tenant
+     */
+    public Long insertCategory(String storeId, String name) {
+        return jdbcTemplate.queryForObject(INSERT_CATEGORY_SQL, Long.class, storeId, name);
+    }
+
+    /**
+     * Create a supplier within tenant
+     */
+    public Long insertSupplier(String storeId, String name) {
+        return jdbcTemplate.queryForObject(INSERT_SUPPLIER_SQL, Long.class, storeId, name);
+    }
+
+    private Map<String, Long> findIdsByName(String sql, String storeId, Collection<String> lowerCaseNames) {
+        Map<String, Long> ids = new HashMap<>();
+        if (lowerCaseNames.isEmpty()) {
+            return ids;
+        }
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            Array names = con.createArrayOf("text", lowerCaseNames.toArray());
+            ps.setString(1, storeId);
+            ps.setArray(2, names);
+            return ps;
+        }, rs -> {
+            // Oldest wins when a store has duplicate names
+            ids.putIfAbsent(rs.getString("key").toLowerCase(Locale.ROOT), rs.getLong("id"));
+        });
+        return ids;
+    }
+}
@@ -1,13 +1,18 @@
 package com.salepilot.backend.repository;
 
+import com.salepilot.backend.dto.ProductSnapshot;
 import com.salepilot.backend.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +22,7 @@ import java.util.Optional;
  * TenantContext.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends TenantAwareRepository<Product>, ProductRepositoryCustom {
 
         /**
          * Find product by SKU within tenant
@@ -35,13 +40,38 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         Page<Product> findByStoreIdAndStatus(String storeId, Product.ProductStatus status, Pageable pageable);
 
         /**
-         * Search products by name or SKU
+         * Search products by name, SKU, barcode, brand or description using the
+         * trigram index on search_text (term normalised via SearchUtils).
+         * Exact SKU / barcode matches rank first, then name prefix matches, then
+         * closest word similarity.
          */
-        @Query("SELECT p FROM Product p WHERE p.storeId = :storeId AND " +
-                        "(LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-                        "LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%')))")
+        @Query(value = "SELECT p.* FROM products p WHERE p.store_id = :storeId AND " +
+                        "(p.search_text LIKE :pattern OR :term <% p.search_text) " +
+                        "ORDER BY (lower(p.sku) = :term OR lower(p.barcode) = :term) DESC, " +
+                        "(lower(p.name) LIKE :prefix) DESC, " +
+                        "word_similarity(:term, lower(p.name)) DESC, " +
+                        "word_similarity(:term, p.search_text) DESC, p.id",
+                        countQuery = "SELECT COUNT(*) FROM products p WHERE p.store_id = :storeId AND " +
+                                        "(p.search_text LIKE :pattern OR :term <% p.search_text)",
+                        nativeQuery = true)
         Page<Product> searchProducts(@Param("storeId") String storeId,
-                        @Param("search") String search,
+                        @Param("term") String term,
+                        @Param("pattern") String pattern,
+                        @Param("prefix") String prefix,
+                        Pageable pageable);
+
+        /**
+         * Search products by name prefix, for terms too short for the trigram index
+         */
+        @Query(value = "SELECT p.* FROM products p WHERE p.store_id = :storeId AND " +
+                        "(lower(p.name) LIKE :prefix OR lower(p.sku) = :term OR lower(p.barcode) = :term) " +
+                        "ORDER BY (lower(p.sku) = :term OR lower(p.barcode) = :term) DESC, lower(p.name), p.id",
+                        countQuery = "SELECT COUNT(*) FROM products p WHERE p.store_id = :storeId AND " +
+                                        "(lower(p.name) LIKE :prefix OR lower(p.sku) = :term OR lower(p.barcode) = :term)",
+                        nativeQuery = true)
+        Page<Product> searchProductsByPrefix(@Param("storeId") String storeId,
+                        @Param("term") String term,
+                        @Param("prefix") String prefix,
                         Pageable pageable);
 
         /**
@@ -52,6 +82,20 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                         "p.stock <= p.reorderPoint")
         List<Product> findLowStockProducts(@Param("storeId") String storeId);
 
+        /**
+         * Count low stock products (stock <= reorderPoint)
+         */
+        @Query("SELECT COUNT(p) FROM Product p WHERE p.storeId = :storeId AND " +
+                        "p.status = 'ACTIVE' AND p.reorderPoint IS NOT NULL AND " +
+                        "p.stock <= p.reorderPoint")
+        long countLowStockProducts(@Param("storeId") String storeId);
+
+        /**
+         * Count out of stock products (stock <= 0)
+         */
+        @Query("SELECT COUNT(p) FROM Product p WHERE p.storeId = :storeId AND p.stock <= 0")
+        long countOutOfStockProducts(@Param("storeId") String storeId);
+
         /**
          * Find products by category
          */
@@ -66,4 +110,47 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
          * Find all products by store ID
          */
         Page<Product> findByStoreId(String storeId, Pageable pageable);
+
+        /**
+         * Resolve scanned codes to products within tenant: each row is
+         * [id, sku, barcode] for products whose barcode or SKU is in the set
+         */
+        @Query("SELECT p.id, p.sku, p.barcode FROM Product p WHERE p.storeId = :storeId AND " +
+                        "(p.barcode IN :codes OR p.sku IN :codes)")
+        List<Object[]> findIdsByStoreIdAndCodes(@Param("storeId") String storeId,
+                        @Param("codes") Collection<String> codes);
+
+        /**
+         * Load the scan index snapshot of every active product within tenant
+         */
+        @Query("SELECT new com.salepilot.backend.dto.ProductSnapshot(p.id, p.sku, p.barcode, p.name, " +
+                        "p.price, p.stock, p.unitOfMeasure) FROM Product p " +
+                        "WHERE p.storeId = :storeId AND p.status = 'ACTIVE'")
+        List<ProductSnapshot> findSnapshotsByStoreId(@Param("storeId") String storeId);
+
+        /**
+         * Find a set of products within tenant
+         */
+        List<Product> findByStoreIdAndIdIn(String storeId, Collection<Long> ids);
+
+        /**
+         * Load and row-lock a set of products within tenant in a single query.
+         * Rows are locked in ascending id order so that concurrent checkouts
+         * touching overlapping baskets cannot deadlock.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT p FROM Product p WHERE p.storeId = :storeId AND p.id IN :ids ORDER BY p.id")
+        List<Product> findAllByStoreIdAndIdInForUpdate(@Param("storeId") String storeId,
+                        @Param("ids") Collection<Long> ids);
+
+        /**
+         * Update cost price within tenant without touching stock; bumps the
+         * version like an entity save so stale copies fail their optimistic check
+         */
+        @Modifying(clearAutomatically = true, flushAutomatically = true)
+        @Query("UPDATE Product p SET p.costPrice = :costPrice, p.updatedAt = LOCAL DATETIME, "
+                        + "p.version = p.version + 1 WHERE p.id = :id AND p.storeId = :storeId")
+        int updateCostPrice(@Param("storeId") String storeId,
+                        @Param("id") Long id,
+                        @Param("costPrice") BigDecimal costPrice);
 }
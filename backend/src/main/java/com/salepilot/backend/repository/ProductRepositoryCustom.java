@@ -0,0 +1,54 @@
+package com.salepilot.backend.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom Product repository operations implemented with plain JDBC.
+ *
+ * Stock movements are applied as single conditional UPDATE statements
+ * ({@code stock = stock + delta}) instead of read-modify-write through the
+ * entity, so concurrent movements on the same product never lose updates and
+ * never fail with optimistic-lock retries.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Atomically apply a stock delta (positive = stock in, negative = stock out)
+     * to a product within tenant.
+     *
+     * @param storeId       The owning store
+     * @param productId     The product to adjust
+     * @param delta         Quantity delta
+     * @param allowNegative When false, the update is rejected if it would take
+     *                      stock below zero
+     * @return The new stock level, or empty if the product does not exist in the
+     *         store or the no-negative guard rejected the movement
+     */
+    Optional<BigDecimal> adjustStock(String storeId, Long productId, BigDecimal delta, boolean allowNegative);
+
+    /**
+     * Atomically apply stock deltas to a set of products within tenant in a
+     * single statement. Rows are locked in ascending id order.
+     *
+     * @param storeId       The owning store
+     * @param deltas        Map of ProductID -> quantity delta
+     * @param allowNegative When false, products whose stock would go below zero
+     *                      are left untouched
+     * @return Map of ProductID -> new stock level for every product that was
+     *         updated; products missing from the result were not found or were
+     *         rejected by the no-negative guard
+     */
+    Map<Long, BigDecimal> adjustStock(String storeId, Map<Long, BigDecimal> deltas, boolean allowNegative);
+
+    /**
+     * Current stock levels of products within tenant. After a rejected
+     * {@link #adjustStock(String, Map, boolean)} the rows stay locked by the
+     * transaction, so this returns the levels the guard rejected against.
+     *
+     * @return Map of ProductID -> stock level for every product found
+     */
+    Map<Long, BigDecimal> findStockLevels(String storeId, Collection<Long> productIds);
+}
@@ -0,0 +1,89 @@
+package com.salepilot.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of {@link ProductRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String ADJUST_STOCK_SQL = "UPDATE products SET stock = stock + ?, updated_at = NOW(), "
+            + "version = version + 1 WHERE id = ? AND store_id = ? AND (? OR stock + ? >= 0) RETURNING stock";
+
+    // Lock target rows in ascending id order first, then apply every delta in one
+    // statement
+    private static final String ADJUST_STOCK_BATCH_SQL = "WITH d AS ("
+            + "SELECT * FROM unnest(?::bigint[], ?::numeric[]) AS t(product_id, delta)), "
+            + "locked AS (SELECT p.id FROM products p JOIN d ON d.product_id = p.id "
+            + "WHERE p.store_id = ? ORDER BY p.id FOR UPDATE OF p) "
+            + "UPDATE products p SET stock = p.stock + d.delta, updated_at = NOW(), version = p.version + 1 "
+            + "FROM d WHERE p.id = d.product_id AND p.id IN (SELECT id FROM locked) "
+            + "AND (? OR p.stock + d.delta >= 0) "
+            + "RETURNING p.id, p.stock";
+
+    private static final String STOCK_LEVELS_SQL = "SELECT id, stock FROM products "
+            + "WHERE store_id = ? AND id = ANY(?::bigint[])";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<BigDecimal> adjustStock(String storeId, Long productId, BigDecimal delta, boolean allowNegative) {
+        List<BigDecimal> result = jdbcTemplate.query(ADJUST_STOCK_SQL,
+                (rs, rowNum) -> rs.getBigDecimal("stock"),
+                delta, productId, storeId, allowNegative, delta);
+        return result.stream().findFirst();
+    }
+
+    @Override
+    public Map<Long, BigDecimal> adjustStock(String storeId, Map<Long, BigDecimal> deltas, boolean allowNegative) {
+        Map<Long, BigDecimal> newLevels = new HashMap<>();
+        if (deltas.isEmpty()) {
+            return newLevels;
+        }
+
+        TreeMap<Long, BigDecimal> ordered = new TreeMap<>(deltas);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ADJUST_STOCK_BATCH_SQL);
+            Array ids = con.createArrayOf("bigint", ordered.keySet().toArray());
+            Array amounts = con.createArrayOf("numeric", ordered.values().toArray());
+            ps.setArray(1, ids);
+            ps.setArray(2, amounts);
+            ps.setString(3, storeId);
+            ps.setBoolean(4, allowNegative);
+            return ps;
+        }, rs -> {
+            newLevels.put(rs.getLong("id"), rs.getBigDecimal("stock"));
+        });
+        return newLevels;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findStockLevels(String storeId, Collection<Long> productIds) {
+        Map<Long, BigDecimal> levels = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return levels;
+        }
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STOCK_LEVELS_SQL);
+            ps.setString(1, storeId);
+            ps.setArray(2, con.createArrayOf("bigint", productIds.toArray()));
+            return ps;
+        }, rs -> {
+            levels.put(rs.getLong("id"), rs.getBigDecimal("stock"));
+        });
+        return levels;
+    }
+}
@@ -1,7 +1,6 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.PurchaseOrderItem;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +9,7 @@ import java.util.List;
  * Repository for PurchaseOrderItem entity.
  */
 @Repository
-public interface PurchaseOrderItemRepository extends JpaRepository<PurchaseOrderItem, Long> {
+public interface PurchaseOrderItemRepository extends TenantAwareRepository<PurchaseOrderItem> {
 
     /**
      * Find items for a specific purchase order
@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.PurchaseOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +13,7 @@ import java.util.Optional;
  * Repository for PurchaseOrder entity.
  */
 @Repository
-public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
+public interface PurchaseOrderRepository extends TenantAwareRepository<PurchaseOrder> {
 
     /**
      * Find PO by PO number
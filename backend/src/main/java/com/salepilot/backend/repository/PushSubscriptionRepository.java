@@ -1,7 +1,6 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.PushSubscription;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +10,7 @@ import java.util.Optional;
  * Repository for PushSubscription entity.
  */
 @Repository
-public interface PushSubscriptionRepository extends JpaRepository<PushSubscription, Long> {
+public interface PushSubscriptionRepository extends TenantAwareRepository<PushSubscription> {
 
     /**
      * Find subscriptions for a user
@@ -1,7 +1,6 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.ReturnItem;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +9,7 @@ import java.util.List;
  * Repository for ReturnItem entity.
  */
 @Repository
-public interface ReturnItemRepository extends JpaRepository<ReturnItem, Long> {
+public interface ReturnItemRepository extends TenantAwareRepository<ReturnItem> {
 
     /**
      * Find items for a specific return
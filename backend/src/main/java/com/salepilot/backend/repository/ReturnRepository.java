@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Return;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,7 +11,7 @@ import java.util.Optional;
  * Repository for Return entity.
  */
 @Repository
-public interface ReturnRepository extends JpaRepository<Return, Long> {
+public interface ReturnRepository extends TenantAwareRepository<Return> {
 
     /**
      * Find return by internal return ID
@@ -0,0 +1,37 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for RevokedToken entity.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Check if a token is already revoked
+     */
+    boolean existsByJti(String jti);
+
+    /**
+     * Still-valid revocations recorded since a point in time
+     */
+    List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtAfter(Instant revokedSince, Instant now);
+
+    /**
+     * Delete revocations whose tokens have expired
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
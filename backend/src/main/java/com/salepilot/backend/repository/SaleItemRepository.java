@@ -1,26 +1,34 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.SaleItem;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository for SaleItem entity.
  */
 @Repository
-public interface SaleItemRepository extends JpaRepository<SaleItem, Long> {
+public interface SaleItemRepository extends TenantAwareRepository<SaleItem>, SaleItemRepositoryCustom {
 
     /**
      * Find all items for a sale
      */
     List<SaleItem> findBySale_Id(Long saleId);
 
+    /**
+     * Find all items (with their products) for a batch of sales
+     */
+    @Query("SELECT si FROM SaleItem si JOIN FETCH si.product " +
+            "WHERE si.storeId = :storeId AND si.sale.id IN :saleIds ORDER BY si.id")
+    List<SaleItem> findWithProductByStoreIdAndSaleIdIn(@Param("storeId") String storeId,
+            @Param("saleIds") Collection<Long> saleIds);
+
     /**
      * Find items by product
      */
@@ -0,0 +1,21 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.SaleItem;
+
+import java.util.List;
+
+/**
+ * Custom SaleItem repository operations implemented with plain JDBC.
+ */
+public interface SaleItemRepositoryCustom {
+
+    /**
+     * Insert sale items in a single JDBC batch.
+     * Hibernate cannot batch inserts for IDENTITY keys, so checkout writes its
+     * line items through here instead of saving them one by one.
+     *
+     * @param storeId The owning store
+     * @param items   Items to insert; each must reference a persisted sale
+     */
+    void batchInsert(String storeId, List<SaleItem> items);
+}
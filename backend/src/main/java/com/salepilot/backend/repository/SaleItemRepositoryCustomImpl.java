@@ -0,0 +1,41 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.SaleItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link SaleItemRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class SaleItemRepositoryCustomImpl implements SaleItemRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO sale_items "
+            + "(store_id, sale_id, product_id, quantity, price_at_sale, cost_at_sale, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(String storeId, List<SaleItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, items.size(), (ps, item) -> {
+            ps.setString(1, storeId);
+            ps.setLong(2, item.getSale().getId());
+            ps.setLong(3, item.getProduct().getId());
+            ps.setBigDecimal(4, item.getQuantity());
+            ps.setBigDecimal(5, item.getPriceAtSale());
+            ps.setBigDecimal(6, item.getCostAtSale());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+}
@@ -1,9 +1,11 @@
 package com.salepilot.backend.repository;
 
+import com.salepilot.backend.dto.SaleSummaryResponse;
 import com.salepilot.backend.entity.Sale;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,18 +19,70 @@ import java.util.Optional;
  * Repository for Sale entity.
  */
 @Repository
-public interface SaleRepository extends JpaRepository<Sale, Long> {
+public interface SaleRepository extends TenantAwareRepository<Sale> {
 
     /**
-     * Find sale by transaction ID
+     * Find sale by ID within tenant. The partition key is looked up in
+     * sale_keys first, so only one monthly partition of sales is probed.
      */
-    Optional<Sale> findByStoreIdAndTransactionId(String storeId, String transactionId);
+    @Override
+    @Query(value = "SELECT s.* FROM sales s WHERE s.id = :id AND s.store_id = :storeId " +
+            "AND s.timestamp = (SELECT k.sale_timestamp FROM sale_keys k WHERE k.sale_id = :id)",
+            nativeQuery = true)
+    Optional<Sale> findByIdAndStoreId(@Param("id") Long id, @Param("storeId") String storeId);
 
     /**
-     * Find all sales for a store
+     * Find sale by transaction ID. Transaction IDs are globally unique through
+     * sale_keys, which also supplies the partition key.
      */
+    @Query(value = "SELECT s.* FROM sales s " +
+            "WHERE s.id = (SELECT k.sale_id FROM sale_keys k WHERE k.transaction_id = :transactionId) " +
+            "AND s.timestamp = (SELECT k.sale_timestamp FROM sale_keys k WHERE k.transaction_id = :transactionId) " +
+            "AND s.store_id = :storeId",
+            nativeQuery = true)
+    Optional<Sale> findByStoreIdAndTransactionId(@Param("storeId") String storeId,
+            @Param("transactionId") String transactionId);
+
+    /**
+     * Find all sales for a store (customer fetched in the same query)
+     */
+    @EntityGraph(attributePaths = "customer")
     Page<Sale> findByStoreId(String storeId, Pageable pageable);
 
+    /**
+     * Page of sale summaries for list views, without items or payments
+     */
+    @Query(value = "SELECT new com.salepilot.backend.dto.SaleSummaryResponse(" +
+            "s.id, s.transactionId, s.timestamp, c.id, c.name, s.total, s.amountPaid, " +
+            "s.paymentStatus, s.fulfillmentStatus, s.channel, s.refundStatus) " +
+            "FROM Sale s LEFT JOIN s.customer c WHERE s.storeId = :storeId",
+            countQuery = "SELECT COUNT(s) FROM Sale s WHERE s.storeId = :storeId")
+    Page<SaleSummaryResponse> findSummariesByStoreId(@Param("storeId") String storeId, Pageable pageable);
+
+    /**
+     * First keyset page of sale summaries, newest first
+     */
+    @Query("SELECT new com.salepilot.backend.dto.SaleSummaryResponse(" +
+            "s.id, s.transactionId, s.timestamp, c.id, c.name, s.total, s.amountPaid, " +
+            "s.paymentStatus, s.fulfillmentStatus, s.channel, s.refundStatus) " +
+            "FROM Sale s LEFT JOIN s.customer c WHERE s.storeId = :storeId " +
+            "ORDER BY s.timestamp DESC, s.id DESC")
+    List<SaleSummaryResponse> findSummariesByStoreIdKeyset(@Param("storeId") String storeId, Limit limit);
+
+    /**
+     * Keyset page of sale summaries strictly older than (timestamp, id)
+     */
+    @Query("SELECT new com.salepilot.backend.dto.SaleSummaryResponse(" +
+            "s.id, s.transactionId, s.timestamp, c.id, c.name, s.total, s.amountPaid, " +
+            "s.paymentStatus, s.fulfillmentStatus, s.channel, s.refundStatus) " +
+            "FROM Sale s LEFT JOIN s.customer c WHERE s.storeId = :storeId " +
+            "AND (s.timestamp, s.id) < (:timestamp, :id) " +
+            "ORDER BY s.timestamp DESC, s.id DESC")
+    List<SaleSummaryResponse> findSummariesByStoreIdKeysetAfter(@Param("storeId") String storeId,
+            @Param("timestamp") Instant timestamp,
+            @Param("id") Long id,
+            Limit limit);
+
     /**
      * Find sales by date range
      */
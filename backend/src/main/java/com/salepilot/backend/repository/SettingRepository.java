@@ -1,7 +1,6 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.Setting;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +10,7 @@ import java.util.Optional;
  * Repository for Setting entity.
  */
 @Repository
-public interface SettingRepository extends JpaRepository<Setting, Long> {
+public interface SettingRepository extends TenantAwareRepository<Setting> {
 
     /**
      * Find setting by key for a store
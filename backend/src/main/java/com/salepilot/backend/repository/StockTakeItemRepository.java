@@ -1,7 +1,9 @@
 package com.salepilot.backend.repository;
 
 import com.salepilot.backend.entity.StockTakeItem;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +13,7 @@ import java.util.Optional;
  * Repository for StockTakeItem entity.
  */
 @Repository
-public interface StockTakeItemRepository extends JpaRepository<StockTakeItem, Long> {
+public interface StockTakeItemRepository extends TenantAwareRepository<StockTakeItem>, StockTakeItemRepositoryCustom {
 
     /**
      * Find items for a specific stock take
@@ -22,4 +24,17 @@ public interface StockTakeItemRepository extends JpaRepository<StockTakeItem, Lo
      * Find specific product in active stock take
      */
     Optional<StockTakeItem> findByStockTake_IdAndProduct_Id(Long stockTakeId, Long productId);
+
+    /**
+     * Snapshot every active product of a store into a stock take as one
+     * set-based INSERT ... SELECT (no product rows are loaded into the JVM)
+     *
+     * @return Number of items created
+     */
+    @Modifying
+    @Query(value = "INSERT INTO stock_take_items " +
+            "(store_id, stock_take_id, product_id, name, sku, expected, counted, created_at, updated_at, version) " +
+            "SELECT p.store_id, :stockTakeId, p.id, p.name, p.sku, p.stock, NULL, NOW(), NOW(), 0 " +
+            "FROM products p WHERE p.store_id = :storeId AND p.status = 'ACTIVE'", nativeQuery = true)
+    int snapshotActiveProducts(@Param("storeId") String storeId, @Param("stockTakeId") Long stockTakeId);
 }
@@ -0,0 +1,35 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.dto.StockTakeVarianceDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom StockTakeItem repository operations implemented with plain JDBC.
+ */
+public interface StockTakeItemRepositoryCustom {
+
+    /**
+     * Set counted quantities for a batch of products in a stock take using a
+     * single JDBC batch. Entries are applied in order, so a later count for the
+     * same product wins.
+     *
+     * @param stockTakeId The stock take session
+     * @param counts      Ordered ProductID -> counted quantity entries
+     * @return Rows updated per entry (0 = product is not part of the stock take)
+     */
+    int[] batchUpdateCounts(Long stockTakeId, List<Map.Entry<Long, BigDecimal>> counts);
+
+    /**
+     * Apply the variance (counted - expected) of every counted item in a stock
+     * take to product stock, and append one STOCK_TAKE_ADJUSTMENT inventory
+     * movement per adjusted product, all in a single statement.
+     *
+     * @param storeId     The owning store
+     * @param stockTakeId The stock take session
+     * @return Number of adjusted products and the gain/loss value at cost
+     */
+    StockTakeVarianceDTO applyVariances(String storeId, Long stockTakeId);
+}
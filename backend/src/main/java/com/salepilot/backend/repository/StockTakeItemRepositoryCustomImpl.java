@@ -0,0 +1,62 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.dto.StockTakeVarianceDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link StockTakeItemRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class StockTakeItemRepositoryCustomImpl implements StockTakeItemRepositoryCustom {
+
+    private static final String UPDATE_COUNT_SQL = "UPDATE stock_take_items SET counted = ?, updated_at = NOW(), "
+            + "version = version + 1 WHERE stock_take_id = ? AND product_id = ?";
+
+    // Data-modifying CTEs: lock products in id order, apply variances, append the
+    // ledger rows, then summarise the adjustment value from the same result set
+    private static final String APPLY_VARIANCES_SQL = "WITH variances AS ("
+            + "SELECT product_id, counted - expected AS variance FROM stock_take_items "
+            + "WHERE stock_take_id = ? AND store_id = ? AND counted IS NOT NULL AND counted <> expected), "
+            + "locked AS (SELECT p.id FROM products p JOIN variances v ON v.product_id = p.id "
+            + "WHERE p.store_id = ? ORDER BY p.id FOR UPDATE OF p), "
+            + "adjusted AS (UPDATE products p SET stock = p.stock + v.variance, updated_at = NOW(), "
+            + "version = p.version + 1 FROM variances v WHERE p.id = v.product_id AND p.id IN (SELECT id FROM locked) "
+            + "RETURNING p.id, p.store_id, p.stock, p.cost_price, v.variance), "
+            + "moved AS (INSERT INTO inventory_movements (store_id, product_id, movement_type, quantity, "
+            + "balance_after, unit_cost, reference_id, occurred_at, created_at, updated_at, version, deleted) "
+            + "SELECT store_id, id, 'STOCK_TAKE_ADJUSTMENT', variance, stock, cost_price, ?, NOW(), NOW(), NOW(), "
+            + "0, FALSE FROM adjusted) "
+            + "SELECT COUNT(*) AS items, "
+            + "COALESCE(SUM(CASE WHEN variance > 0 THEN variance * COALESCE(cost_price, 0) ELSE 0 END), 0) AS gain, "
+            + "COALESCE(SUM(CASE WHEN variance < 0 THEN -variance * COALESCE(cost_price, 0) ELSE 0 END), 0) AS loss "
+            + "FROM adjusted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] batchUpdateCounts(Long stockTakeId, List<Map.Entry<Long, BigDecimal>> counts) {
+        if (counts.isEmpty()) {
+            return new int[0];
+        }
+
+        return jdbcTemplate.batchUpdate(UPDATE_COUNT_SQL, counts.stream()
+                .map(count -> new Object[] { count.getValue(), stockTakeId, count.getKey() })
+                .toList());
+    }
+
+    @Override
+    public StockTakeVarianceDTO applyVariances(String storeId, Long stockTakeId) {
+        return jdbcTemplate.queryForObject(APPLY_VARIANCES_SQL, (rs, rowNum) -> StockTakeVarianceDTO.builder()
+                .itemsAdjusted(rs.getInt("items"))
+                .gainValue(rs.getBigDecimal("gain").setScale(2, RoundingMode.HALF_UP))
+                .lossValue(rs.getBigDecimal("loss").setScale(2, RoundingMode.HALF_UP))
+                .build(),
+                stockTakeId, storeId, storeId, stockTakeId.toString());
+    }
+}
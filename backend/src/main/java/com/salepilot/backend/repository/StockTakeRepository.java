@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.StockTake;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,7 +11,7 @@ import java.util.Optional;
  * Repository for StockTake entity.
  */
 @Repository
-public interface StockTakeRepository extends JpaRepository<StockTake, Long> {
+public interface StockTakeRepository extends TenantAwareRepository<StockTake> {
 
     /**
      * Find active stock take for a store
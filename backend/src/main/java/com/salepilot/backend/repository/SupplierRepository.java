@@ -3,7 +3,6 @@ package com.salepilot.backend.repository;
 import com.salepilot.backend.entity.Supplier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,15 +11,37 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+public interface SupplierRepository extends TenantAwareRepository<Supplier> {
     Page<Supplier> findByStoreId(String storeId, Pageable pageable);
 
     Optional<Supplier> findByStoreIdAndName(String storeId, String name);
 
-    @Query("SELECT s FROM Supplier s WHERE s.storeId = :storeId AND " +
-            "(LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%')))")
+    /**
+     * Search suppliers by name, contact person, email or phone using the
+     * trigram index on search_text (term normalised via SearchUtils)
+     */
+    @Query(value = "SELECT s.* FROM suppliers s WHERE s.store_id = :storeId AND " +
+            "(s.search_text LIKE :pattern OR :term <% s.search_text) " +
+            "ORDER BY (lower(s.name) LIKE :prefix) DESC, " +
+            "word_similarity(:term, lower(s.name)) DESC, " +
+            "word_similarity(:term, s.search_text) DESC, s.id",
+            countQuery = "SELECT COUNT(*) FROM suppliers s WHERE s.store_id = :storeId AND " +
+                    "(s.search_text LIKE :pattern OR :term <% s.search_text)",
+            nativeQuery = true)
     Page<Supplier> searchSuppliers(@Param("storeId") String storeId,
-            @Param("search") String search,
+            @Param("term") String term,
+            @Param("pattern") String pattern,
+            @Param("prefix") String prefix,
+            Pageable pageable);
+
+    /**
+     * Search suppliers by name prefix, for terms too short for the trigram index
+     */
+    @Query(value = "SELECT s.* FROM suppliers s WHERE s.store_id = :storeId AND lower(s.name) LIKE :prefix " +
+            "ORDER BY lower(s.name), s.id",
+            countQuery = "SELECT COUNT(*) FROM suppliers s WHERE s.store_id = :storeId AND lower(s.name) LIKE :prefix",
+            nativeQuery = true)
+    Page<Supplier> searchSuppliersByPrefix(@Param("storeId") String storeId,
+            @Param("prefix") String prefix,
             Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.entity.TenantAware;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+/**
+ * Base repository for TenantAware entities.
+ * Lookups by ID take the tenant as part of the predicate, so a row belonging
+ * to another store is never loaded and "not found" and "not yours" are
+ * indistinguishable to the caller.
+ */
+@NoRepositoryBean
+public interface TenantAwareRepository<T extends TenantAware> extends JpaRepository<T, Long> {
+
+    /**
+     * Find entity by ID within tenant
+     */
+    Optional<T> findByIdAndStoreId(Long id, String storeId);
+
+    /**
+     * Check entity exists within tenant
+     */
+    boolean existsByIdAndStoreId(Long id, String storeId);
+}
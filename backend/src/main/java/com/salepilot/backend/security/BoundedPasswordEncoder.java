@@ -0,0 +1,134 @@
+package com.salepilot.backend.security;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt encoder that runs every hash on a small dedicated pool.
+ * A login burst can then only occupy hashThreads CPUs; requests beyond the
+ * queue capacity fail fast with 503 instead of piling up behind it. Stored
+ * hashes whose work factor differs from the configured strength are reported
+ * as needing an upgrade, which DaoAuthenticationProvider turns into a rehash
+ * on the next successful login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String BUSY_ERROR_CODE = "PASSWORD_HASH_BUSY";
+
+    private final BCryptPasswordEncoder delegate;
+    private final AppProperties.Security.Password config;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(AppProperties.Security.Password config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.delegate = new BCryptPasswordEncoder(config.getBcryptStrength());
+
+        int threads = config.getHashThreads() > 0
+                ? config.getHashThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+        this.rejections = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (!config.isRehashOnLogin() || encodedPassword == null) {
+            return false;
+        }
+        int cost = workFactor(encodedPassword);
+        return cost > 0 && cost != config.getBcryptStrength();
+    }
+
+    /**
+     * Stop the hashing pool (invoked by the container on shutdown)
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Password hashing queue full ({} waiting)", executor.getQueue().size());
+            throw new BusinessException("Too many concurrent sign-ins, please retry shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE, BUSY_ERROR_CODE);
+        }
+
+        try {
+            return future.get(config.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw new BusinessException("Password hashing timed out, please retry shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE, BUSY_ERROR_CODE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Cost parameter of a "$2a$NN$..." BCrypt hash, or -1 if not BCrypt
+     */
+    private static int workFactor(String encodedPassword) {
+        if (encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+                || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.salepilot.backend.security;
 
+import com.salepilot.backend.config.AppProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +16,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * JWT authentication filter for validating JWT tokens on each request.
@@ -25,7 +27,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final AppProperties appProperties;
 
     @Override
     protected void doFilterInternal(
@@ -36,21 +40,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
+            // One signature check + claims parse per token (cached until exp);
+            // refresh tokens and revoked (logged out) tokens are not accepted
+            Optional<JwtClaims> claims = StringUtils.hasText(jwt)
+                    ? tokenProvider.parseToken(jwt)
+                            .filter(c -> !c.isRefresh())
+                            .filter(c -> !tokenRevocationList.isRevoked(c.getJti()))
+                    : Optional.empty();
 
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+            if (claims.isPresent()) {
+                UserDetails userDetails = resolvePrincipal(claims.get());
 
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
+                // Null = token issued before a password / role / status change
+                if (userDetails != null && userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities());
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                log.debug("Set authentication for user: {}", userDetails.getUsername());
+                    log.debug("Set authentication for user: {}", userDetails.getUsername());
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -59,6 +72,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Stateless mode trusts the token claims; otherwise the principal comes from
+     * the cache, checked against the token's security version
+     */
+    private UserDetails resolvePrincipal(JwtClaims claims) {
+        if (appProperties.getSecurity().isStatelessAuth()) {
+            return claims.toPrincipal();
+        }
+        return principalCache.get(claims.getUserId(), claims.getSecurityVersion());
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
@@ -0,0 +1,54 @@
+package com.salepilot.backend.security;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Verified, typed view of a JWT's claims.
+ * Produced once per token by {@link JwtTokenProvider#parseToken(String)}.
+ */
+@Getter
+@Builder
+public class JwtClaims {
+
+    private final String jti; // Token ID, used for revocation
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final List<String> roles;
+    private final String currentStoreId;
+    private final long securityVersion;
+    private final boolean refresh;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    /**
+     * Rebuild the principal purely from the claims (stateless mode).
+     * No password is available and account flags are assumed valid; the token
+     * was only issued to an active account.
+     */
+    public UserPrincipal toPrincipal() {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+        return new UserPrincipal(
+                userId,
+                username,
+                email,
+                currentStoreId,
+                null,
+                authorities,
+                true,
+                true,
+                true,
+                true,
+                securityVersion);
+    }
+}
@@ -1,40 +1,76 @@
 package com.salepilot.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.salepilot.backend.config.AppProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * JWT Token provider for generating and validating JWT tokens.
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationMs;
-
-    @Value("${app.jwt.refresh-expiration}")
-    private long jwtRefreshExpirationMs;
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
 
     private SecretKey secretKey;
 
+    // Token digest -> claims of tokens whose signature has already been verified
+    private Cache<String, JwtClaims> verifiedTokens;
+
     @PostConstruct
     public void init() {
-        this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        AppProperties.Jwt config = appProperties.getJwt();
+        this.secretKey = Keys.hmacShaKeyFor(config.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(config.getVerifiedCacheSize())
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, JwtClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), claims.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, JwtClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, JwtClaims claims, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified.tokens");
     }
 
     /**
@@ -50,18 +86,20 @@ public class JwtTokenProvider {
      */
     public String generateAccessToken(UserPrincipal userPrincipal) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
+        Date expiryDate = new Date(now.getTime() + appProperties.getJwt().getExpiration());
 
         String authorities = userPrincipal.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(Long.toString(userPrincipal.getId()))
                 .claim("username", userPrincipal.getUsername())
                 .claim("email", userPrincipal.getEmail())
                 .claim("roles", authorities)
                 .claim("currentStoreId", userPrincipal.getCurrentStoreId()) // Add store ID for multi-tenancy
+                .claim("sv", userPrincipal.getSecurityVersion()) // User security version at issue time
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey, Jwts.SIG.HS512)
@@ -73,11 +111,13 @@ public class JwtTokenProvider {
      */
     public String generateRefreshToken(UserPrincipal userPrincipal) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtRefreshExpirationMs);
+        Date expiryDate = new Date(now.getTime() + appProperties.getJwt().getRefreshExpiration());
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(Long.toString(userPrincipal.getId()))
                 .claim("type", "refresh")
+                .claim("sv", userPrincipal.getSecurityVersion())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(secretKey, Jwts.SIG.HS512)
@@ -85,77 +125,69 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Get user ID from JWT token
+     * Verify the signature and expiry once and return the typed claims.
+     * Tokens already verified are served from a bounded cache keyed by the
+     * token's SHA-256 digest, each entry expiring at the token's own exp.
+     *
+     * @return The claims, or empty if the token is invalid or expired
      */
-    public Long getUserIdFromToken(String token) {
-        Claims claims = getClaims(token);
-        return Long.parseLong(claims.getSubject());
-    }
+    public Optional<JwtClaims> parseToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
 
-    /**
-     * Get username from JWT token
-     */
-    public String getUsernameFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("username", String.class);
-    }
+        String digest = digest(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
 
-    /**
-     * Get email from JWT token
-     */
-    public String getEmailFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("email", String.class);
+        try {
+            JwtClaims claims = toJwtClaims(getClaims(token));
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
+        } catch (ExpiredJwtException ex) {
+            log.debug("Expired JWT token");
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+        }
+        return Optional.empty();
     }
 
     /**
-     * Get current store ID from JWT token
+     * Get expiration time in milliseconds
      */
-    public String getStoreIdFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("currentStoreId", String.class);
+    public long getExpirationMs() {
+        return appProperties.getJwt().getExpiration();
     }
 
-    /**
-     * Validate JWT token
-     */
-    public boolean validateToken(String token) {
-        try {
-            getClaims(token);
-            return true;
-        } catch (SecurityException ex) {
-            log.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
-        }
-        return false;
+    private JwtClaims toJwtClaims(Claims claims) {
+        String roles = claims.get("roles", String.class);
+        Number securityVersion = claims.get("sv", Number.class);
+
+        return JwtClaims.builder()
+                .jti(claims.getId())
+                .userId(Long.parseLong(claims.getSubject()))
+                .username(claims.get("username", String.class))
+                .email(claims.get("email", String.class))
+                .roles(roles == null || roles.isBlank() ? List.of() : List.of(roles.split(",")))
+                .currentStoreId(claims.get("currentStoreId", String.class))
+                .securityVersion(securityVersion != null ? securityVersion.longValue() : 0L) // 0 for pre-"sv" tokens
+                .refresh("refresh".equals(claims.get("type", String.class)))
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
     }
 
-    /**
-     * Check if token is a refresh token
-     */
-    public boolean isRefreshToken(String token) {
+    private static String digest(String token) {
         try {
-            Claims claims = getClaims(token);
-            return "refresh".equals(claims.get("type", String.class));
-        } catch (Exception e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
-    /**
-     * Get expiration time in milliseconds
-     */
-    public long getExpirationMs() {
-        return jwtExpirationMs;
-    }
-
     /**
      * Parse JWT token and get claims
      */
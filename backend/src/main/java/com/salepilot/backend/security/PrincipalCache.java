@@ -0,0 +1,71 @@
+package com.salepilot.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.event.UserSecurityChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of authenticated principals keyed by user ID.
+ * An entry is only reused while its security version matches the "sv" claim
+ * of the presented token: a token newer than the entry forces a reload, and a
+ * token older than the user's current version (password reset, role change,
+ * disablement) is rejected. Local entries are dropped as soon as such a change
+ * commits; other nodes converge within the TTL.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<Long, UserPrincipal> principals;
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService, AppProperties appProperties) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(appProperties.getSecurity().getPrincipalCacheMaxSize())
+                .expireAfterWrite(appProperties.getSecurity().getPrincipalCacheTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Resolve the principal for a token
+     *
+     * @param userId       Token subject
+     * @param tokenVersion Security version the token was issued with
+     * @return The principal, or null if the token predates a security change
+     */
+    public UserPrincipal get(Long userId, long tokenVersion) {
+        UserPrincipal principal = principals.getIfPresent(userId);
+        if (principal == null || principal.getSecurityVersion() < tokenVersion) {
+            principal = (UserPrincipal) userDetailsService.loadUserById(userId);
+            principals.put(userId, principal);
+        }
+
+        if (principal.getSecurityVersion() != tokenVersion) {
+            log.debug("Rejecting token for user {} issued at security version {} (current {})",
+                    userId, tokenVersion, principal.getSecurityVersion());
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Drop a cached principal
+     */
+    public void invalidate(Long userId) {
+        principals.invalidate(userId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,136 @@
+package com.salepilot.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.dto.response.ErrorResponse;
+import com.salepilot.backend.util.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter enforcing app.security.rate-limit.
+ *
+ * Authenticated calls are charged against the caller's own bucket and then
+ * against a bucket shared by everyone in the same store, so one noisy store
+ * cannot starve the database pool for the others; anonymous calls are charged
+ * per client IP (the forwarded client address behind a trusted proxy, see
+ * server.forward-headers-strategy). A request the store bucket rejects is
+ * refunded to the caller's bucket. Each request costs the weight of the first
+ * matching endpoint-costs pattern (default 1). Buckets are evicted once idle.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private final AppProperties.Security.RateLimit config;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    public RateLimitFilter(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.config = appProperties.getSecurity().getRateLimit();
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxBuckets())
+                .expireAfterAccess(config.getBucketIdleSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled()
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long cost = costOf(request.getRequestURI());
+        long waitNanos;
+        String scope;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            scope = "user";
+            TokenBucket userBucket = bucket("u:" + principal.getId(), config.getRequestsPerSecond());
+            waitNanos = userBucket.tryConsume(cost);
+            String storeId = principal.getCurrentStoreId();
+            if (waitNanos == 0 && storeId != null && !storeId.isBlank()) {
+                scope = "store";
+                waitNanos = bucket("s:" + storeId, config.getStoreRequestsPerSecond()).tryConsume(cost);
+                if (waitNanos > 0) {
+                    // Rejected requests are not charged to the caller
+                    userBucket.refund(cost);
+                }
+            }
+        } else {
+            scope = "ip";
+            waitNanos = bucket("ip:" + request.getRemoteAddr(), config.getRequestsPerSecond()).tryConsume(cost);
+        }
+
+        if (waitNanos > 0) {
+            reject(request, response, scope, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private TokenBucket bucket(String key, long tokensPerSecond) {
+        return buckets.get(key, k -> new TokenBucket(tokensPerSecond,
+                tokensPerSecond * Math.max(1, config.getBurstSeconds())));
+    }
+
+    private long costOf(String path) {
+        for (Map.Entry<String, Integer> entry : config.getEndpointCosts().entrySet()) {
+            if (pathMatcher.match(entry.getKey(), path)) {
+                return entry.getValue();
+            }
+        }
+        return 1;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String scope, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("Rate limit exceeded ({}) for {} {}", scope, request.getMethod(), request.getRequestURI());
+        meterRegistry.counter("http.server.requests.rate_limited", "scope", scope).increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit exceeded, retry after " + retryAfterSeconds + "s",
+                request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,116 @@
+package com.salepilot.backend.security;
+
+import com.salepilot.backend.entity.RevokedToken;
+import com.salepilot.backend.repository.RevokedTokenRepository;
+import com.salepilot.backend.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the revoked_tokens denylist.
+ * A Bloom filter answers the common "not revoked" case without touching the
+ * exact set; only possible hits are confirmed against it. Each node polls the
+ * table every few seconds for revocations made elsewhere, and the table is
+ * purged of rows whose tokens have expired.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    // Re-read window so rows from transactions that committed late are not missed
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+    private static final int BLOOM_MIN_ENTRIES = 10000;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.001;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    // jti -> token expiry
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter = new BloomFilter(BLOOM_MIN_ENTRIES, BLOOM_FALSE_POSITIVE_RATE);
+    private volatile Instant lastPoll;
+
+    /**
+     * Check if a token (by jti) has been revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Revoke a token until its expiry
+     */
+    public void revoke(String jti, Long userId, Instant expiresAt) {
+        if (jti == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+
+        addLocal(jti, expiresAt);
+        if (revokedTokenRepository.existsByJti(jti)) {
+            return;
+        }
+        try {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .userId(userId)
+                    .expiresAt(expiresAt)
+                    .revokedAt(Instant.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} already revoked", jti);
+        }
+    }
+
+    /**
+     * Pick up revocations recorded by any node since the last poll
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation-refresh-interval-ms:2000}")
+    public void refresh() {
+        Instant now = Instant.now();
+        Instant since = lastPoll == null ? Instant.EPOCH : lastPoll.minus(POLL_OVERLAP);
+
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since,
+                now)) {
+            addLocal(token.getJti(), token.getExpiresAt());
+        }
+        lastPoll = now;
+    }
+
+    /**
+     * Drop expired revocations from the table and from memory, rebuilding the
+     * Bloom filter (entries cannot be removed from it)
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(BLOOM_MIN_ENTRIES, revoked.size() * 2),
+                BLOOM_FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+
+        // Second pass covers revocations that went into the old filter meanwhile
+        revoked.keySet().forEach(rebuilt::put);
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations", purged);
+        }
+    }
+
+    private void addLocal(String jti, Instant expiresAt) {
+        revoked.put(jti, expiresAt);
+        bloomFilter.put(jti);
+    }
+}
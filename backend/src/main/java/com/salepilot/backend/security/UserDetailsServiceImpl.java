@@ -3,7 +3,9 @@ package com.salepilot.backend.security;
 import com.salepilot.backend.entity.User;
 import com.salepilot.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,10 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom UserDetailsService implementation for loading user-specific data.
+ * Also persists hashes re-encoded on login when the BCrypt work factor changes.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -38,4 +42,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
+
+    /**
+     * Store a password hash re-encoded at the current work factor.
+     * Same password, so existing sessions stay valid (no security version bump).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        Long userId = ((UserPrincipal) userDetails).getId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+        user.setPassword(newEncodedPassword);
+        log.info("Re-encoded password hash for user: {}", user.getUsername());
+
+        return UserPrincipal.create(user);
+    }
 }
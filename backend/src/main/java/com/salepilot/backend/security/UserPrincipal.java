@@ -33,6 +33,7 @@ public class UserPrincipal implements UserDetails {
     private boolean accountNonExpired;
     private boolean accountNonLocked;
     private boolean credentialsNonExpired;
+    private long securityVersion; // Matches the "sv" claim of tokens issued to this user
 
     /**
      * Create UserPrincipal from User entity
@@ -52,7 +53,8 @@ public class UserPrincipal implements UserDetails {
                 user.getEnabled(),
                 user.getAccountNonExpired(),
                 user.getAccountNonLocked(),
-                user.getCredentialsNonExpired());
+                user.getCredentialsNonExpired(),
+                user.getSecurityVersion() != null ? user.getSecurityVersion() : 0L);
     }
 
     @Override
@@ -1,9 +1,11 @@
 package com.salepilot.backend.service;
 
+import com.salepilot.backend.context.Bulkhead;
 import com.salepilot.backend.context.TenantContext;
 import com.salepilot.backend.dto.AccountDTO;
 import com.salepilot.backend.dto.JournalEntryDTO;
 import com.salepilot.backend.dto.TrialBalanceDTO;
+import com.salepilot.backend.dto.response.CursorPageResponse;
 import com.salepilot.backend.entity.Account;
 import com.salepilot.backend.entity.JournalEntry;
 import com.salepilot.backend.entity.JournalEntryLine;
@@ -13,13 +15,17 @@ import com.salepilot.backend.exception.NotFoundException;
 import com.salepilot.backend.repository.AccountRepository;
 import com.salepilot.backend.repository.JournalEntryLineRepository;
 import com.salepilot.backend.repository.JournalEntryRepository;
+import com.salepilot.backend.util.CursorUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +36,7 @@ import java.util.stream.Collectors;
  * Service layer for Accounting Module (Module 12).
  * Handles Chart of Accounts, Double-Entry Bookkeeping, and Financial Reports.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -115,13 +122,9 @@ public class AccountingService {
 
         // Process Lines
         for (JournalEntryDTO.JournalEntryLineDTO lineDto : request.getLines()) {
-            Account account = accountRepository.findById(lineDto.getAccountId())
+            Account account = accountRepository.findByIdAndStoreId(lineDto.getAccountId(), storeId)
                     .orElseThrow(() -> new NotFoundException("Account not found: " + lineDto.getAccountId()));
 
-            if (!account.getStoreId().equals(storeId)) {
-                throw new SecurityException("Unauthorized access to account");
-            }
-
             JournalEntryLine line = JournalEntryLine.builder()
                     .journalEntry(savedJE)
                     .account(account)
@@ -141,9 +144,81 @@ public class AccountingService {
         return savedJE;
     }
 
+    /**
+     * Post one summarised inventory adjustment entry for a finalized stock take.
+     * Shrinkage debits the INVENTORY_ADJUSTMENT account and credits INVENTORY;
+     * a net gain does the reverse. Skipped (with a warning) when the store has
+     * no INVENTORY / INVENTORY_ADJUSTMENT accounts set up.
+     *
+     * @param stockTakeId Source stock take
+     * @param netValue    Net variance value at cost (negative = shrinkage)
+     * @return The posted entry, or empty if nothing was posted
+     */
+    public Optional<JournalEntry> postInventoryAdjustment(String stockTakeId, BigDecimal netValue) {
+        String storeId = TenantContext.getCurrentTenant();
+        BigDecimal amount = netValue.abs().setScale(2, RoundingMode.HALF_UP);
+        if (amount.signum() == 0) {
+            return Optional.empty();
+        }
+
+        Optional<Account> inventory = accountRepository.findByStoreIdAndSubType(storeId,
+                Account.AccountSubType.INVENTORY);
+        Optional<Account> adjustment = accountRepository.findByStoreIdAndSubType(storeId,
+                Account.AccountSubType.INVENTORY_ADJUSTMENT);
+        if (inventory.isEmpty() || adjustment.isEmpty()) {
+            log.warn("Store {} has no INVENTORY/INVENTORY_ADJUSTMENT account; stock take {} variance of {} not posted",
+                    storeId, stockTakeId, netValue);
+            return Optional.empty();
+        }
+
+        boolean shrinkage = netValue.signum() < 0;
+        Account debitAccount = shrinkage ? adjustment.get() : inventory.get();
+        Account creditAccount = shrinkage ? inventory.get() : adjustment.get();
+
+        JournalEntryDTO entry = JournalEntryDTO.builder()
+                .description((shrinkage ? "Inventory shrinkage" : "Inventory gain") + " - stock take #" + stockTakeId)
+                .sourceType(JournalEntry.SourceType.STOCK_TAKE)
+                .sourceId(stockTakeId)
+                .lines(List.of(
+                        JournalEntryDTO.JournalEntryLineDTO.builder()
+                                .accountId(debitAccount.getId())
+                                .type(JournalEntryLine.LineType.DEBIT)
+                                .amount(amount)
+                                .build(),
+                        JournalEntryDTO.JournalEntryLineDTO.builder()
+                                .accountId(creditAccount.getId())
+                                .type(JournalEntryLine.LineType.CREDIT)
+                                .amount(amount)
+                                .build()))
+                .build();
+
+        return Optional.of(postJournalEntry(entry));
+    }
+
+    /**
+     * Get a keyset page of journal entries, newest first (no total count)
+     *
+     * @param cursor Continuation token from the previous page, or null
+     * @param size   Requested page size
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<JournalEntry> getJournalEntries(String cursor, Integer size) {
+        String storeId = TenantContext.getCurrentTenant();
+        CursorUtils.Position after = CursorUtils.decode(cursor);
+        int pageSize = CursorUtils.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<JournalEntry> rows = after == null
+                ? journalEntryRepository.findByStoreIdKeyset(storeId, limit)
+                : journalEntryRepository.findByStoreIdKeysetAfter(storeId, after.getTimestamp(), after.getId(),
+                        limit);
+        return CursorUtils.toCursorPage(rows, pageSize, JournalEntry::getDate, JournalEntry::getId);
+    }
+
     /**
      * Get Trial Balance Report
      */
+    @Bulkhead(Bulkhead.Lane.REPORTING)
     @Transactional(readOnly = true)
     public TrialBalanceDTO getTrialBalance() {
         String storeId = TenantContext.getCurrentTenant();
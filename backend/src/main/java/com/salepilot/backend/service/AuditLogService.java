@@ -1,17 +1,21 @@
 package com.salepilot.backend.service;
 
 import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.response.CursorPageResponse;
 import com.salepilot.backend.entity.AuditLog;
 import com.salepilot.backend.entity.User;
 import com.salepilot.backend.repository.AuditLogRepository;
 import com.salepilot.backend.repository.UserRepository;
+import com.salepilot.backend.util.CursorUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Service layer for Audit Logs.
@@ -66,4 +70,23 @@ public class AuditLogService {
         String storeId = TenantContext.getCurrentTenant();
         return auditLogRepository.findByStoreIdOrderByTimestampDesc(storeId, pageable);
     }
+
+    /**
+     * Get a keyset page of logs, newest first (no total count)
+     *
+     * @param cursor Continuation token from the previous page, or null
+     * @param size   Requested page size
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AuditLog> getLogs(String cursor, Integer size) {
+        String storeId = TenantContext.getCurrentTenant();
+        CursorUtils.Position after = CursorUtils.decode(cursor);
+        int pageSize = CursorUtils.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<AuditLog> rows = after == null
+                ? auditLogRepository.findByStoreIdKeyset(storeId, limit)
+                : auditLogRepository.findByStoreIdKeysetAfter(storeId, after.getTimestamp(), after.getId(), limit);
+        return CursorUtils.toCursorPage(rows, pageSize, AuditLog::getTimestamp, AuditLog::getId);
+    }
 }
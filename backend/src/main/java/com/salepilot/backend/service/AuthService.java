@@ -27,6 +27,9 @@ public interface AuthService {
 
     /**
      * Logout user (invalidate tokens)
+     *
+     * @param token        The access token (Authorization header value)
+     * @param refreshToken The session's refresh token, revoked as well when given
      */
-    void logout(String token);
+    void logout(String token, String refreshToken);
 }
@@ -0,0 +1,148 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.CatalogChangesResponse;
+import com.salepilot.backend.exception.BadRequestException;
+import com.salepilot.backend.exception.BusinessException;
+import com.salepilot.backend.repository.CatalogSyncRepository;
+import com.salepilot.backend.repository.CatalogSyncRepository.Position;
+import com.salepilot.backend.util.StringUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Delta catalogue sync for offline-capable POS terminals.
+ *
+ * Products and categories carry a change position stamped by the database on
+ * every write (V19 / V23), with tombstones for archived and deleted items. A
+ * terminal asks for everything after its cursor and receives at most
+ * {@code limit} changes in position order. Only changes of transactions older
+ * than the oldest one still running are returned, so nothing can later commit
+ * behind a cursor. Tombstones are kept for tombstone-retention-days; a cursor
+ * older than that gets 410 Gone and the terminal must download the catalogue
+ * again from an empty cursor.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogSyncService {
+
+    private final CatalogSyncRepository catalogSyncRepository;
+    private final AppProperties appProperties;
+
+    /**
+     * Get catalogue changes of the current store after a cursor
+     *
+     * @param since Cursor from the previous sync (null or blank for a full download)
+     * @param limit Requested page size (null for the default), capped at max-page-size
+     */
+    public CatalogChangesResponse getChanges(String since, Integer limit) {
+        String storeId = TenantContext.getCurrentTenant();
+        AppProperties.CatalogSync config = appProperties.getCatalogSync();
+        int requested = limit != null ? limit : config.getDefaultPageSize();
+        int pageSize = Math.max(1, Math.min(requested, config.getMaxPageSize()));
+        Position after = decodeCursor(since);
+        long horizon = catalogSyncRepository.findCommitHorizon();
+
+        // Each source is read one row past the page so truncation is detectable after merging
+        List<Change> changes = new ArrayList<>();
+        catalogSyncRepository.findProductChanges(storeId, after, horizon, pageSize + 1)
+                .forEach(p -> changes.add(new Change(new Position(p.getChangeXid(), p.getChangeSeq()), p, null)));
+        catalogSyncRepository.findCategoryChanges(storeId, after, horizon, pageSize + 1)
+                .forEach(c -> changes.add(new Change(new Position(c.getChangeXid(), c.getChangeSeq()), null, c)));
+        for (Object[] tombstone : catalogSyncRepository.findTombstones(storeId, after, horizon, pageSize + 1)) {
+            changes.add(tombstone(tombstone));
+        }
+        changes.sort(Comparator.comparing(Change::position));
+
+        // Checked after reading: a purge that committed meanwhile is seen here. A
+        // full download has no deletes to miss.
+        if (!after.equals(Position.START) && after.compareTo(catalogSyncRepository.findPurgedThrough()) < 0) {
+            throw new BusinessException("Sync cursor is older than the tombstone retention, a full resync is required",
+                    HttpStatus.GONE, "CATALOG_RESYNC_REQUIRED");
+        }
+
+        boolean truncated = changes.size() > pageSize;
+        List<Change> page = truncated ? changes.subList(0, pageSize) : changes;
+
+        Position cursor = after;
+        List<CatalogChangesResponse.ProductChange> products = new ArrayList<>();
+        List<CatalogChangesResponse.CategoryChange> categories = new ArrayList<>();
+        for (Change change : page) {
+            cursor = change.position();
+            if (change.product() != null) {
+                products.add(change.product());
+            } else {
+                categories.add(change.category());
+            }
+        }
+
+        return CatalogChangesResponse.builder()
+                .since(since)
+                .cursor(encodeCursor(cursor))
+                .hasMore(truncated)
+                .products(products)
+                .categories(categories)
+                .build();
+    }
+
+    /**
+     * Periodically delete tombstones older than the retention
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.catalog-sync.tombstone-purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        Duration retention = Duration.ofDays(appProperties.getCatalogSync().getTombstoneRetentionDays());
+        int purged = catalogSyncRepository.purgeTombstones(retention);
+        if (purged > 0) {
+            log.info("Purged {} catalogue tombstones older than {}", purged, retention);
+        }
+    }
+
+    private Change tombstone(Object[] row) {
+        long entityId = (Long) row[1];
+        Position position = new Position((Long) row[2], (Long) row[3]);
+        if ("category".equals(row[0])) {
+            return new Change(position, null, CatalogChangesResponse.CategoryChange.builder()
+                    .id(entityId).changeXid(position.xid()).changeSeq(position.seq()).deleted(true).build());
+        }
+        return new Change(position, CatalogChangesResponse.ProductChange.builder()
+                .id(entityId).changeXid(position.xid()).changeSeq(position.seq()).deleted(true).build(), null);
+    }
+
+    private static String encodeCursor(Position position) {
+        String raw = position.xid() + ":" + position.seq();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return Position.START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            return new Position(Long.parseLong(raw.substring(0, colon)), Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid sync cursor");
+        }
+    }
+
+    private record Change(Position position,
+            CatalogChangesResponse.ProductChange product,
+            CatalogChangesResponse.CategoryChange category) {
+    }
+}
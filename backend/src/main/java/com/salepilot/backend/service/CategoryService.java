@@ -37,13 +37,8 @@ public class CategoryService {
 
         // Validate parent if specified
         if (category.getParent() != null) {
-            Category parent = categoryRepository.findById(category.getParent().getId())
+            Category parent = categoryRepository.findByIdAndStoreId(category.getParent().getId(), storeId)
                     .orElseThrow(() -> new NotFoundException("Parent category not found"));
-
-            // Verify parent belongs to same store
-            if (!parent.getStoreId().equals(storeId)) {
-                throw new SecurityException("Parent category belongs to different store");
-            }
         }
 
         // TenantAware entity will automatically set storeId via @PrePersist
@@ -56,14 +51,9 @@ public class CategoryService {
     public Category updateCategory(Long id, Category categoryDetails) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Category category = categoryRepository.findById(id)
+        Category category = categoryRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
 
-        // Verify tenant ownership
-        if (!category.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to category");
-        }
-
         // Check for name conflicts (excluding current category)
         Optional<Category> existing = categoryRepository.findByStoreIdAndName(storeId, categoryDetails.getName());
         if (existing.isPresent() && !existing.get().getId().equals(id)) {
@@ -83,13 +73,9 @@ public class CategoryService {
                 throw new ConflictException("Category cannot be its own parent");
             }
 
-            Category parent = categoryRepository.findById(categoryDetails.getParent().getId())
+            Category parent = categoryRepository.findByIdAndStoreId(categoryDetails.getParent().getId(), storeId)
                     .orElseThrow(() -> new NotFoundException("Parent category not found"));
 
-            if (!parent.getStoreId().equals(storeId)) {
-                throw new SecurityException("Parent category belongs to different store");
-            }
-
             category.setParent(parent);
         } else {
             category.setParent(null);
@@ -104,10 +90,7 @@ public class CategoryService {
     @Transactional(readOnly = true)
     public Optional<Category> getCategoryById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        Optional<Category> category = categoryRepository.findById(id);
-
-        // Verify tenant ownership
-        return category.filter(c -> c.getStoreId().equals(storeId));
+        return categoryRepository.findByIdAndStoreId(id, storeId);
     }
 
     /**
@@ -136,13 +119,9 @@ public class CategoryService {
         String storeId = TenantContext.getCurrentTenant();
 
         // Verify parent exists and belongs to store
-        Category parent = categoryRepository.findById(parentId)
+        Category parent = categoryRepository.findByIdAndStoreId(parentId, storeId)
                 .orElseThrow(() -> new NotFoundException("Parent category not found"));
 
-        if (!parent.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to category");
-        }
-
         return categoryRepository.findByStoreIdAndParent_Id(storeId, parentId);
     }
 
@@ -152,14 +131,9 @@ public class CategoryService {
     public void deleteCategory(Long id) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Category category = categoryRepository.findById(id)
+        Category category = categoryRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Category not found"));
 
-        // Verify tenant ownership
-        if (!category.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to category");
-        }
-
         // Check if category has subcategories
         List<Category> subcategories = categoryRepository.findByStoreIdAndParent_Id(storeId, id);
         if (!subcategories.isEmpty()) {
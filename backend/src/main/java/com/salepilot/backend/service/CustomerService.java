@@ -5,6 +5,7 @@ import com.salepilot.backend.entity.Customer;
 import com.salepilot.backend.exception.ConflictException;
 import com.salepilot.backend.exception.NotFoundException;
 import com.salepilot.backend.repository.CustomerRepository;
+import com.salepilot.backend.util.SearchUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -58,14 +59,9 @@ public class CustomerService {
     public Customer updateCustomer(Long id, Customer customerDetails) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
-        // Verify tenant ownership
-        if (!customer.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to customer");
-        }
-
         // Check for email conflicts if email is being changed
         if (customerDetails.getEmail() != null && !customerDetails.getEmail().equals(customer.getEmail())) {
             Optional<Customer> existing = customerRepository.findByStoreIdAndEmail(storeId, customerDetails.getEmail());
@@ -91,10 +87,7 @@ public class CustomerService {
     @Transactional(readOnly = true)
     public Optional<Customer> getCustomerById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        Optional<Customer> customer = customerRepository.findById(id);
-
-        // Verify tenant ownership
-        return customer.filter(c -> c.getStoreId().equals(storeId));
+        return customerRepository.findByIdAndStoreId(id, storeId);
     }
 
     /**
@@ -112,7 +105,17 @@ public class CustomerService {
     @Transactional(readOnly = true)
     public Page<Customer> searchCustomers(String search, Pageable pageable) {
         String storeId = TenantContext.getCurrentTenant();
-        return customerRepository.searchCustomers(storeId, search, pageable);
+        String term = SearchUtils.normalize(search);
+        if (term.isEmpty()) {
+            return customerRepository.findByStoreId(storeId, pageable);
+        }
+        // Results are ordered by relevance, not by the requested sort
+        Pageable page = SearchUtils.unsorted(pageable);
+        if (!SearchUtils.isTrigramSearchable(term)) {
+            return customerRepository.searchCustomersByPrefix(storeId, SearchUtils.prefixPattern(term), page);
+        }
+        return customerRepository.searchCustomers(storeId, term, SearchUtils.containsPattern(term),
+                SearchUtils.prefixPattern(term), page);
     }
 
     /**
@@ -143,14 +146,9 @@ public class CustomerService {
             throw new IllegalArgumentException("Store credit amount must be positive");
         }
 
-        Customer customer = customerRepository.findById(customerId)
+        Customer customer = customerRepository.findByIdAndStoreId(customerId, storeId)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
-        // Verify tenant ownership
-        if (!customer.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to customer");
-        }
-
         customer.setStoreCredit(customer.getStoreCredit().add(amount));
         return customerRepository.save(customer);
     }
@@ -165,14 +163,9 @@ public class CustomerService {
             throw new IllegalArgumentException("Deduction amount must be positive");
         }
 
-        Customer customer = customerRepository.findById(customerId)
+        Customer customer = customerRepository.findByIdAndStoreId(customerId, storeId)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
-        // Verify tenant ownership
-        if (!customer.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to customer");
-        }
-
         // Check if sufficient credit
         if (customer.getStoreCredit().compareTo(amount) < 0) {
             throw new IllegalArgumentException("Insufficient store credit. Available: " + customer.getStoreCredit());
@@ -190,14 +183,9 @@ public class CustomerService {
     public Customer updateAccountBalance(Long customerId, BigDecimal amount) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Customer customer = customerRepository.findById(customerId)
+        Customer customer = customerRepository.findByIdAndStoreId(customerId, storeId)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
-        // Verify tenant ownership
-        if (!customer.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to customer");
-        }
-
         customer.setAccountBalance(customer.getAccountBalance().add(amount));
         return customerRepository.save(customer);
     }
@@ -208,14 +196,9 @@ public class CustomerService {
     public void deleteCustomer(Long id) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
 
-        // Verify tenant ownership
-        if (!customer.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to customer");
-        }
-
         // Check for outstanding balance
         if (customer.hasOutstandingBalance()) {
             throw new ConflictException("Cannot delete customer with outstanding balance: " +
@@ -0,0 +1,66 @@
+package com.salepilot.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salepilot.backend.dto.DashboardMetricsDTO;
+import com.salepilot.backend.event.DashboardMetricsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the per-store dashboard metrics cache fresh.
+ * Change events evict the store's entry once the originating transaction
+ * commits; stores touched since the last tick are then recomputed once and
+ * pushed to open dashboards over WebSocket, so a burst of sales costs one
+ * recomputation instead of one per sale (and clients need not poll).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardMetricsRefresher {
+
+    private static final TypeReference<Map<String, Object>> METRICS_MAP = new TypeReference<>() {
+    };
+
+    private final ReportService reportService;
+    private final WebSocketService webSocketService;
+    private final ObjectMapper objectMapper;
+
+    private final Set<String> pendingStores = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Invalidate a store's metrics after a committed change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMetricsChanged(DashboardMetricsChangedEvent event) {
+        reportService.evictDashboardMetrics(event.getStoreId());
+        pendingStores.add(event.getStoreId());
+    }
+
+    /**
+     * Recompute and broadcast metrics for every store changed since the last run
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.metrics-refresh-interval-ms:2000}")
+    public void refreshPendingStores() {
+        Iterator<String> stores = pendingStores.iterator();
+        while (stores.hasNext()) {
+            String storeId = stores.next();
+            stores.remove();
+            try {
+                DashboardMetricsDTO metrics = reportService.refreshDashboardMetrics(storeId);
+                webSocketService.broadcastMetricsUpdate(storeId, objectMapper.convertValue(metrics, METRICS_MAP));
+            } catch (RuntimeException e) {
+                log.warn("Failed to refresh dashboard metrics for store {}: {}", storeId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.context.Bulkhead;
+import com.salepilot.backend.dto.DashboardMetricsDTO;
+import com.salepilot.backend.entity.DailySalesRollup;
+import com.salepilot.backend.repository.DailyProductSalesRollupRepository;
+import com.salepilot.backend.repository.DailySalesRollupRepository;
+import com.salepilot.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Computes dashboard metrics. Runs in the REPORTING bulkhead lane so report
+ * queries cannot take connections from day-to-day work; callers go through
+ * the cache in {@link ReportService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Bulkhead(Bulkhead.Lane.REPORTING)
+public class DashboardMetricsService {
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
+    private final ProductRepository productRepository;
+    private final SalesRollupService salesRollupService;
+
+    /**
+     * Build dashboard metrics from the pre-aggregated daily rollups (at most one
+     * row per channel per day of the month), so cost does not grow with sales
+     * history.
+     */
+    public DashboardMetricsDTO computeDashboardMetrics(String storeId) {
+        // Date Ranges
+        LocalDate today = salesRollupService.businessDay(Instant.now());
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+
+        // 1. Sales Metrics
+        List<DailySalesRollup> monthRollups = dailySalesRollupRepository.findByStoreIdAndDayBetween(storeId,
+                startOfMonth, today);
+
+        BigDecimal dailySales = BigDecimal.ZERO;
+        long dailyCount = 0;
+        BigDecimal monthlySales = BigDecimal.ZERO;
+        for (DailySalesRollup rollup : monthRollups) {
+            monthlySales = monthlySales.add(rollup.getGrossSales());
+            if (rollup.getDay().equals(today)) {
+                dailySales = dailySales.add(rollup.getGrossSales());
+                dailyCount += rollup.getTransactionCount();
+            }
+        }
+
+        // 2. Inventory Metrics
+        long lowStockCount = productRepository.countLowStockProducts(storeId);
+        long outOfStockCount = productRepository.countOutOfStockProducts(storeId);
+
+        // 3. Top Products (This Month)
+        List<Object[]> topItems = dailyProductSalesRollupRepository.findTopSellingProducts(
+                storeId, startOfMonth, today, PageRequest.of(0, 5));
+
+        List<DashboardMetricsDTO.TopProductDTO> topProducts = topItems.stream()
+                .map(row -> DashboardMetricsDTO.TopProductDTO.builder()
+                        .name((String) row[1]) // Index 1 is name
+                        .quantitySold((BigDecimal) row[2]) // Index 2 is totalQty
+                        .revenue((BigDecimal) row[3]) // Index 3 is totalRevenue
+                        .build())
+                .collect(Collectors.toList());
+
+        return DashboardMetricsDTO.builder()
+                .dailySales(dailySales)
+                .dailyTransactionCount(dailyCount)
+                .monthlySales(monthlySales)
+                .lowStockCount(lowStockCount)
+                .outOfStockCount(outOfStockCount)
+                .topProducts(topProducts)
+                .build();
+    }
+}
@@ -34,16 +34,12 @@ public class ExpenseService {
     public Expense createExpense(ExpenseRequest request) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Account expenseAccount = accountRepository.findById(request.getExpenseAccountId())
+        Account expenseAccount = accountRepository.findByIdAndStoreId(request.getExpenseAccountId(), storeId)
                 .orElseThrow(() -> new NotFoundException("Expense account not found"));
 
-        Account paymentAccount = accountRepository.findById(request.getPaymentAccountId())
+        Account paymentAccount = accountRepository.findByIdAndStoreId(request.getPaymentAccountId(), storeId)
                 .orElseThrow(() -> new NotFoundException("Payment account not found"));
 
-        if (!expenseAccount.getStoreId().equals(storeId) || !paymentAccount.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to account");
-        }
-
         // Validate generic types if we want to enforce structure
         // e.g. expenseAccount.getType() == EXPENSE
 
@@ -73,12 +69,8 @@ public class ExpenseService {
     @Transactional(readOnly = true)
     public Expense getExpenseById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        Expense expense = expenseRepository.findById(id)
+        Expense expense = expenseRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Expense not found"));
-
-        if (!expense.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to expense");
-        }
         return expense;
     }
 
@@ -0,0 +1,170 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.Bulkhead;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.repository.ExportRepository;
+import com.salepilot.backend.util.CsvWriter;
+import com.salepilot.backend.util.NdjsonWriter;
+import com.salepilot.backend.util.RowWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams store data exports as gzip-compressed CSV or NDJSON.
+ * Each export is one read-only transaction over a forward-only cursor,
+ * written to the response as rows arrive, so heap use does not grow with
+ * the number of rows. Since the connection is held for the whole download,
+ * exports run in their own EXPORT bulkhead lane and are aborted after
+ * max-duration-ms (a slow client cannot pin a connection indefinitely): the
+ * deadline is checked before each row, and a watchdog closes the response
+ * once it passes, failing a write blocked on a client that stopped reading.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Bulkhead(Bulkhead.Lane.EXPORT)
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportRepository exportRepository;
+    private final AppProperties appProperties;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(watchdogThreads());
+
+    /**
+     * Export format
+     */
+    public enum ExportFormat {
+        CSV("csv"),
+        NDJSON("ndjson");
+
+        private final String extension;
+
+        ExportFormat(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write the current store's products to a stream
+     */
+    public void exportProducts(ExportFormat format, OutputStream out) throws IOException {
+        String storeId = TenantContext.getCurrentTenant();
+        write(format, out, writer -> exportRepository.streamProducts(storeId, fetchSize(), writer));
+    }
+
+    /**
+     * Write the current store's customers to a stream
+     */
+    public void exportCustomers(ExportFormat format, OutputStream out) throws IOException {
+        String storeId = TenantContext.getCurrentTenant();
+        write(format, out, writer -> exportRepository.streamCustomers(storeId, fetchSize(), writer));
+    }
+
+    /**
+     * Write the current store's sales between two dates (inclusive, optional) to a stream
+     */
+    public void exportSales(ExportFormat format, LocalDate from, LocalDate to, OutputStream out)
+            throws IOException {
+        String storeId = TenantContext.getCurrentTenant();
+        write(format, out, writer -> exportRepository.streamSales(storeId, from, to, fetchSize(), writer));
+    }
+
+    /**
+     * Stop the watchdog (invoked by the container on shutdown)
+     */
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private void write(ExportFormat format, OutputStream out, Consumer<RowWriter> export) throws IOException {
+        long maxDurationMs = appProperties.getExport().getMaxDurationMs();
+        ScheduledFuture<?> abort = watchdog.schedule(() -> abort(out, maxDurationMs), maxDurationMs,
+                TimeUnit.MILLISECONDS);
+        try {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            BufferedWriter text = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8),
+                    BUFFER_SIZE);
+            try (RowWriter writer = format == ExportFormat.NDJSON ? new NdjsonWriter(text) : new CsvWriter(text)) {
+                export.accept(withDeadline(writer, maxDurationMs));
+            }
+        } finally {
+            abort.cancel(false);
+        }
+    }
+
+    /**
+     * Close the response of an export past its deadline, so a write blocked on
+     * the client fails and the cursor and transaction unwind
+     */
+    private void abort(OutputStream out, long maxDurationMs) {
+        log.warn("Export still running after {} ms, closing the response", maxDurationMs);
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Closing timed-out export failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fail the export once max-duration-ms has passed; the exception unwinds the
+     * cursor and ends the transaction
+     */
+    private RowWriter withDeadline(RowWriter writer, long maxDurationMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDurationMs);
+        return new RowWriter() {
+            @Override
+            public void columns(List<String> names) throws IOException {
+                writer.columns(names);
+            }
+
+            @Override
+            public void row(Object[] values) throws IOException {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new IOException("Export exceeded its maximum duration of " + maxDurationMs + " ms");
+                }
+                writer.row(values);
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+
+    private int fetchSize() {
+        return appProperties.getExport().getFetchSize();
+    }
+
+    private static CustomizableThreadFactory watchdogThreads() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("export-watchdog-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,141 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.entity.InventoryDailySnapshot;
+import com.salepilot.backend.entity.InventoryMovement;
+import com.salepilot.backend.entity.Product;
+import com.salepilot.backend.exception.NotFoundException;
+import com.salepilot.backend.repository.InventoryDailySnapshotRepository;
+import com.salepilot.backend.repository.InventoryMovementRepository;
+import com.salepilot.backend.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for the inventory movement ledger.
+ * Every stock change (sale, return, PO reception, stock take adjustment) is
+ * appended as an immutable movement row; a periodic compaction folds
+ * movements into per-product daily snapshots for history and as-of queries.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class InventoryMovementService {
+
+    private final InventoryMovementRepository movementRepository;
+    private final InventoryDailySnapshotRepository snapshotRepository;
+    private final ProductRepository productRepository;
+    private final AppProperties appProperties;
+
+    /**
+     * Append one movement per product in a single batch.
+     *
+     * @param type        Movement type
+     * @param referenceId Source document (transaction ID, PO number, ...)
+     * @param quantities  Map of ProductID -> signed quantity
+     * @param balances    Map of ProductID -> stock level after the movement
+     *                    (may be null or partial)
+     * @param unitCosts   Map of ProductID -> unit cost snapshot (may be null or
+     *                    partial)
+     */
+    public void recordMovements(InventoryMovement.MovementType type, String referenceId,
+            Map<Long, BigDecimal> quantities, Map<Long, BigDecimal> balances, Map<Long, BigDecimal> unitCosts) {
+        String storeId = TenantContext.getCurrentTenant();
+        Instant now = Instant.now();
+
+        List<InventoryMovement> movements = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            if (quantity.signum() == 0) {
+                return;
+            }
+            movements.add(InventoryMovement.builder()
+                    .product(productRepository.getReferenceById(productId))
+                    .movementType(type)
+                    .quantity(quantity)
+                    .balanceAfter(balances != null ? balances.get(productId) : null)
+                    .unitCost(unitCosts != null ? unitCosts.get(productId) : null)
+                    .referenceId(referenceId)
+                    .occurredAt(now)
+                    .build());
+        });
+
+        movementRepository.batchInsert(storeId, movements);
+    }
+
+    /**
+     * Movement history for a product, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<InventoryMovement> getProductMovements(Long productId, Pageable pageable) {
+        String storeId = TenantContext.getCurrentTenant();
+        return movementRepository.findByStoreIdAndProduct_IdOrderByOccurredAtDesc(storeId, productId, pageable);
+    }
+
+    /**
+     * Per-day stock history for a product (reads one snapshot row per active day)
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryDailySnapshot> getDailyHistory(Long productId, LocalDate from, LocalDate to) {
+        String storeId = TenantContext.getCurrentTenant();
+        return snapshotRepository.findByStoreIdAndProductIdAndDayBetweenOrderByDayAsc(storeId, productId, from, to);
+    }
+
+    /**
+     * Stock level of a product at the end of the given day (in
+     * app.business-time-zone). Past days are answered from compacted snapshots;
+     * today (or later) from the live product row.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getStockAsOf(Long productId, LocalDate date) {
+        String storeId = TenantContext.getCurrentTenant();
+        Product product = productRepository.findByIdAndStoreId(productId, storeId)
+                .orElseThrow(() -> new NotFoundException("Product not found: " + productId));
+
+        if (!date.isBefore(LocalDate.now(ZoneId.of(appProperties.getBusinessTimeZone())))) {
+            return product.getStock();
+        }
+
+        return snapshotRepository
+                .findFirstByStoreIdAndProductIdAndDayLessThanEqualOrderByDayDesc(storeId, productId, date)
+                .map(InventoryDailySnapshot::getClosingBalance)
+                .orElseGet(() -> openingBalanceAfter(storeId, product, date));
+    }
+
+    /**
+     * No movement on or before the date: stock was whatever the first later day
+     * opened with, or the current level if nothing has moved since.
+     */
+    private BigDecimal openingBalanceAfter(String storeId, Product product, LocalDate date) {
+        return snapshotRepository
+                .findFirstByStoreIdAndProductIdAndDayGreaterThanOrderByDayAsc(storeId, product.getId(), date)
+                .filter(s -> s.getClosingBalance() != null)
+                .map(s -> s.getClosingBalance().subtract(s.getNetChange()))
+                .orElse(product.getStock());
+    }
+
+    /**
+     * Periodically fold new movements into daily snapshots
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.snapshot-compaction-interval-ms:300000}")
+    public void compactDailySnapshots() {
+        int snapshots = movementRepository.compactDailySnapshots(appProperties.getBusinessTimeZone());
+        if (snapshots > 0) {
+            log.debug("Compacted inventory movements into {} daily snapshots", snapshots);
+        }
+    }
+}
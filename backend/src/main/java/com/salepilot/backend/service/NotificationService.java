@@ -60,12 +60,9 @@ public class NotificationService {
      */
     public void markAsRead(Long notificationId) {
         String storeId = TenantContext.getCurrentTenant();
-        Notification n = notificationRepository.findById(notificationId)
+        Notification n = notificationRepository.findByIdAndStoreId(notificationId, storeId)
                 .orElseThrow(() -> new NotFoundException("Notification not found"));
 
-        if (!n.getStoreId().equals(storeId))
-            throw new SecurityException("Unauthorized");
-
         n.setIsRead(true);
         notificationRepository.save(n);
     }
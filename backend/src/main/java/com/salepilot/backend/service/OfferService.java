@@ -53,13 +53,9 @@ public class OfferService {
      */
     public Offer acceptOffer(Long offerId, Long acceptingUserId) {
         String storeId = TenantContext.getCurrentTenant();
-        Offer offer = offerRepository.findById(offerId)
+        Offer offer = offerRepository.findByIdAndStoreId(offerId, storeId)
                 .orElseThrow(() -> new NotFoundException("Offer not found"));
 
-        if (!offer.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access");
-        }
-
         if (offer.getStatus() != Offer.OfferStatus.OPEN) {
             throw new ConflictException("Offer is not open");
         }
@@ -82,7 +78,8 @@ public class OfferService {
      * Complete an offer
      */
     public Offer completeOffer(Long offerId, Long userId) {
-        Offer offer = offerRepository.findById(offerId)
+        String storeId = TenantContext.getCurrentTenant();
+        Offer offer = offerRepository.findByIdAndStoreId(offerId, storeId)
                 .orElseThrow(() -> new NotFoundException("Offer not found"));
 
         // Only creator or acceptor can complete (business logic may vary)
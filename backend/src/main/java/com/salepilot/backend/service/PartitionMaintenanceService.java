@@ -0,0 +1,85 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.repository.PartitionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the monthly range partitions of the history tables ahead of time and,
+ * where a retention is configured, archives the oldest ones.
+ * Runs at startup and then on a fixed delay; both helpers are idempotent and
+ * serialised per table in the database, so concurrent runs from several nodes
+ * are harmless. Writes for a month without a partition land in the table's
+ * DEFAULT partition and are moved out once the month is created; rows left
+ * there (dates outside the maintained window) are exported as
+ * partitions.default.rows and logged.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceService {
+
+    /**
+     * Tables partitioned by month in V16
+     */
+    public static final List<String> PARTITIONED_TABLES = List.of("sales", "payments", "audit_logs");
+
+    private final PartitionRepository partitionRepository;
+    private final AppProperties appProperties;
+    private final Map<String, AtomicLong> defaultPartitionRows = new ConcurrentHashMap<>();
+
+    public PartitionMaintenanceService(PartitionRepository partitionRepository, AppProperties appProperties,
+            MeterRegistry meterRegistry) {
+        this.partitionRepository = partitionRepository;
+        this.appProperties = appProperties;
+        for (String table : PARTITIONED_TABLES) {
+            AtomicLong rows = new AtomicLong();
+            defaultPartitionRows.put(table, rows);
+            Gauge.builder("partitions.default.rows", rows, AtomicLong::get)
+                    .tag("table", table).register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.partitioning.maintenance-interval-ms:21600000}")
+    public void maintainPartitions() {
+        AppProperties.Partitioning config = appProperties.getPartitioning();
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                int created = partitionRepository.ensureMonthlyPartitions(table, currentMonth,
+                        currentMonth.plusMonths(config.getMonthsAhead()));
+                if (created > 0) {
+                    log.info("Created {} monthly partitions for {}", created, table);
+                }
+
+                Integer retentionMonths = config.getArchiveAfterMonths().get(table);
+                if (retentionMonths != null && retentionMonths > 0) {
+                    int archived = partitionRepository.archiveMonthlyPartitions(table,
+                            currentMonth.minusMonths(retentionMonths));
+                    if (archived > 0) {
+                        log.info("Archived {} monthly partitions of {}", archived, table);
+                    }
+                }
+
+                long stray = partitionRepository.countDefaultPartitionRows(table);
+                defaultPartitionRows.get(table).set(stray);
+                if (stray > 0) {
+                    log.warn("{} rows of {} are outside every monthly partition (in {}_default)",
+                            stray, table, table);
+                }
+            } catch (Exception e) {
+                log.error("Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,572 @@
+package com.salepilot.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.ProductImportJobResponse;
+import com.salepilot.backend.dto.ProductImportRow;
+import com.salepilot.backend.entity.Product;
+import com.salepilot.backend.exception.BadRequestException;
+import com.salepilot.backend.exception.BusinessException;
+import com.salepilot.backend.exception.ConflictException;
+import com.salepilot.backend.exception.NotFoundException;
+import com.salepilot.backend.repository.ProductImportRepository;
+import com.salepilot.backend.repository.ProductRepository;
+import com.salepilot.backend.util.CsvReader;
+import com.salepilot.backend.util.RowReader;
+import com.salepilot.backend.util.XlsxReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bulk product import from CSV or XLSX.
+ *
+ * The upload is spooled to a temporary file and imported on the task
+ * executor, so the request returns immediately with a job ID to poll. Rows
+ * are streamed one at a time and processed in chunks of batch-size: each
+ * chunk is validated, deduplicated (within the file and against the store's
+ * SKUs and barcodes with one lookup query), has its category and supplier
+ * names resolved through a per-import cache and is upserted on
+ * (store_id, sku) in one JDBC batch and transaction. A failing chunk is
+ * reported against its rows and the import carries on. One import runs per
+ * store at a time.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private static final Map<String, String> COLUMN_ALIASES = Map.ofEntries(
+            Map.entry("name", "name"), Map.entry("product_name", "name"),
+            Map.entry("sku", "sku"),
+            Map.entry("barcode", "barcode"), Map.entry("upc", "barcode"), Map.entry("ean", "barcode"),
+            Map.entry("price", "price"), Map.entry("retail_price", "price"), Map.entry("selling_price", "price"),
+            Map.entry("cost_price", "cost_price"), Map.entry("cost", "cost_price"),
+            Map.entry("stock", "stock"), Map.entry("quantity", "stock"), Map.entry("qty", "stock"),
+            Map.entry("unit_of_measure", "unit_of_measure"), Map.entry("unit", "unit_of_measure"),
+            Map.entry("uom", "unit_of_measure"),
+            Map.entry("brand", "brand"),
+            Map.entry("description", "description"),
+            Map.entry("category", "category"),
+            Map.entry("supplier", "supplier"),
+            Map.entry("reorder_point", "reorder_point"));
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99"); // DECIMAL(10,2)
+    private static final BigDecimal MAX_STOCK = new BigDecimal("9999999.999"); // DECIMAL(10,3)
+
+    private final ProductRepository productRepository;
+    private final ProductImportRepository productImportRepository;
+    private final ProductLookupIndex productLookupIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final AppProperties.ProductImport config;
+
+    private final Cache<String, ImportJob> jobs;
+    private final Map<String, String> runningByStore = new ConcurrentHashMap<>();
+
+    public ProductImportService(ProductRepository productRepository,
+            ProductImportRepository productImportRepository,
+            ProductLookupIndex productLookupIndex,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            AppProperties appProperties) {
+        this.productRepository = productRepository;
+        this.productImportRepository = productImportRepository;
+        this.productLookupIndex = productLookupIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.config = appProperties.getProductImport();
+        // Jobs stay while they run and expire job-retention-seconds after finishing
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, ImportJob>() {
+                    @Override
+                    public long expireAfterCreate(String jobId, ImportJob job, long currentTime) {
+                        return job.finishedAt != null
+                                ? TimeUnit.SECONDS.toNanos(config.getJobRetentionSeconds())
+                                : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String jobId, ImportJob job, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(jobId, job, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String jobId, ImportJob job, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Upload format
+     */
+    public enum ImportFormat {
+        CSV,
+        XLSX
+    }
+
+    /**
+     * Accept an upload and start importing it in the background
+     *
+     * @param body   Uploaded file; the first row must be a header naming the columns
+     * @param format Upload format
+     * @return The queued job
+     */
+    public ProductImportJobResponse startImport(InputStream body, ImportFormat format) {
+        String storeId = TenantContext.getCurrentTenant();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), storeId);
+
+        String running = runningByStore.putIfAbsent(storeId, job.id);
+        if (running != null) {
+            throw new ConflictException("A product import is already running for this store (job " + running + ")");
+        }
+
+        Path file;
+        try {
+            file = Files.createTempFile("product-import-", format == ImportFormat.XLSX ? ".xlsx" : ".csv");
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            runningByStore.remove(storeId, job.id);
+            throw new BadRequestException("Could not read product import upload: " + e.getMessage());
+        }
+
+        jobs.put(job.id, job);
+        try {
+            taskExecutor.execute(() -> runImport(job, file, format));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            runningByStore.remove(storeId, job.id);
+            deleteQuietly(file);
+            throw new BusinessException("Server is busy, please retry the import shortly",
+                    HttpStatus.SERVICE_UNAVAILABLE, "SERVER_BUSY");
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * Get the progress of an import started by the current store
+     */
+    public ProductImportJobResponse getJob(String jobId) {
+        ImportJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.storeId.equals(TenantContext.getCurrentTenant())) {
+            throw new NotFoundException("Import job not found");
+        }
+        return job.toResponse();
+    }
+
+    private void runImport(ImportJob job, Path file, ImportFormat format) {
+        long start = System.nanoTime();
+        job.status = ProductImportJobResponse.JobStatus.RUNNING;
+        ImportContext context = new ImportContext(job);
+
+        try (RowReader reader = open(file, format)) {
+            Map<String, Integer> columns = readHeader(reader.next());
+            List<ProductImportRow> chunk = new ArrayList<>(config.getBatchSize());
+
+            List<String> cells;
+            int rowNumber = 1;
+            while ((cells = reader.next()) != null) {
+                rowNumber++;
+                if (cells.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                job.rowsRead.incrementAndGet();
+
+                ProductImportRow row = parseRow(cells, columns, rowNumber, context);
+                if (row != null) {
+                    chunk.add(row);
+                    if (chunk.size() == config.getBatchSize()) {
+                        processChunk(chunk, context);
+                        chunk.clear();
+                    }
+                }
+            }
+            processChunk(chunk, context);
+
+            job.finish(ProductImportJobResponse.JobStatus.COMPLETED, null);
+            log.info("Product import {} for store {} finished in {} ms: {} rows, {} inserted, {} updated, {} failed",
+                    job.id, job.storeId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    job.rowsRead.get(), job.inserted.get(), job.updated.get(), job.failed.get());
+        } catch (IOException | BadRequestException e) {
+            job.finish(ProductImportJobResponse.JobStatus.FAILED, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Product import {} for store {} failed", job.id, job.storeId, e);
+            job.finish(ProductImportJobResponse.JobStatus.FAILED, "Import failed: " + e.getMessage());
+        } finally {
+            jobs.put(job.id, job); // Starts the retention countdown
+            deleteQuietly(file);
+            runningByStore.remove(job.storeId, job.id);
+            productLookupIndex.invalidate(job.storeId);
+        }
+    }
+
+    private RowReader open(Path file, ImportFormat format) throws IOException {
+        if (format == ImportFormat.XLSX) {
+            return new XlsxReader(file.toFile());
+        }
+        return new CsvReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Map canonical column names to their position in the file
+     */
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new BadRequestException("The import file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String key = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT)
+                    .replaceAll("[\\s-]+", "_");
+            String column = COLUMN_ALIASES.get(key);
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new BadRequestException("The header row must contain at least 'name' and 'price' columns");
+        }
+        return columns;
+    }
+
+    /**
+     * Validate one row; invalid rows are reported and return null
+     */
+    private ProductImportRow parseRow(List<String> cells, Map<String, Integer> columns, int rowNumber,
+            ImportContext context) {
+        String sku = cell(cells, columns, "sku");
+        String name = cell(cells, columns, "name");
+        String barcode = cell(cells, columns, "barcode");
+
+        try {
+            if (name == null) {
+                throw new IllegalArgumentException("Name is required");
+            }
+            if (name.length() > 255) {
+                throw new IllegalArgumentException("Name is longer than 255 characters");
+            }
+            if (sku != null && sku.length() > 100) {
+                throw new IllegalArgumentException("SKU is longer than 100 characters");
+            }
+            if (barcode != null && barcode.length() > 100) {
+                throw new IllegalArgumentException("Barcode is longer than 100 characters");
+            }
+
+            BigDecimal price = decimal(cells, columns, "price", 2, MAX_PRICE);
+            if (price == null) {
+                throw new IllegalArgumentException("Price is required");
+            }
+            BigDecimal stock = decimal(cells, columns, "stock", 3, MAX_STOCK);
+
+            String reorderPoint = cell(cells, columns, "reorder_point");
+            String unit = cell(cells, columns, "unit_of_measure");
+
+            ProductImportRow row = ProductImportRow.builder()
+                    .rowNumber(rowNumber)
+                    .name(name)
+                    .sku(sku != null ? sku : generateSKU())
+                    .barcode(barcode)
+                    .description(cell(cells, columns, "description"))
+                    .brand(truncate(cell(cells, columns, "brand"), 255))
+                    .price(price)
+                    .costPrice(decimal(cells, columns, "cost_price", 2, MAX_PRICE))
+                    .stock(stock != null ? stock : BigDecimal.ZERO)
+                    .unitOfMeasure(unit != null ? Product.UnitOfMeasure.valueOf(unit.toUpperCase(Locale.ROOT)) : null)
+                    .reorderPoint(reorderPoint != null ? new BigDecimal(reorderPoint).intValueExact() : null)
+                    .categoryName(truncate(cell(cells, columns, "category"), 255))
+                    .supplierName(truncate(cell(cells, columns, "supplier"), 255))
+                    .build();
+
+            // Check both before recording either, so a rejected row does not block a later one
+            if (context.seenSkus.contains(row.getSku())) {
+                throw new IllegalArgumentException("Duplicate SKU in file");
+            }
+            if (barcode != null && context.seenBarcodes.contains(barcode)) {
+                throw new IllegalArgumentException("Duplicate barcode in file: " + barcode);
+            }
+            context.seenSkus.add(row.getSku());
+            if (barcode != null) {
+                context.seenBarcodes.add(barcode);
+            }
+            return row;
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            String message = e instanceof NumberFormatException || e instanceof ArithmeticException
+                    ? "Reorder point must be a whole number"
+                    : e.getMessage();
+            if (message != null && message.startsWith("No enum constant")) {
+                message = "Unit of measure must be one of UNIT, KG";
+            }
+            context.job.reject(rowNumber, sku, message);
+            return null;
+        }
+    }
+
+    /**
+     * Deduplicate a chunk against the store, resolve its categories and
+     * suppliers, then upsert it in one batch
+     */
+    private void processChunk(List<ProductImportRow> chunk, ImportContext context) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        ImportJob job = context.job;
+
+        try {
+            resolveNames(chunk, context);
+
+            int[] counts = transactionTemplate.execute(status -> {
+                Set<String> codes = new HashSet<>();
+                chunk.forEach(row -> {
+                    codes.add(row.getSku());
+                    if (row.getBarcode() != null) {
+                        codes.add(row.getBarcode());
+                    }
+                });
+
+                Set<String> existingSkus = new HashSet<>();
+                Map<String, String> barcodeOwners = new HashMap<>();
+                for (Object[] match : productRepository.findIdsByStoreIdAndCodes(job.storeId, codes)) {
+                    existingSkus.add((String) match[1]);
+                    if (match[2] != null) {
+                        barcodeOwners.put((String) match[2], (String) match[1]);
+                    }
+                }
+
+                List<ProductImportRow> accepted = new ArrayList<>(chunk.size());
+                int updates = 0;
+                for (ProductImportRow row : chunk) {
+                    String owner = row.getBarcode() != null ? barcodeOwners.get(row.getBarcode()) : null;
+                    if (owner != null && !owner.equals(row.getSku())) {
+                        job.reject(row.getRowNumber(), row.getSku(),
+                                "Barcode " + row.getBarcode() + " already belongs to SKU " + owner);
+                        continue;
+                    }
+                    if (existingSkus.contains(row.getSku())) {
+                        updates++;
+                    }
+                    accepted.add(row);
+                }
+
+                productImportRepository.upsertProducts(job.storeId, accepted);
+                return new int[] { accepted.size() - updates, updates };
+            });
+
+            job.inserted.addAndGet(counts[0]);
+            job.updated.addAndGet(counts[1]);
+        } catch (DataAccessException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Product import {} batch failed: {}", job.id, cause);
+            chunk.forEach(row -> job.reject(row.getRowNumber(), row.getSku(), "Batch failed: " + cause));
+        }
+    }
+
+    /**
+     * Resolve category and supplier names to IDs, creating missing ones.
+     * Runs in its own transaction so the per-import cache only ever holds
+     * committed IDs.
+     */
+    private void resolveNames(List<ProductImportRow> chunk, ImportContext context) {
+        Set<String> newCategories = new LinkedHashSet<>();
+        Set<String> newSuppliers = new LinkedHashSet<>();
+        for (ProductImportRow row : chunk) {
+            if (row.getCategoryName() != null && !context.categories.containsKey(key(row.getCategoryName()))) {
+                newCategories.add(row.getCategoryName());
+            }
+            if (row.getSupplierName() != null && !context.suppliers.containsKey(key(row.getSupplierName()))) {
+                newSuppliers.add(row.getSupplierName());
+            }
+        }
+
+        if (!newCategories.isEmpty() || !newSuppliers.isEmpty()) {
+            String storeId = context.job.storeId;
+            transactionTemplate.executeWithoutResult(status -> {
+                context.categories.putAll(resolve(newCategories,
+                        names -> productImportRepository.findCategoryIds(storeId, names),
+                        name -> productImportRepository.insertCategory(storeId, name)));
+                context.suppliers.putAll(resolve(newSuppliers,
+                        names -> productImportRepository.findSupplierIds(storeId, names),
+                        name -> productImportRepository.insertSupplier(storeId, name)));
+            });
+        }
+
+        for (ProductImportRow row : chunk) {
+            if (row.getCategoryName() != null) {
+                row.setCategoryId(context.categories.get(key(row.getCategoryName())));
+            }
+            if (row.getSupplierName() != null) {
+                row.setSupplierId(context.suppliers.get(key(row.getSupplierName())));
+            }
+        }
+    }
+
+    private Map<String, Long> resolve(Set<String> names,
+            Function<Set<String>, Map<String, Long>> finder, Function<String, Long> creator) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        names.forEach(name -> keys.add(key(name)));
+
+        Map<String, Long> ids = new HashMap<>(finder.apply(keys));
+        for (String name : names) {
+            ids.computeIfAbsent(key(name), k -> creator.apply(name));
+        }
+        return ids;
+    }
+
+    private String cell(List<String> cells, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private BigDecimal decimal(List<String> cells, Map<String, Integer> columns, String column, int scale,
+            BigDecimal max) {
+        String value = cell(cells, columns, column);
+        if (value == null) {
+            return null;
+        }
+        BigDecimal number;
+        try {
+            number = new BigDecimal(value.replace(",", "")).setScale(scale, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column.replace('_', ' ') + ": " + value);
+        }
+        if (number.signum() < 0 || number.compareTo(max) > 0) {
+            throw new IllegalArgumentException(column.replace('_', ' ') + " out of range: " + value);
+        }
+        return number;
+    }
+
+    private String truncate(String value, int length) {
+        return value != null && value.length() > length ? value.substring(0, length) : value;
+    }
+
+    private String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private String generateSKU() {
+        return "SKU-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * State shared by the chunks of one import
+     */
+    private static final class ImportContext {
+        private final ImportJob job;
+        private final Set<String> seenSkus = new HashSet<>();
+        private final Set<String> seenBarcodes = new HashSet<>();
+        private final Map<String, Long> categories = new HashMap<>(); // Lower-cased name -> ID
+        private final Map<String, Long> suppliers = new HashMap<>();
+
+        ImportContext(ImportJob job) {
+            this.job = job;
+        }
+    }
+
+    /**
+     * Live progress of one import, read by status requests while it runs
+     */
+    private final class ImportJob {
+        private final String id;
+        private final String storeId;
+        private final Instant createdAt = Instant.now();
+        private final AtomicInteger rowsRead = new AtomicInteger();
+        private final AtomicInteger inserted = new AtomicInteger();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final List<ProductImportJobResponse.RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ProductImportJobResponse.JobStatus status = ProductImportJobResponse.JobStatus.QUEUED;
+        private volatile String message;
+        private volatile Instant finishedAt;
+
+        ImportJob(String id, String storeId) {
+            this.id = id;
+            this.storeId = storeId;
+        }
+
+        void reject(int row, String sku, String reason) {
+            if (failed.incrementAndGet() <= config.getMaxReportedErrors()) {
+                errors.add(new ProductImportJobResponse.RowError(row, sku, reason));
+            }
+        }
+
+        void finish(ProductImportJobResponse.JobStatus finalStatus, String finalMessage) {
+            this.message = finalMessage;
+            this.finishedAt = Instant.now();
+            this.status = finalStatus;
+        }
+
+        ProductImportJobResponse toResponse() {
+            List<ProductImportJobResponse.RowError> snapshot;
+            synchronized (errors) {
+                snapshot = new ArrayList<>(errors);
+            }
+            return ProductImportJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .rowsRead(rowsRead.get())
+                    .inserted(inserted.get())
+                    .updated(updated.get())
+                    .failed(failed.get())
+                    .errors(snapshot)
+                    .errorsTruncated(failed.get() > snapshot.size())
+                    .message(message)
+                    .createdAt(createdAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
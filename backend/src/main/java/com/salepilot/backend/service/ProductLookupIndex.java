@@ -0,0 +1,181 @@
+package com.salepilot.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.ProductSnapshot;
+import com.salepilot.backend.event.ProductChangedEvent;
+import com.salepilot.backend.event.ProductStockChangedEvent;
+import com.salepilot.backend.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-memory barcode / SKU index for POS scanning.
+ *
+ * A store's active products are loaded on its first scan and then served
+ * from memory. Stores are evicted by total product count across stores
+ * (least recently used first) and reloaded after a TTL, which also bounds
+ * how long changes committed on other nodes take to show up. Local product
+ * and stock changes are applied as soon as they commit. Stock shown here is
+ * informational; checkout still applies stock atomically in the database.
+ */
+@Slf4j
+@Service
+public class ProductLookupIndex {
+
+    private final ProductRepository productRepository;
+    private final Cache<String, StoreIndex> stores;
+
+    public ProductLookupIndex(ProductRepository productRepository, AppProperties appProperties,
+            MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        AppProperties.Inventory config = appProperties.getInventory();
+        this.stores = Caffeine.newBuilder()
+                .maximumWeight(config.getLookupIndexMaxProducts())
+                .weigher((String storeId, StoreIndex index) -> Math.max(1, index.size()))
+                .expireAfterWrite(config.getLookupIndexTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, stores, "product.lookup.index");
+    }
+
+    /**
+     * Resolve a scanned code (barcode first, then SKU) within the current tenant
+     */
+    public Optional<ProductSnapshot> lookup(String code) {
+        return lookup(TenantContext.getCurrentTenant(), code);
+    }
+
+    /**
+     * Resolve a scanned code (barcode first, then SKU) within a store
+     */
+    public Optional<ProductSnapshot> lookup(String storeId, String code) {
+        if (storeId == null || code == null || code.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(stores.get(storeId, this::load).find(code.trim()));
+    }
+
+    /**
+     * Drop a store's index; it is reloaded on the next scan
+     */
+    public void invalidate(String storeId) {
+        stores.invalidate(storeId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        update(event.getStoreId(), index -> {
+            if (event.getSnapshot() != null) {
+                index.put(event.getSnapshot());
+            } else {
+                index.remove(event.getProductId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        if (event.getNewLevels() == null) {
+            invalidate(event.getStoreId());
+            return;
+        }
+        update(event.getStoreId(), index -> event.getNewLevels().forEach(index::updateStock));
+    }
+
+    /**
+     * Apply a committed change to a store's index if it is cached. Unlike
+     * getIfPresent, computeIfPresent waits for a load in flight and applies the
+     * change to its result, so a load that read the store just before the
+     * commit cannot miss it. Returning the index also re-weighs it.
+     */
+    private void update(String storeId, Consumer<StoreIndex> change) {
+        stores.asMap().computeIfPresent(storeId, (id, index) -> {
+            change.accept(index);
+            return index;
+        });
+    }
+
+    private StoreIndex load(String storeId) {
+        long start = System.nanoTime();
+        List<ProductSnapshot> products = productRepository.findSnapshotsByStoreId(storeId);
+        StoreIndex index = new StoreIndex(products.size());
+        products.forEach(index::put);
+        log.debug("Loaded scan index for store {} ({} products) in {} ms", storeId, products.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return index;
+    }
+
+    /**
+     * One store's codes. Writers replace whole snapshots under the index lock;
+     * readers go straight to the concurrent maps.
+     */
+    private static final class StoreIndex {
+
+        private final Map<Long, ProductSnapshot> byId;
+        private final Map<String, ProductSnapshot> byBarcode;
+        private final Map<String, ProductSnapshot> bySku;
+
+        StoreIndex(int expectedSize) {
+            this.byId = new ConcurrentHashMap<>(Math.max(16, expectedSize * 4 / 3));
+            this.byBarcode = new ConcurrentHashMap<>(Math.max(16, expectedSize * 4 / 3));
+            this.bySku = new ConcurrentHashMap<>(Math.max(16, expectedSize * 4 / 3));
+        }
+
+        int size() {
+            return byId.size();
+        }
+
+        ProductSnapshot find(String code) {
+            ProductSnapshot product = byBarcode.get(code);
+            return product != null ? product : bySku.get(code);
+        }
+
+        synchronized void put(ProductSnapshot product) {
+            removeCodes(byId.put(product.getId(), product));
+            if (product.getBarcode() != null && !product.getBarcode().isEmpty()) {
+                byBarcode.put(product.getBarcode(), product);
+            }
+            if (product.getSku() != null) {
+                bySku.put(product.getSku(), product);
+            }
+        }
+
+        synchronized void remove(Long productId) {
+            removeCodes(byId.remove(productId));
+        }
+
+        synchronized void updateStock(Long productId, BigDecimal stock) {
+            ProductSnapshot current = byId.get(productId);
+            if (current != null) {
+                put(current.toBuilder().stock(stock).build());
+            }
+        }
+
+        private void removeCodes(ProductSnapshot previous) {
+            if (previous == null) {
+                return;
+            }
+            if (previous.getBarcode() != null) {
+                byBarcode.remove(previous.getBarcode(), previous);
+            }
+            if (previous.getSku() != null) {
+                bySku.remove(previous.getSku(), previous);
+            }
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.salepilot.backend.service;
 
 import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.ProductSnapshot;
+import com.salepilot.backend.entity.InventoryMovement;
 import com.salepilot.backend.entity.Product;
+import com.salepilot.backend.event.ProductChangedEvent;
 import com.salepilot.backend.repository.ProductRepository;
+import com.salepilot.backend.util.SearchUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +30,8 @@ import java.util.UUID;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final InventoryMovementService inventoryMovementService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new product
@@ -34,7 +43,9 @@ public class ProductService {
         }
 
         // TenantAware entity will automatically set storeId via @PrePersist
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        publishChanged(saved);
+        return saved;
     }
 
     /**
@@ -43,24 +54,36 @@ public class ProductService {
     public Product updateProduct(Long id, Product productDetails) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        // Verify tenant ownership
-        if (!product.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to product");
-        }
+        // Stock edits replace the level this entity was loaded with; the version
+        // check on save rejects the edit if a sale moved stock in between, so
+        // the difference is exactly what the ledger must record
+        BigDecimal stockDelta = productDetails.getStock() != null
+                ? productDetails.getStock().subtract(product.getStock())
+                : BigDecimal.ZERO;
 
         // Update fields
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
         product.setPrice(productDetails.getPrice());
         product.setCostPrice(productDetails.getCostPrice());
-        product.setStock(productDetails.getStock());
+        if (productDetails.getStock() != null) {
+            product.setStock(productDetails.getStock());
+        }
         product.setCategory(productDetails.getCategory());
         product.setSupplier(productDetails.getSupplier());
 
-        return productRepository.save(product);
+        Product saved = productRepository.saveAndFlush(product);
+        if (stockDelta.signum() != 0) {
+            inventoryMovementService.recordMovements(InventoryMovement.MovementType.MANUAL_ADJUSTMENT, null,
+                    Collections.singletonMap(saved.getId(), stockDelta),
+                    Collections.singletonMap(saved.getId(), saved.getStock()),
+                    Collections.singletonMap(saved.getId(), saved.getCostPrice()));
+        }
+        publishChanged(saved);
+        return saved;
     }
 
     /**
@@ -69,10 +92,7 @@ public class ProductService {
     @Transactional(readOnly = true)
     public Optional<Product> getProductById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        Optional<Product> product = productRepository.findById(id);
-
-        // Verify tenant ownership
-        return product.filter(p -> p.getStoreId().equals(storeId));
+        return productRepository.findByIdAndStoreId(id, storeId);
     }
 
     /**
@@ -81,7 +101,17 @@ public class ProductService {
     @Transactional(readOnly = true)
     public Page<Product> searchProducts(String search, Pageable pageable) {
         String storeId = TenantContext.getCurrentTenant();
-        return productRepository.searchProducts(storeId, search, pageable);
+        String term = SearchUtils.normalize(search);
+        if (term.isEmpty()) {
+            return productRepository.findByStoreId(storeId, pageable);
+        }
+        // Results are ordered by relevance, not by the requested sort
+        Pageable page = SearchUtils.unsorted(pageable);
+        if (!SearchUtils.isTrigramSearchable(term)) {
+            return productRepository.searchProductsByPrefix(storeId, term, SearchUtils.prefixPattern(term), page);
+        }
+        return productRepository.searchProducts(storeId, term, SearchUtils.containsPattern(term),
+                SearchUtils.prefixPattern(term), page);
     }
 
     /**
@@ -126,17 +156,23 @@ public class ProductService {
     public void deleteProduct(Long id) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        // Verify tenant ownership
-        if (!product.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to product");
-        }
-
         // Soft delete by setting status to ARCHIVED
         product.setStatus(Product.ProductStatus.ARCHIVED);
         productRepository.save(product);
+        publishChanged(product);
+    }
+
+    /**
+     * Notify listeners (scan index) of a product change once it commits
+     */
+    private void publishChanged(Product product) {
+        ProductSnapshot snapshot = product.getStatus() == Product.ProductStatus.ACTIVE
+                ? ProductSnapshot.of(product)
+                : null;
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getStoreId(), product.getId(), snapshot));
     }
 
     /**
@@ -3,6 +3,8 @@ package com.salepilot.backend.service;
 import com.salepilot.backend.context.TenantContext;
 import com.salepilot.backend.dto.PurchaseOrderRequest;
 import com.salepilot.backend.entity.*;
+import com.salepilot.backend.event.DashboardMetricsChangedEvent;
+import com.salepilot.backend.event.ProductStockChangedEvent;
 import com.salepilot.backend.exception.BadRequestException;
 import com.salepilot.backend.exception.ConflictException;
 import com.salepilot.backend.exception.NotFoundException;
@@ -11,6 +13,7 @@ import com.salepilot.backend.repository.PurchaseOrderItemRepository;
 import com.salepilot.backend.repository.PurchaseOrderRepository;
 import com.salepilot.backend.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,6 +23,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.Year;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -37,6 +41,8 @@ public class PurchaseOrderService {
     private final PurchaseOrderItemRepository poItemRepository;
     private final SupplierRepository supplierRepository;
     private final ProductRepository productRepository;
+    private final InventoryMovementService inventoryMovementService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new purchase order
@@ -44,13 +50,9 @@ public class PurchaseOrderService {
     public PurchaseOrder createPO(PurchaseOrderRequest request) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Supplier supplier = supplierRepository.findById(request.getSupplierId())
+        Supplier supplier = supplierRepository.findByIdAndStoreId(request.getSupplierId(), storeId)
                 .orElseThrow(() -> new NotFoundException("Supplier not found"));
 
-        if (!supplier.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to supplier");
-        }
-
         PurchaseOrder po = PurchaseOrder.builder()
                 .poNumber(generatePONumber(storeId))
                 .supplier(supplier)
@@ -67,13 +69,9 @@ public class PurchaseOrderService {
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (PurchaseOrderRequest.PurchaseOrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
+            Product product = productRepository.findByIdAndStoreId(itemRequest.getProductId(), storeId)
                     .orElseThrow(() -> new NotFoundException("Product not found: " + itemRequest.getProductId()));
 
-            if (!product.getStoreId().equals(storeId)) {
-                throw new SecurityException("Unauthorized access to product");
-            }
-
             PurchaseOrderItem item = PurchaseOrderItem.builder()
                     .product(product)
                     .productName(product.getName())
@@ -141,6 +139,8 @@ public class PurchaseOrderService {
         List<PurchaseOrderItem> items = poItemRepository.findByPurchaseOrder_Id(id);
         boolean fullyReceived = true;
         boolean anyReceived = false;
+        Map<Long, BigDecimal> receivedQuantities = new HashMap<>();
+        Map<Long, BigDecimal> unitCosts = new HashMap<>();
 
         for (PurchaseOrderItem item : items) {
             BigDecimal quantityToReceive = receivedItems.get(item.getProduct().getId());
@@ -157,12 +157,9 @@ public class PurchaseOrderService {
                 item.setReceivedQuantity(newReceivedTotal);
                 poItemRepository.save(item);
 
-                // Update Product Stock
-                Product product = item.getProduct();
-                product.setStock(product.getStock().add(quantityToReceive));
-                // Update product cost price (Weighted Average Cost could be implemented here)
-                product.setCostPrice(item.getCostPrice()); // Simple override for now
-                productRepository.save(product);
+                Long productId = item.getProduct().getId();
+                receivedQuantities.merge(productId, quantityToReceive, BigDecimal::add);
+                unitCosts.put(productId, item.getCostPrice());
 
                 anyReceived = true;
             }
@@ -172,6 +169,24 @@ public class PurchaseOrderService {
             }
         }
 
+        // Update Product Stock in one statement (atomic stock = stock + qty, no entity round trip)
+        Map<Long, BigDecimal> newLevels = productRepository.adjustStock(po.getStoreId(), receivedQuantities, true);
+        for (Long productId : receivedQuantities.keySet()) {
+            if (!newLevels.containsKey(productId)) {
+                throw new NotFoundException("Product not found: " + productId);
+            }
+        }
+
+        // Update product cost price (Weighted Average Cost could be implemented here)
+        unitCosts.forEach((productId, costPrice) ->
+                productRepository.updateCostPrice(po.getStoreId(), productId, costPrice)); // Simple override for now
+
+        inventoryMovementService.recordMovements(InventoryMovement.MovementType.PURCHASE_RECEIPT,
+                po.getPoNumber(), receivedQuantities, newLevels, unitCosts);
+
+        eventPublisher.publishEvent(new DashboardMetricsChangedEvent(po.getStoreId(), "purchase_order"));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(po.getStoreId(), newLevels));
+
         if (fullyReceived) {
             po.setStatus(PurchaseOrder.POStatus.RECEIVED);
             po.setReceivedAt(Instant.now());
@@ -188,12 +203,8 @@ public class PurchaseOrderService {
     @Transactional(readOnly = true)
     public PurchaseOrder getPOById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        PurchaseOrder po = poRepository.findById(id)
+        PurchaseOrder po = poRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Purchase Order not found"));
-
-        if (!po.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to PO");
-        }
         return po;
     }
 
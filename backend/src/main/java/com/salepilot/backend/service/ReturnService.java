@@ -1,8 +1,11 @@
 package com.salepilot.backend.service;
 
+import com.salepilot.backend.context.Bulkhead;
 import com.salepilot.backend.context.TenantContext;
 import com.salepilot.backend.dto.ReturnRequest;
 import com.salepilot.backend.entity.*;
+import com.salepilot.backend.event.DashboardMetricsChangedEvent;
+import com.salepilot.backend.event.ProductStockChangedEvent;
 import com.salepilot.backend.exception.BadRequestException;
 import com.salepilot.backend.exception.NotFoundException;
 import com.salepilot.backend.repository.ProductRepository;
@@ -10,6 +13,7 @@ import com.salepilot.backend.repository.ReturnItemRepository;
 import com.salepilot.backend.repository.ReturnRepository;
 import com.salepilot.backend.repository.SaleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,8 +22,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for Return management.
@@ -35,20 +43,20 @@ public class ReturnService {
     private final SaleRepository saleRepository;
     private final ProductRepository productRepository;
     private final CustomerService customerService; // For store credit refunds
+    private final InventoryMovementService inventoryMovementService;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new return/refund
      */
+    @Bulkhead(Bulkhead.Lane.CHECKOUT)
     public Return createReturn(ReturnRequest request) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Sale originalSale = saleRepository.findById(request.getSaleId())
+        Sale originalSale = saleRepository.findByIdAndStoreId(request.getSaleId(), storeId)
                 .orElseThrow(() -> new NotFoundException("Original sale not found"));
 
-        if (!originalSale.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to sale");
-        }
-
         // Validate refund amount (cannot exceed sale total)
         // Note: Simple validation, real logic should check if already refunded
         if (request.getRefundAmount().compareTo(originalSale.getAmountPaid()) > 0) {
@@ -63,16 +71,19 @@ public class ReturnService {
                 .refundMethod(request.getRefundMethod())
                 .build();
 
-        // Process return items
+        // Process return items (products resolved in one store-scoped query)
+        Map<Long, Product> products = productRepository.findByStoreIdAndIdIn(storeId,
+                request.getItems().stream().map(ReturnRequest.ReturnItemRequest::getProductId).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         List<ReturnItem> items = new ArrayList<>();
+        Map<Long, BigDecimal> stockDeltas = new HashMap<>();
 
         for (ReturnRequest.ReturnItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product not found: " + itemRequest.getProductId()));
-
-            // Check product belongs to store
-            if (!product.getStoreId().equals(storeId)) {
-                throw new SecurityException("Unauthorized access to product");
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new NotFoundException("Product not found: " + itemRequest.getProductId());
             }
 
             ReturnItem item = ReturnItem.builder()
@@ -87,17 +98,21 @@ public class ReturnService {
 
             // Handle Stock Adjustment
             if (itemRequest.isAddToStock()) {
-                product.setStock(product.getStock().add(itemRequest.getQuantity()));
-                productRepository.save(product);
+                stockDeltas.merge(product.getId(), itemRequest.getQuantity(), BigDecimal::add);
             }
         }
 
         // Save Return
         Return savedReturn = returnRepository.save(returnRecord);
-        items.forEach(item -> {
-            item.setReturnRecord(savedReturn);
-            returnItemRepository.save(item);
-        });
+        items.forEach(item -> item.setReturnRecord(savedReturn));
+        returnItemRepository.saveAll(items);
+
+        // Restock atomically (stock = stock + qty), never read-modify-write
+        Map<Long, BigDecimal> newLevels = productRepository.adjustStock(storeId, stockDeltas, true);
+        Map<Long, BigDecimal> unitCosts = new HashMap<>();
+        stockDeltas.keySet().forEach(id -> unitCosts.put(id, products.get(id).getCostPrice()));
+        inventoryMovementService.recordMovements(InventoryMovement.MovementType.RETURN,
+                savedReturn.getReturnId(), stockDeltas, newLevels, unitCosts);
 
         // Update Sale Status
         // Simplistic logic: if refund > 0, mark partial or full
@@ -113,6 +128,12 @@ public class ReturnService {
             customerService.addStoreCredit(originalSale.getCustomer().getId(), request.getRefundAmount());
         }
 
+        // Rollups last, so their shared rows are locked only for the commit
+        salesRollupService.recordReturn(savedReturn, items);
+
+        eventPublisher.publishEvent(new DashboardMetricsChangedEvent(storeId, "return"));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(storeId, newLevels));
+
         return savedReturn;
     }
 
@@ -122,12 +143,8 @@ public class ReturnService {
     @Transactional(readOnly = true)
     public Return getReturnById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        Return returnRecord = returnRepository.findById(id)
+        Return returnRecord = returnRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Return not found"));
-
-        if (!returnRecord.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to return");
-        }
         return returnRecord;
     }
 
@@ -1,12 +1,22 @@
 package com.salepilot.backend.service;
 
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.Bulkhead;
 import com.salepilot.backend.context.TenantContext;
 import com.salepilot.backend.dto.SaleRequest;
+import com.salepilot.backend.dto.SaleSummaryResponse;
+import com.salepilot.backend.dto.response.CursorPageResponse;
 import com.salepilot.backend.entity.*;
+import com.salepilot.backend.event.DashboardMetricsChangedEvent;
+import com.salepilot.backend.event.ProductStockChangedEvent;
 import com.salepilot.backend.exception.BadRequestException;
+import com.salepilot.backend.exception.InsufficientStockException;
 import com.salepilot.backend.exception.NotFoundException;
 import com.salepilot.backend.repository.*;
+import com.salepilot.backend.util.CursorUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,8 +26,15 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for Sale and transaction management.
@@ -35,34 +52,34 @@ public class SaleService {
     private final CustomerRepository customerRepository;
     private final PaymentRepository paymentRepository;
     private final CustomerService customerService;
+    private final InventoryMovementService inventoryMovementService;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppProperties appProperties;
 
     /**
      * Create a new sale transaction
      */
+    @Bulkhead(Bulkhead.Lane.CHECKOUT)
     public Sale createSale(SaleRequest request) {
         String storeId = TenantContext.getCurrentTenant();
 
-        // 1. Process Sale Items & Calculate Totals
+        // 1. Load & lock every product in the basket in one query (ascending id
+        // order), then process sale items & calculate totals
+        Map<Long, Product> products = lockBasketProducts(storeId, request.getItems());
+
         List<SaleItem> saleItems = new ArrayList<>();
+        Map<Long, BigDecimal> stockDeltas = new HashMap<>();
+        Map<Long, BigDecimal> unitCosts = new HashMap<>();
         BigDecimal subtotal = BigDecimal.ZERO;
 
         for (SaleRequest.SaleItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new NotFoundException("Product not found: " + itemRequest.getProductId()));
-
-            if (!product.getStoreId().equals(storeId)) {
-                throw new SecurityException("Unauthorized access to product");
-            }
+            Product product = products.get(itemRequest.getProductId());
 
-            // Check stock (simplified check, handling backorders could be added)
-            // if (product.getStock().compareTo(itemRequest.getQuantity()) < 0) {
-            // throw new BadRequestException("Insufficient stock for product: " +
-            // product.getName());
-            // }
-
-            // Deduct stock
-            product.setStock(product.getStock().subtract(itemRequest.getQuantity()));
-            productRepository.save(product);
+            // Deduct stock (applied atomically once the sale is persisted; the
+            // no-negative guard is enforced there when backorders are disabled)
+            stockDeltas.merge(product.getId(), itemRequest.getQuantity().negate(), BigDecimal::add);
+            unitCosts.put(product.getId(), product.getCostPrice());
 
             SaleItem item = SaleItem.builder()
                     .product(product)
@@ -94,11 +111,8 @@ public class SaleService {
         // 4. Handle Customer & A/R
         Customer customer = null;
         if (request.getCustomerId() != null) {
-            customer = customerRepository.findById(request.getCustomerId())
+            customer = customerRepository.findByIdAndStoreId(request.getCustomerId(), storeId)
                     .orElseThrow(() -> new NotFoundException("Customer not found"));
-            if (!customer.getStoreId().equals(storeId)) {
-                throw new SecurityException("Auth error on customer");
-            }
         }
 
         BigDecimal amountPaid = request.getAmountPaid() != null ? request.getAmountPaid() : BigDecimal.ZERO;
@@ -140,11 +154,12 @@ public class SaleService {
 
         final Sale savedSale = saleRepository.save(sale);
 
-        // 6. Save Sale Items
-        saleItems.forEach(item -> {
-            item.setSale(savedSale);
-            saleItemRepository.save(item);
-        });
+        // 6. Save Sale Items & deduct stock (JDBC batches)
+        saleItems.forEach(item -> item.setSale(savedSale));
+        saleItemRepository.batchInsert(storeId, saleItems);
+        Map<Long, BigDecimal> newLevels = deductStock(storeId, products, stockDeltas);
+        inventoryMovementService.recordMovements(InventoryMovement.MovementType.SALE,
+                savedSale.getTransactionId(), stockDeltas, newLevels, unitCosts);
 
         // 7. Record Payment
         if (amountPaid.compareTo(BigDecimal.ZERO) > 0) {
@@ -159,6 +174,13 @@ public class SaleService {
             paymentRepository.save(payment);
         }
 
+        // 8. Fold into the daily rollups last: their rows are shared by every
+        // checkout of the store, so lock them only for the commit
+        salesRollupService.recordSale(savedSale, saleItems);
+
+        eventPublisher.publishEvent(new DashboardMetricsChangedEvent(storeId, "sale"));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(storeId, newLevels));
+
         return savedSale;
     }
 
@@ -168,12 +190,8 @@ public class SaleService {
     @Transactional(readOnly = true)
     public Sale getSaleById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        Sale sale = saleRepository.findById(id)
+        Sale sale = saleRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Sale not found"));
-
-        if (!sale.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to sale");
-        }
         return sale;
     }
 
@@ -198,6 +216,63 @@ public class SaleService {
         return saleItemRepository.findBySale_Id(saleId);
     }
 
+    /**
+     * Get sale summaries (no items / payments) for list views
+     */
+    @Transactional(readOnly = true)
+    public Page<SaleSummaryResponse> getSaleSummaries(Pageable pageable) {
+        String storeId = TenantContext.getCurrentTenant();
+        return saleRepository.findSummariesByStoreId(storeId, pageable);
+    }
+
+    /**
+     * Get a keyset page of sale summaries, newest first (no total count)
+     *
+     * @param cursor Continuation token from the previous page, or null
+     * @param size   Requested page size
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SaleSummaryResponse> getSaleSummaries(String cursor, Integer size) {
+        String storeId = TenantContext.getCurrentTenant();
+        CursorUtils.Position after = CursorUtils.decode(cursor);
+        int pageSize = CursorUtils.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<SaleSummaryResponse> rows = after == null
+                ? saleRepository.findSummariesByStoreIdKeyset(storeId, limit)
+                : saleRepository.findSummariesByStoreIdKeysetAfter(storeId, after.getTimestamp(), after.getId(),
+                        limit);
+        return CursorUtils.toCursorPage(rows, pageSize, SaleSummaryResponse::getTimestamp,
+                SaleSummaryResponse::getId);
+    }
+
+    /**
+     * Get items (products fetched) for a batch of sales in one query, keyed by
+     * sale ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<SaleItem>> getSaleItemsBySale(Collection<Long> saleIds) {
+        if (saleIds.isEmpty()) {
+            return Map.of();
+        }
+        String storeId = TenantContext.getCurrentTenant();
+        return saleItemRepository.findWithProductByStoreIdAndSaleIdIn(storeId, saleIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getSale().getId()));
+    }
+
+    /**
+     * Get payments for a batch of sales in one query, keyed by sale ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<Payment>> getPaymentsBySale(Collection<Long> saleIds) {
+        if (saleIds.isEmpty()) {
+            return Map.of();
+        }
+        String storeId = TenantContext.getCurrentTenant();
+        return paymentRepository.findByStoreIdAndSale_IdIn(storeId, saleIds).stream()
+                .collect(Collectors.groupingBy(payment -> payment.getSale().getId()));
+    }
+
     /**
      * Get payments for a sale
      */
@@ -212,6 +287,7 @@ public class SaleService {
     /**
      * Add payment to existing sale
      */
+    @Bulkhead(Bulkhead.Lane.CHECKOUT)
     public Payment addPayment(Long saleId, BigDecimal amount, String method, String reference) {
         Sale sale = getSaleById(saleId);
 
@@ -251,6 +327,50 @@ public class SaleService {
         return payment;
     }
 
+    /**
+     * Load and row-lock all products referenced by the basket, keyed by ID.
+     * Fails if any product is missing or belongs to another store.
+     */
+    private Map<Long, Product> lockBasketProducts(String storeId, List<SaleRequest.SaleItemRequest> items) {
+        Set<Long> productIds = items.stream()
+                .map(SaleRequest.SaleItemRequest::getProductId)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Map<Long, Product> products = productRepository.findAllByStoreIdAndIdInForUpdate(storeId, productIds)
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                throw new NotFoundException("Product not found: " + productId);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Apply basket stock deductions in one atomic statement, rejecting the sale
+     * if any product would oversell while negative stock is disallowed.
+     *
+     * @return Map of ProductID -> new stock level
+     */
+    private Map<Long, BigDecimal> deductStock(String storeId, Map<Long, Product> products,
+            Map<Long, BigDecimal> stockDeltas) {
+        boolean allowNegative = appProperties.getInventory().isAllowNegativeStock();
+        Map<Long, BigDecimal> newLevels = productRepository.adjustStock(storeId, stockDeltas, allowNegative);
+
+        for (Map.Entry<Long, BigDecimal> delta : stockDeltas.entrySet()) {
+            if (!newLevels.containsKey(delta.getKey())) {
+                // The entity's stock may predate the lock; report the level the guard saw
+                BigDecimal available = productRepository.findStockLevels(storeId, List.of(delta.getKey()))
+                        .getOrDefault(delta.getKey(), BigDecimal.ZERO);
+                throw new InsufficientStockException(products.get(delta.getKey()).getName(),
+                        delta.getValue().negate().doubleValue(), available.doubleValue());
+            }
+        }
+        return newLevels;
+    }
+
     private String generateTransactionId() {
         return "TRX-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 4).toUpperCase();
     }
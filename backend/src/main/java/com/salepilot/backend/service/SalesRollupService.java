@@ -0,0 +1,97 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.entity.DailyProductSalesRollup;
+import com.salepilot.backend.entity.Return;
+import com.salepilot.backend.entity.ReturnItem;
+import com.salepilot.backend.entity.Sale;
+import com.salepilot.backend.entity.SaleItem;
+import com.salepilot.backend.repository.DailyProductSalesRollupRepository;
+import com.salepilot.backend.repository.DailySalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service layer for the daily sales rollups.
+ * Folds each sale / return into daily_sales_rollup and
+ * daily_product_sales_rollup inside the caller's transaction, so dashboard
+ * reads never have to aggregate raw sales. The rollup rows are shared by every
+ * checkout of a store and day, so callers make this their last statement to
+ * hold those row locks only until commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SalesRollupService {
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final DailyProductSalesRollupRepository dailyProductSalesRollupRepository;
+    private final AppProperties appProperties;
+
+    /**
+     * Add a persisted sale and its items to the rollups
+     */
+    public void recordSale(Sale sale, List<SaleItem> items) {
+        LocalDate day = businessDay(sale.getTimestamp());
+
+        dailySalesRollupRepository.addSale(sale.getStoreId(), day, sale.getChannel(), sale.getTotal(),
+                sale.getDiscount(), sale.getTax());
+
+        Map<Long, DailyProductSalesRollup> deltas = new LinkedHashMap<>();
+        for (SaleItem item : items) {
+            DailyProductSalesRollup delta = deltas.computeIfAbsent(item.getProduct().getId(),
+                    productId -> emptyDelta(day, productId));
+            BigDecimal cost = item.getCostAtSale() != null ? item.getCostAtSale() : BigDecimal.ZERO;
+            delta.setQuantitySold(delta.getQuantitySold().add(item.getQuantity()));
+            delta.setRevenue(delta.getRevenue().add(item.getPriceAtSale().multiply(item.getQuantity())));
+            delta.setCost(delta.getCost().add(cost.multiply(item.getQuantity())));
+        }
+        dailyProductSalesRollupRepository.batchAdd(sale.getStoreId(), List.copyOf(deltas.values()));
+    }
+
+    /**
+     * Add a persisted return and its items to the rollups
+     */
+    public void recordReturn(Return returnRecord, List<ReturnItem> items) {
+        LocalDate day = businessDay(returnRecord.getTimestamp());
+
+        dailySalesRollupRepository.addReturn(returnRecord.getStoreId(), day,
+                returnRecord.getOriginalSale().getChannel(), returnRecord.getRefundAmount());
+
+        Map<Long, DailyProductSalesRollup> deltas = new LinkedHashMap<>();
+        for (ReturnItem item : items) {
+            DailyProductSalesRollup delta = deltas.computeIfAbsent(item.getProduct().getId(),
+                    productId -> emptyDelta(day, productId));
+            delta.setQuantityReturned(delta.getQuantityReturned().add(item.getQuantity()));
+        }
+        dailyProductSalesRollupRepository.batchAdd(returnRecord.getStoreId(), List.copyOf(deltas.values()));
+    }
+
+    /**
+     * Day a transaction is reported under, in app.business-time-zone (the
+     * zone V21 rebuilt the rollups with)
+     */
+    public LocalDate businessDay(Instant timestamp) {
+        return LocalDate.ofInstant(timestamp, ZoneId.of(appProperties.getBusinessTimeZone()));
+    }
+
+    private DailyProductSalesRollup emptyDelta(LocalDate day, Long productId) {
+        return DailyProductSalesRollup.builder()
+                .day(day)
+                .productId(productId)
+                .quantitySold(BigDecimal.ZERO)
+                .revenue(BigDecimal.ZERO)
+                .cost(BigDecimal.ZERO)
+                .quantityReturned(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.salepilot.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salepilot.backend.dto.StockTakeBulkCountResponse;
+import com.salepilot.backend.exception.BadRequestException;
+import com.salepilot.backend.util.CsvReader;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses and validates a stock count upload from a handheld scanner before
+ * anything touches the database, so a slow upload never holds a transaction
+ * or a bulkhead permit. Only valid lines are kept, as (line, code, count);
+ * invalid lines are counted and the first max-reported-failures of them are
+ * kept for the report.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockCountParser {
+
+    // Failed lines listed in the report; the rest are only counted
+    static final int MAX_REPORTED_FAILURES = 1000;
+
+    // Upper bound on lines in one upload, far above any store's catalogue
+    private static final int MAX_LINES = 200_000;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Upload format
+     */
+    public enum CountFormat {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * One valid line of an upload
+     */
+    public record CountLine(int line, String code, BigDecimal counted) {
+    }
+
+    /**
+     * Valid lines of an upload plus the failures found while parsing
+     */
+    @Getter
+    public static class ParsedCounts {
+        private final List<CountLine> lines = new ArrayList<>();
+        private final List<StockTakeBulkCountResponse.LineResult> failures = new ArrayList<>();
+        private int failed;
+
+        void fail(StockTakeBulkCountResponse.LineResult failure) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(failure);
+            }
+        }
+
+        public int getTotalLines() {
+            return lines.size() + failed;
+        }
+    }
+
+    /**
+     * Read a whole upload
+     *
+     * @param body   CSV ("code,count", optional header) or NDJSON ({"code": ..., "count": ...}) body
+     * @param format Body format
+     */
+    public ParsedCounts parse(Reader body, CountFormat format) {
+        ParsedCounts parsed = new ParsedCounts();
+        try {
+            if (format == CountFormat.NDJSON) {
+                parseNdjson(body, parsed);
+            } else {
+                parseCsv(body, parsed);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read stock count upload: " + e.getMessage());
+        }
+        return parsed;
+    }
+
+    private void parseCsv(Reader body, ParsedCounts parsed) throws IOException {
+        // Lines are numbered by CSV record; blank lines are skipped
+        try (CsvReader reader = new CsvReader(body)) {
+            List<String> row;
+            int lineNumber = 0;
+            while ((row = reader.next()) != null) {
+                lineNumber++;
+                String code = row.get(0);
+                String count = row.size() > 1 ? row.get(1) : null;
+                if (lineNumber == 1 && !isNumber(count)) {
+                    continue; // Header, whatever its column names
+                }
+                add(parsed, lineNumber, code, count);
+            }
+        }
+    }
+
+    private void parseNdjson(Reader body, ParsedCounts parsed) throws IOException {
+        try (BufferedReader reader = new BufferedReader(body)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    parsed.fail(invalid(lineNumber, null, "Malformed JSON"));
+                    continue;
+                }
+                add(parsed, lineNumber, firstText(node, "code", "barcode", "sku"),
+                        firstText(node, "count", "quantity"));
+            }
+        }
+    }
+
+    private void add(ParsedCounts parsed, int lineNumber, String code, String count) {
+        if (parsed.getTotalLines() >= MAX_LINES) {
+            throw new BadRequestException("Stock count upload exceeds " + MAX_LINES + " lines");
+        }
+        if (code == null || code.isEmpty() || count == null || count.isEmpty()) {
+            parsed.fail(invalid(lineNumber, code, "Both code and count are required"));
+            return;
+        }
+
+        BigDecimal counted;
+        try {
+            counted = new BigDecimal(count);
+        } catch (NumberFormatException e) {
+            parsed.fail(invalid(lineNumber, code, "Count is not a number: " + count));
+            return;
+        }
+        if (counted.signum() < 0) {
+            parsed.fail(invalid(lineNumber, code, "Count cannot be negative"));
+            return;
+        }
+        parsed.getLines().add(new CountLine(lineNumber, code, counted));
+    }
+
+    private StockTakeBulkCountResponse.LineResult invalid(int lineNumber, String code, String message) {
+        return StockTakeBulkCountResponse.LineResult.builder()
+                .line(lineNumber)
+                .code(code)
+                .status(StockTakeBulkCountResponse.LineStatus.INVALID)
+                .message(message)
+                .build();
+    }
+
+    private boolean isNumber(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        try {
+            new BigDecimal(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String firstText(JsonNode node, String... fields) {
+        for (String field : fields) {
+            JsonNode value = node.get(field);
+            if (value != null && !value.isNull()) {
+                return value.asText().trim();
+            }
+        }
+        return null;
+    }
+}
@@ -1,15 +1,21 @@
 package com.salepilot.backend.service;
 
+import com.salepilot.backend.context.Bulkhead;
 import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.StockTakeBulkCountResponse;
 import com.salepilot.backend.dto.StockTakeResponse;
+import com.salepilot.backend.dto.StockTakeVarianceDTO;
 import com.salepilot.backend.entity.*;
-import com.salepilot.backend.exception.BadRequestException;
+import com.salepilot.backend.event.DashboardMetricsChangedEvent;
+import com.salepilot.backend.event.ProductStockChangedEvent;
 import com.salepilot.backend.exception.ConflictException;
 import com.salepilot.backend.exception.NotFoundException;
 import com.salepilot.backend.repository.ProductRepository;
 import com.salepilot.backend.repository.StockTakeItemRepository;
 import com.salepilot.backend.repository.StockTakeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,25 +23,39 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service layer for Stock Take / Inventory Counting.
  * Handles starting sessions, recording counts, and finalizing adjustments.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class StockTakeService {
 
+    // Scanned lines resolved and applied per round trip during bulk ingestion
+    private static final int COUNT_CHUNK_SIZE = 1000;
+
     private final StockTakeRepository stockTakeRepository;
     private final StockTakeItemRepository stockTakeItemRepository;
     private final ProductRepository productRepository;
+    private final AccountingService accountingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Start a new stock take session
      * Snapshots current stock levels as "Expected"
      */
+    @Bulkhead(Bulkhead.Lane.REPORTING)
     public StockTake startStockTake() {
         String storeId = TenantContext.getCurrentTenant();
 
@@ -51,24 +71,9 @@ public class StockTakeService {
 
         StockTake savedStockTake = stockTakeRepository.save(stockTake);
 
-        // Snapshot all active products (simplified: fetch all pageable or list)
-        // Note: For large inventory, this should be batched or async
-        List<Product> products = productRepository.findAll(); // Optimization needed for large DB
-
-        for (Product product : products) {
-            // Filter by current store (redundant if repo is filtered, but safe)
-            if (product.getStoreId().equals(storeId) && product.getStatus() == Product.ProductStatus.ACTIVE) {
-                StockTakeItem item = StockTakeItem.builder()
-                        .stockTake(savedStockTake)
-                        .product(product)
-                        .name(product.getName())
-                        .sku(product.getSku())
-                        .expected(product.getStock())
-                        .counted(null) // Not counted yet
-                        .build();
-                stockTakeItemRepository.save(item);
-            }
-        }
+        // Snapshot all active products of this store server-side in one statement
+        int itemCount = stockTakeItemRepository.snapshotActiveProducts(storeId, savedStockTake.getId());
+        log.debug("Stock take {} started with {} items", savedStockTake.getId(), itemCount);
 
         return savedStockTake;
     }
@@ -97,23 +102,121 @@ public class StockTakeService {
     }
 
     /**
-     * Finalize stock take and apply adjustments
+     * Apply counted quantities parsed from a scanner upload. Every chunk of
+     * lines is resolved from barcode/SKU to product in one query and applied
+     * in one JDBC batch; parsing happens beforehand in {@link StockCountParser}
+     * so the transaction only covers the writes.
+     *
+     * @param parsed Valid lines and parse failures of the upload
+     * @return Counts plus the failed lines (at most max-reported-failures of them)
      */
-    public StockTake finalizeStockTake() {
+    @Bulkhead(Bulkhead.Lane.REPORTING)
+    public StockTakeBulkCountResponse bulkUpdateItemCounts(StockCountParser.ParsedCounts parsed) {
+        String storeId = TenantContext.getCurrentTenant();
         StockTake activeSession = getActiveStockTake();
-        List<StockTakeItem> items = stockTakeItemRepository.findByStockTake_Id(activeSession.getId());
 
-        for (StockTakeItem item : items) {
-            // If counted is set, update actual inventory
-            if (item.getCounted() != null && !item.getCounted().equals(item.getExpected())) {
-                Product product = item.getProduct();
-                product.setStock(item.getCounted());
-                productRepository.save(product);
+        List<StockTakeBulkCountResponse.LineResult> failures = new ArrayList<>(parsed.getFailures());
+        int failed = parsed.getFailed();
+        List<StockCountParser.CountLine> lines = parsed.getLines();
+        for (int from = 0; from < lines.size(); from += COUNT_CHUNK_SIZE) {
+            List<StockCountParser.CountLine> chunk =
+                    lines.subList(from, Math.min(from + COUNT_CHUNK_SIZE, lines.size()));
+            for (StockTakeBulkCountResponse.LineResult failure : applyCounts(storeId, activeSession.getId(), chunk)) {
+                failed++;
+                if (failures.size() < StockCountParser.MAX_REPORTED_FAILURES) {
+                    failures.add(failure);
+                }
+            }
+        }
+        failures.sort(Comparator.comparingInt(StockTakeBulkCountResponse.LineResult::getLine));
+
+        return StockTakeBulkCountResponse.builder()
+                .totalLines(parsed.getTotalLines())
+                .applied(parsed.getTotalLines() - failed)
+                .failed(failed)
+                .results(failures)
+                .resultsTruncated(failed > failures.size())
+                .build();
+    }
+
+    /**
+     * Resolve a chunk of lines to products and apply their counts
+     *
+     * @return Lines that could not be applied
+     */
+    private List<StockTakeBulkCountResponse.LineResult> applyCounts(String storeId, Long stockTakeId,
+            List<StockCountParser.CountLine> chunk) {
+        Set<String> codes = new LinkedHashSet<>();
+        chunk.forEach(line -> codes.add(line.code()));
+
+        // Barcode matches take precedence over SKU matches
+        Map<String, Long> byBarcode = new HashMap<>();
+        Map<String, Long> bySku = new HashMap<>();
+        for (Object[] row : productRepository.findIdsByStoreIdAndCodes(storeId, codes)) {
+            Long productId = (Long) row[0];
+            bySku.put((String) row[1], productId);
+            if (row[2] != null) {
+                byBarcode.put((String) row[2], productId);
+            }
+        }
 
-                // TODO: Generate Inventory Adjustment record (for history/accounting)
+        List<StockTakeBulkCountResponse.LineResult> failures = new ArrayList<>();
+        List<StockCountParser.CountLine> resolved = new ArrayList<>();
+        List<Map.Entry<Long, BigDecimal>> counts = new ArrayList<>();
+        for (StockCountParser.CountLine line : chunk) {
+            Long productId = byBarcode.getOrDefault(line.code(), bySku.get(line.code()));
+            if (productId == null) {
+                failures.add(failure(line, null, StockTakeBulkCountResponse.LineStatus.PRODUCT_NOT_FOUND,
+                        "No product with barcode or SKU '" + line.code() + "'"));
+                continue;
             }
+            resolved.add(line);
+            counts.add(new AbstractMap.SimpleEntry<>(productId, line.counted()));
         }
 
+        int[] updated = stockTakeItemRepository.batchUpdateCounts(stockTakeId, counts);
+        for (int i = 0; i < resolved.size(); i++) {
+            if (updated[i] == 0) {
+                failures.add(failure(resolved.get(i), counts.get(i).getKey(),
+                        StockTakeBulkCountResponse.LineStatus.NOT_IN_STOCK_TAKE,
+                        "Product not found in active stock take"));
+            }
+        }
+        return failures;
+    }
+
+    private StockTakeBulkCountResponse.LineResult failure(StockCountParser.CountLine line, Long productId,
+            StockTakeBulkCountResponse.LineStatus status, String message) {
+        return StockTakeBulkCountResponse.LineResult.builder()
+                .line(line.line())
+                .code(line.code())
+                .productId(productId)
+                .counted(line.counted())
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Finalize stock take and apply adjustments
+     */
+    @Bulkhead(Bulkhead.Lane.REPORTING)
+    public StockTake finalizeStockTake() {
+        StockTake activeSession = getActiveStockTake();
+
+        // Apply the count variance (counted - expected) to stock and append the
+        // ledger rows set-based, rather than overwriting stock item by item, so
+        // sales made while counting are not lost
+        StockTakeVarianceDTO variance = stockTakeItemRepository.applyVariances(
+                activeSession.getStoreId(), activeSession.getId());
+        log.debug("Stock take {} adjusted {} products (gain {}, loss {})", activeSession.getId(),
+                variance.getItemsAdjusted(), variance.getGainValue(), variance.getLossValue());
+
+        accountingService.postInventoryAdjustment(activeSession.getIdAsString(), variance.getNetValue());
+
+        eventPublisher.publishEvent(new DashboardMetricsChangedEvent(activeSession.getStoreId(), "stock_take"));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(activeSession.getStoreId(), null));
+
         activeSession.complete();
         return stockTakeRepository.save(activeSession);
     }
@@ -124,13 +227,9 @@ public class StockTakeService {
     @Transactional(readOnly = true)
     public List<StockTakeItem> getStockTakeItems(Long stockTakeId) {
         String storeId = TenantContext.getCurrentTenant();
-        StockTake st = stockTakeRepository.findById(stockTakeId)
+        StockTake st = stockTakeRepository.findByIdAndStoreId(stockTakeId, storeId)
                 .orElseThrow(() -> new NotFoundException("Stock take not found"));
 
-        if (!st.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access");
-        }
-
         return stockTakeItemRepository.findByStockTake_Id(stockTakeId);
     }
 
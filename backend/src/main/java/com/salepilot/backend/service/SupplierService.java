@@ -5,6 +5,7 @@ import com.salepilot.backend.entity.Supplier;
 import com.salepilot.backend.exception.ConflictException;
 import com.salepilot.backend.exception.NotFoundException;
 import com.salepilot.backend.repository.SupplierRepository;
+import com.salepilot.backend.util.SearchUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -46,14 +47,9 @@ public class SupplierService {
     public Supplier updateSupplier(Long id, Supplier supplierDetails) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Supplier supplier = supplierRepository.findById(id)
+        Supplier supplier = supplierRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Supplier not found"));
 
-        // Verify tenant ownership
-        if (!supplier.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to supplier");
-        }
-
         // Check for name conflicts (excluding current supplier)
         Optional<Supplier> existing = supplierRepository.findByStoreIdAndName(storeId, supplierDetails.getName());
         if (existing.isPresent() && !existing.get().getId().equals(id)) {
@@ -79,10 +75,7 @@ public class SupplierService {
     @Transactional(readOnly = true)
     public Optional<Supplier> getSupplierById(Long id) {
         String storeId = TenantContext.getCurrentTenant();
-        Optional<Supplier> supplier = supplierRepository.findById(id);
-
-        // Verify tenant ownership
-        return supplier.filter(s -> s.getStoreId().equals(storeId));
+        return supplierRepository.findByIdAndStoreId(id, storeId);
     }
 
     /**
@@ -100,7 +93,17 @@ public class SupplierService {
     @Transactional(readOnly = true)
     public Page<Supplier> searchSuppliers(String search, Pageable pageable) {
         String storeId = TenantContext.getCurrentTenant();
-        return supplierRepository.searchSuppliers(storeId, search, pageable);
+        String term = SearchUtils.normalize(search);
+        if (term.isEmpty()) {
+            return supplierRepository.findByStoreId(storeId, pageable);
+        }
+        // Results are ordered by relevance, not by the requested sort
+        Pageable page = SearchUtils.unsorted(pageable);
+        if (!SearchUtils.isTrigramSearchable(term)) {
+            return supplierRepository.searchSuppliersByPrefix(storeId, SearchUtils.prefixPattern(term), page);
+        }
+        return supplierRepository.searchSuppliers(storeId, term, SearchUtils.containsPattern(term),
+                SearchUtils.prefixPattern(term), page);
     }
 
     /**
@@ -109,14 +112,9 @@ public class SupplierService {
     public void deleteSupplier(Long id) {
         String storeId = TenantContext.getCurrentTenant();
 
-        Supplier supplier = supplierRepository.findById(id)
+        Supplier supplier = supplierRepository.findByIdAndStoreId(id, storeId)
                 .orElseThrow(() -> new NotFoundException("Supplier not found"));
 
-        // Verify tenant ownership
-        if (!supplier.getStoreId().equals(storeId)) {
-            throw new SecurityException("Unauthorized access to supplier");
-        }
-
         // TODO: Check if supplier has active purchase orders or products
         // For now, we'll proceed with deletion
 
@@ -1,9 +1,11 @@
 package com.salepilot.backend.service;
 
 import com.salepilot.backend.entity.User;
+import com.salepilot.backend.event.UserSecurityChangedEvent;
 import com.salepilot.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,7 @@ public class VerificationService {
     private final UserRepository userRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Generate and send email verification token
@@ -127,7 +130,9 @@ public class VerificationService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setResetPasswordToken(null);
         user.setResetPasswordExpires(null);
+        user.bumpSecurityVersion(); // Existing sessions must log in again
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
 
         log.info("Password reset successfully for user: {}", user.getEmail());
         return true;
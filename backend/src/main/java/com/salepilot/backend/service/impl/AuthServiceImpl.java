@@ -11,7 +11,9 @@ import com.salepilot.backend.exception.ConflictException;
 import com.salepilot.backend.exception.UnauthorizedException;
 import com.salepilot.backend.repository.RoleRepository;
 import com.salepilot.backend.repository.UserRepository;
+import com.salepilot.backend.security.JwtClaims;
 import com.salepilot.backend.security.JwtTokenProvider;
+import com.salepilot.backend.security.TokenRevocationList;
 import com.salepilot.backend.security.UserPrincipal;
 import com.salepilot.backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,6 +43,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     @Transactional
@@ -88,8 +92,11 @@ public class AuthServiceImpl implements AuthService {
         return buildAuthResponse(savedUser, accessToken, refreshToken);
     }
 
+    /**
+     * Not transactional: BCrypt runs on the hashing pool and must not pin a
+     * pooled connection while it waits (roles are eagerly fetched).
+     */
     @Override
-    @Transactional(readOnly = true)
     public AuthResponse login(LoginRequest request) {
         log.info("User login attempt: {}", request.getUsernameOrEmail());
 
@@ -119,21 +126,29 @@ public class AuthServiceImpl implements AuthService {
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        // Validate refresh token
-        if (!tokenProvider.validateToken(refreshToken)) {
-            throw new UnauthorizedException("Invalid refresh token");
-        }
+        // Validate refresh token (signature & expiry verified once)
+        JwtClaims claims = tokenProvider.parseToken(refreshToken)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
 
         // Check if token is actually a refresh token
-        if (!tokenProvider.isRefreshToken(refreshToken)) {
+        if (!claims.isRefresh()) {
             throw new UnauthorizedException("Token is not a refresh token");
         }
 
+        // Refresh tokens of logged out sessions are on the denylist too
+        if (tokenRevocationList.isRevoked(claims.getJti())) {
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+
         // Get user from token
-        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(claims.getUserId())
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
 
+        // Reject refresh tokens issued before a password / role / status change
+        if (claims.getSecurityVersion() != user.getSecurityVersion()) {
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+
         // Generate new tokens
         UserPrincipal userPrincipal = UserPrincipal.create(user);
         String newAccessToken = tokenProvider.generateAccessToken(userPrincipal);
@@ -145,13 +160,27 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public void logout(String token) {
-        // In a stateless JWT implementation, logout is handled client-side
-        // For more advanced implementations, you could:
-        // - Add token to a blacklist in Redis
-        // - Invalidate refresh tokens in database
-        // - Clear any server-side session data
-        log.info("User logout");
+    public void logout(String token, String refreshToken) {
+        String jwt = token != null && token.startsWith(AppConstants.TOKEN_PREFIX)
+                ? token.substring(AppConstants.TOKEN_PREFIX.length())
+                : token;
+
+        // Deny the access token server-side until it would have expired
+        Optional<JwtClaims> access = tokenProvider.parseToken(jwt);
+        access.ifPresent(claims -> {
+            tokenRevocationList.revoke(claims.getJti(), claims.getUserId(), claims.getExpiresAt());
+            log.info("User logout: {}", claims.getUserId());
+        });
+
+        // And the refresh token, so the session cannot be renewed; only the
+        // caller's own refresh token is accepted
+        if (refreshToken != null && access.isPresent()) {
+            tokenProvider.parseToken(refreshToken)
+                    .filter(JwtClaims::isRefresh)
+                    .filter(claims -> claims.getUserId().equals(access.get().getUserId()))
+                    .ifPresent(claims -> tokenRevocationList.revoke(claims.getJti(), claims.getUserId(),
+                            claims.getExpiresAt()));
+        }
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.salepilot.backend.service.impl;
 
 import com.salepilot.backend.entity.User;
+import com.salepilot.backend.event.UserSecurityChangedEvent;
 import com.salepilot.backend.exception.ResourceNotFoundException;
 import com.salepilot.backend.repository.UserRepository;
 import com.salepilot.backend.service.UserService;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -97,7 +100,9 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
         user.softDelete();
+        user.bumpSecurityVersion();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(id));
     }
 
     @Override
@@ -0,0 +1,79 @@
+package com.salepilot.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over strings.
+ * {@link #mightContain} never returns a false negative; false positives occur
+ * at roughly the configured rate once the expected number of entries is
+ * reached. Entries cannot be removed - rebuild a new filter instead.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedEntries   Number of entries the filter is sized for
+     * @param falsePositiveRate Target false positive rate at that size
+     */
+    public BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(1, expectedEntries);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    /**
+     * Add an entry
+     */
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = bit >>> 6;
+            long mask = 1L << (bit & 63);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * False = definitely never added; true = possibly added
+     */
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a with a final avalanche mix
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
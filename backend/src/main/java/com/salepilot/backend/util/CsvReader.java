@@ -0,0 +1,76 @@
+package com.salepilot.backend.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: quoted fields may contain commas, doubled
+ * quotes and line breaks. Blank lines are skipped.
+ */
+public class CsvReader implements RowReader {
+
+    private final BufferedReader reader;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString().trim());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (row.isEmpty() && field.toString().isBlank()) {
+                    any = false;
+                    continue; // Blank line
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        row.add(field.toString().trim());
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.salepilot.backend.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV writer: a header line, then one line per row. Fields
+ * containing commas, quotes or line breaks are quoted. Text that a
+ * spreadsheet would evaluate as a formula (starting with =, +, -, @, tab or
+ * carriage return) is prefixed with a single quote; numbers are written as is.
+ */
+public class CsvWriter implements RowWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void columns(List<String> names) throws IOException {
+        writeLine(names.toArray());
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        writeLine(values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(format(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return neutralizeFormula(value.toString());
+    }
+
+    private static String neutralizeFormula(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        char first = text.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + text;
+        }
+        return text;
+    }
+}
@@ -0,0 +1,95 @@
+package com.salepilot.backend.util;
+
+import com.salepilot.backend.dto.response.CursorPageResponse;
+import com.salepilot.backend.exception.BadRequestException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utility class for keyset (seek) pagination over (timestamp, id) ordered
+ * rows, newest first.
+ */
+public final class CursorUtils {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private CursorUtils() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Clamp a requested page size to [1, MAX_PAGE_SIZE]
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Encode the position of the last returned row as an opaque token
+     */
+    public static String encode(Instant timestamp, Long id) {
+        String raw = timestamp.getEpochSecond() + "." + timestamp.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode}; null / blank means first page
+     */
+    public static Position decode(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(raw.substring(0, dot)),
+                    Long.parseLong(raw.substring(dot + 1, colon)));
+            return new Position(timestamp, Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code size + 1}; the extra
+     * row only signals that another page exists.
+     */
+    public static <T> CursorPageResponse<T> toCursorPage(List<T> rows, int size, Function<T, Instant> timestamp,
+            Function<T, Long> id) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = content.get(content.size() - 1);
+            nextCursor = encode(timestamp.apply(last), id.apply(last));
+        }
+
+        return CursorPageResponse.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Decoded cursor: the (timestamp, id) of the last row already returned
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Position {
+        private final Instant timestamp;
+        private final Long id;
+    }
+}
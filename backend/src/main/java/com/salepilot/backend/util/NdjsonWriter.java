@@ -0,0 +1,70 @@
+package com.salepilot.backend.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON writer: one object per row, keyed by column name.
+ */
+public class NdjsonWriter implements RowWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private String[] names;
+    private boolean written;
+
+    public NdjsonWriter(Writer writer) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(writer);
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    @Override
+    public void columns(List<String> names) {
+        this.names = names.toArray(new String[0]);
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(names[i]);
+            writeValue(values[i]);
+        }
+        generator.writeEndObject();
+        written = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (written) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Timestamp timestamp) {
+            generator.writeString(timestamp.toLocalDateTime().toString());
+        } else if (value instanceof java.sql.Date date) {
+            generator.writeString(date.toLocalDate().toString());
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.salepilot.backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Forward-only reader over the rows of an uploaded table (CSV, XLSX).
+ * Rows are produced one at a time so files are never materialised in memory.
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * Read the next row
+     *
+     * @return Cell values (missing cells are empty strings), or null at end of input
+     */
+    List<String> next() throws IOException;
+}
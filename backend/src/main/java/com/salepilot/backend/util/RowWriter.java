@@ -0,0 +1,22 @@
+package com.salepilot.backend.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Forward-only writer of tabular export rows (CSV, NDJSON).
+ * Rows are written as they arrive; nothing is buffered beyond the stream.
+ */
+public interface RowWriter extends Closeable {
+
+    /**
+     * Declare the column names; called once before the first row
+     */
+    void columns(List<String> names) throws IOException;
+
+    /**
+     * Write one row, values in column order (JDBC objects, may be null)
+     */
+    void row(Object[] values) throws IOException;
+}
@@ -0,0 +1,68 @@
+package com.salepilot.backend.util;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Locale;
+
+/**
+ * Helpers for the trigram-indexed search queries (see V17).
+ * Terms are matched against lower-cased search_text columns, so they are
+ * normalised the same way; LIKE wildcards typed by the user are escaped.
+ */
+public final class SearchUtils {
+
+    private SearchUtils() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Terms shorter than this cannot use trigram indexes and fall back to name prefix search
+     */
+    public static final int MIN_TRIGRAM_LENGTH = 3;
+
+    private static final int MAX_TERM_LENGTH = 100;
+
+    /**
+     * Trim, collapse whitespace, lower-case and cap the length of a search term
+     */
+    public static String normalize(String search) {
+        if (search == null) {
+            return "";
+        }
+        String term = search.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+
+    /**
+     * Check whether a normalised term is long enough for the trigram index
+     */
+    public static boolean isTrigramSearchable(String term) {
+        return term.length() >= MIN_TRIGRAM_LENGTH;
+    }
+
+    /**
+     * LIKE pattern matching the term anywhere
+     */
+    public static String containsPattern(String term) {
+        return "%" + escapeLike(term) + "%";
+    }
+
+    /**
+     * LIKE pattern matching values starting with the term
+     */
+    public static String prefixPattern(String term) {
+        return escapeLike(term) + "%";
+    }
+
+    /**
+     * Same page without sorting: search results are ordered by relevance
+     */
+    public static Pageable unsorted(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,59 @@
+package com.salepilot.backend.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Stored in the equivalent "theoretical arrival time" form (GCRA): a single
+ * timestamp that advances by one emission interval per token taken, so a
+ * consume is one compare-and-set with no separate refill step. The bucket is
+ * full whenever that timestamp lies in the past.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong theoreticalArrivalNanos;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long capacity;
+
+    /**
+     * @param tokensPerSecond Sustained refill rate
+     * @param capacity        Maximum number of tokens available in a burst
+     */
+    public TokenBucket(long tokensPerSecond, long capacity) {
+        this.emissionIntervalNanos = Math.max(1, 1_000_000_000L / Math.max(1, tokensPerSecond));
+        this.capacity = Math.max(1, capacity);
+        this.burstToleranceNanos = this.capacity * emissionIntervalNanos;
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take tokens if available
+     *
+     * @return 0 when the tokens were taken, otherwise the nanoseconds until
+     *         they will be
+     */
+    public long tryConsume(long tokens) {
+        long increment = Math.min(Math.max(1, tokens), capacity) * emissionIntervalNanos;
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrivalNanos.get();
+            long next = (current - now > 0 ? current : now) + increment;
+            long ahead = next - now;
+            if (ahead > burstToleranceNanos) {
+                return ahead - burstToleranceNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back tokens taken by {@link #tryConsume} whose request was then
+     * rejected elsewhere
+     */
+    public void refund(long tokens) {
+        theoreticalArrivalNanos.addAndGet(-Math.min(Math.max(1, tokens), capacity) * emissionIntervalNanos);
+    }
+}
@@ -0,0 +1,225 @@
+package com.salepilot.backend.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Streaming reader for the first worksheet of an .xlsx workbook.
+ *
+ * The sheet XML is pulled with StAX one row at a time; only the shared
+ * string table is held in memory. Numeric cells are returned in plain
+ * notation (so barcodes stored as numbers keep all their digits); formulas
+ * yield their cached value. DTDs and external entities are disabled.
+ */
+public class XlsxReader implements RowReader {
+
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String FIRST_SHEET = "xl/worksheets/sheet1.xml";
+
+    private final ZipFile zip;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private final List<String> sharedStrings;
+
+    public XlsxReader(File file) throws IOException {
+        this.zip = new ZipFile(file);
+        try {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+            this.sharedStrings = readSharedStrings(factory);
+            ZipEntry sheetEntry = findFirstSheet();
+            this.sheetStream = zip.getInputStream(sheetEntry);
+            this.sheet = factory.createXMLStreamReader(sheetStream);
+        } catch (XMLStreamException | RuntimeException e) {
+            zip.close();
+            throw new IOException("Not a readable .xlsx workbook: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed worksheet: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException ignored) {
+            // Closing the underlying stream below is what matters
+        }
+        sheetStream.close();
+        zip.close();
+    }
+
+    private List<String> readRow() throws XMLStreamException {
+        List<String> row = new ArrayList<>();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(sheet.getLocalName())) {
+                int column = columnIndex(sheet.getAttributeValue(null, "r"), row.size());
+                String type = sheet.getAttributeValue(null, "t");
+                String value = readCell(type);
+                while (row.size() < column) {
+                    row.add("");
+                }
+                row.add(value);
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                break;
+            }
+        }
+        return row;
+    }
+
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        boolean inValue = false;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = sheet.getLocalName();
+                inValue = "v".equals(name) || "t".equals(name);
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (inValue) {
+                    text.append(sheet.getText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("c".equals(sheet.getLocalName())) {
+                    break;
+                }
+                inValue = false;
+            }
+        }
+
+        String raw = text.toString();
+        if (raw.isEmpty()) {
+            return "";
+        }
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(raw.trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index).trim() : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(raw) ? "true" : "false";
+        }
+        if (type == null || "n".equals(type)) {
+            try {
+                return new BigDecimal(raw.trim()).stripTrailingZeros().toPlainString();
+            } catch (NumberFormatException e) {
+                return raw.trim();
+            }
+        }
+        return raw.trim(); // str, inlineStr, e
+    }
+
+    private List<String> readSharedStrings(XMLInputFactory factory) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry(SHARED_STRINGS);
+        if (entry == null) {
+            return strings;
+        }
+
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            StringBuilder current = null;
+            boolean inText = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        current = new StringBuilder();
+                    } else if ("rPh".equals(name)) {
+                        inText = false; // Phonetic hints are not part of the value
+                        skipElement(reader);
+                    } else {
+                        inText = "t".equals(name);
+                    }
+                } else if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)
+                        && inText && current != null) {
+                    current.append(reader.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("si".equals(reader.getLocalName()) && current != null) {
+                        strings.add(current.toString());
+                        current = null;
+                    }
+                    inText = false;
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private ZipEntry findFirstSheet() throws IOException {
+        ZipEntry entry = zip.getEntry(FIRST_SHEET);
+        if (entry != null) {
+            return entry;
+        }
+        ZipEntry first = null;
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry candidate = entries.nextElement();
+            String name = candidate.getName();
+            if (name.startsWith("xl/worksheets/sheet") && name.endsWith(".xml")
+                    && (first == null || name.compareTo(first.getName()) < 0)) {
+                first = candidate;
+            }
+        }
+        if (first == null) {
+            throw new IOException("Workbook has no worksheets");
+        }
+        return first;
+    }
+
+    /**
+     * Zero-based column of a cell reference such as "C12"; falls back to the
+     * next position when the reference is absent
+     */
+    private static int columnIndex(String reference, int fallback) {
+        if (reference == null) {
+            return fallback;
+        }
+        int column = 0;
+        int i = 0;
+        while (i < reference.length() && Character.isLetter(reference.charAt(i))) {
+            column = column * 26 + (Character.toUpperCase(reference.charAt(i)) - 'A' + 1);
+            i++;
+        }
+        return i == 0 ? fallback : column - 1;
+    }
+}
@@ -0,0 +1,54 @@
+-- V11__create_inventory_movement_tables.sql
+-- Append-only inventory movement ledger and per-product daily snapshots
+
+CREATE TABLE inventory_movements (
+    id BIGSERIAL PRIMARY KEY,
+    store_id VARCHAR(255) NOT NULL,
+    product_id BIGINT NOT NULL,
+    movement_type VARCHAR(30) NOT NULL,
+    quantity DECIMAL(10,3) NOT NULL,
+    balance_after DECIMAL(10,3),
+    unit_cost DECIMAL(10,2),
+    reference_id VARCHAR(255),
+    occurred_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+CREATE INDEX idx_inventory_movements_store_product_occurred ON inventory_movements(store_id, product_id, occurred_at);
+CREATE INDEX idx_inventory_movements_store_occurred ON inventory_movements(store_id, occurred_at);
+CREATE INDEX idx_inventory_movements_reference ON inventory_movements(store_id, movement_type, reference_id);
+
+CREATE TABLE inventory_daily_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    store_id VARCHAR(255) NOT NULL,
+    product_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    quantity_in DECIMAL(12,3) NOT NULL DEFAULT 0,
+    quantity_out DECIMAL(12,3) NOT NULL DEFAULT 0,
+    closing_balance DECIMAL(10,3),
+    movement_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+CREATE UNIQUE INDEX uidx_inventory_daily_snapshots_store_product_day ON inventory_daily_snapshots(store_id, product_id, day);
+
+-- Highest movement id already folded into inventory_daily_snapshots
+CREATE TABLE inventory_snapshot_watermark (
+    id SMALLINT PRIMARY KEY,
+    last_movement_id BIGINT NOT NULL,
+    compacted_at TIMESTAMP
+);
+
+INSERT INTO inventory_snapshot_watermark (id, last_movement_id) VALUES (1, 0);
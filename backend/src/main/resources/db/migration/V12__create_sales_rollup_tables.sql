@@ -0,0 +1,73 @@
+-- V12__create_sales_rollup_tables.sql
+-- Incrementally maintained daily sales rollups backing the dashboard
+
+CREATE TABLE daily_sales_rollup (
+    id BIGSERIAL PRIMARY KEY,
+    store_id VARCHAR(255) NOT NULL,
+    day DATE NOT NULL,
+    channel VARCHAR(20) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    gross_sales DECIMAL(14,2) NOT NULL DEFAULT 0,
+    discount_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    tax_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    return_count BIGINT NOT NULL DEFAULT 0,
+    refund_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE UNIQUE INDEX uidx_daily_sales_rollup_store_day_channel ON daily_sales_rollup(store_id, day, channel);
+
+CREATE TABLE daily_product_sales_rollup (
+    id BIGSERIAL PRIMARY KEY,
+    store_id VARCHAR(255) NOT NULL,
+    day DATE NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity_sold DECIMAL(14,3) NOT NULL DEFAULT 0,
+    revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+    cost DECIMAL(14,2) NOT NULL DEFAULT 0,
+    quantity_returned DECIMAL(14,3) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+CREATE UNIQUE INDEX uidx_daily_product_sales_rollup_store_day_product ON daily_product_sales_rollup(store_id, day, product_id);
+
+-- Backfill from existing history
+INSERT INTO daily_sales_rollup (store_id, day, channel, transaction_count, gross_sales, discount_total, tax_total)
+SELECT store_id, CAST(timestamp AS DATE), channel, COUNT(*), SUM(total), SUM(discount), SUM(tax)
+FROM sales
+GROUP BY store_id, CAST(timestamp AS DATE), channel;
+
+INSERT INTO daily_sales_rollup (store_id, day, channel, return_count, refund_total)
+SELECT r.store_id, CAST(r.timestamp AS DATE), s.channel, COUNT(*), SUM(r.refund_amount)
+FROM returns r
+JOIN sales s ON s.id = r.original_sale_id
+GROUP BY r.store_id, CAST(r.timestamp AS DATE), s.channel
+ON CONFLICT (store_id, day, channel) DO UPDATE SET
+    return_count = EXCLUDED.return_count,
+    refund_total = EXCLUDED.refund_total;
+
+INSERT INTO daily_product_sales_rollup (store_id, day, product_id, quantity_sold, revenue, cost)
+SELECT si.store_id, CAST(s.timestamp AS DATE), si.product_id, SUM(si.quantity),
+       SUM(si.quantity * si.price_at_sale), SUM(si.quantity * COALESCE(si.cost_at_sale, 0))
+FROM sale_items si
+JOIN sales s ON s.id = si.sale_id
+GROUP BY si.store_id, CAST(s.timestamp AS DATE), si.product_id;
+
+INSERT INTO daily_product_sales_rollup (store_id, day, product_id, quantity_returned)
+SELECT ri.store_id, CAST(r.timestamp AS DATE), ri.product_id, SUM(ri.quantity)
+FROM return_items ri
+JOIN returns r ON r.id = ri.return_id
+GROUP BY ri.store_id, CAST(r.timestamp AS DATE), ri.product_id
+ON CONFLICT (store_id, day, product_id) DO UPDATE SET
+    quantity_returned = EXCLUDED.quantity_returned;
@@ -0,0 +1,12 @@
+-- V13__add_keyset_pagination_indexes.sql
+-- (store_id, time, id) indexes so cursor pages seek straight to
+-- (time, id) < (:time, :id) instead of scanning past an OFFSET
+
+CREATE INDEX idx_sales_store_id_timestamp_id ON sales(store_id, timestamp DESC, id DESC);
+DROP INDEX IF EXISTS idx_sales_store_id_timestamp;
+
+CREATE INDEX idx_audit_logs_store_id_timestamp_id ON audit_logs(store_id, timestamp DESC, id DESC);
+DROP INDEX IF EXISTS idx_audit_logs_store_id_timestamp;
+
+CREATE INDEX idx_journal_entries_store_id_date_id ON journal_entries(store_id, date DESC, id DESC);
+DROP INDEX IF EXISTS idx_journal_entries_store_id_date;
@@ -0,0 +1,5 @@
+-- V14__add_user_security_version.sql
+-- Bumped on every security-relevant change (password, roles, disablement) so
+-- cached principals and previously issued access tokens can be invalidated
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,20 @@
+-- V15__create_revoked_tokens_table.sql
+-- Server-side JWT denylist (logout); rows are purged once the token expires
+
+CREATE TABLE revoked_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    jti VARCHAR(64) NOT NULL,
+    user_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE UNIQUE INDEX uidx_revoked_tokens_jti ON revoked_tokens(jti);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
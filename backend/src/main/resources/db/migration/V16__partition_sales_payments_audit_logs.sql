@@ -0,0 +1,286 @@
+-- V16__partition_sales_payments_audit_logs.sql
+-- Convert the append-mostly history tables to monthly range partitions:
+--   sales       by timestamp
+--   payments    by date
+--   audit_logs  by timestamp
+-- sale_items stays a plain table: it is read by sale_id, which a created_at
+-- partitioning could never prune.
+-- Primary / unique keys must contain the partition key, so they become
+-- (id, <key>) and (transaction_id|payment_id, <key>). Postgres cannot point a
+-- foreign key at part of such a key, so sale_keys / payment_keys (plain tables
+-- kept in step by triggers) keep transaction_id and payment_id globally unique
+-- and are what sale_items, payments and returns reference.
+-- Each partitioned table also gets a DEFAULT partition, so a write for a month
+-- whose partition does not exist yet (maintenance job behind) still succeeds;
+-- the rows are moved out when that month's partition is created.
+
+-- ---------------------------------------------------------------------------
+-- Partition management, also called by PartitionMaintenanceService
+-- ---------------------------------------------------------------------------
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Create the monthly partitions of parent covering [from_date, to_date].
+-- Every node runs the maintenance job, so callers are serialised per table.
+-- A new partition is built detached, filled with the rows of its month found
+-- in the default partition, and only then attached.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent TEXT, from_date DATE, to_date DATE)
+RETURNS INT AS $$
+DECLARE
+    parent_schema TEXT := current_schema();
+    default_name TEXT := parent || '_default';
+    key_column TEXT;
+    month_start DATE := date_trunc('month', from_date)::date;
+    month_end DATE;
+    partition_name TEXT;
+    moved BIGINT;
+    created INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_monthly_partitions:' || parent));
+
+    SELECT a.attname INTO key_column
+    FROM pg_partitioned_table pt
+    JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0]
+    WHERE pt.partrelid = format('%I.%I', parent_schema, parent)::regclass;
+
+    WHILE month_start <= to_date LOOP
+        month_end := (month_start + INTERVAL '1 month')::date;
+        partition_name := parent || '_p' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(format('%I.%I', parent_schema, partition_name)) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I.%I (LIKE %I.%I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                    parent_schema, partition_name, parent_schema, parent);
+
+            IF to_regclass(format('%I.%I', parent_schema, default_name)) IS NOT NULL THEN
+                -- Hold off writes to the default partition until the month is attached
+                EXECUTE format('LOCK TABLE %I.%I IN EXCLUSIVE MODE', parent_schema, default_name);
+                EXECUTE format('WITH moved AS (DELETE FROM %I.%I WHERE %I >= %L AND %I < %L RETURNING *) '
+                        || 'INSERT INTO %I.%I SELECT * FROM moved',
+                        parent_schema, default_name, key_column, month_start, key_column, month_end,
+                        parent_schema, partition_name);
+                GET DIAGNOSTICS moved = ROW_COUNT;
+                IF moved > 0 THEN
+                    RAISE WARNING 'Moved % rows of % from the default partition into %',
+                            moved, parent, partition_name;
+                END IF;
+            END IF;
+
+            EXECUTE format('ALTER TABLE %I.%I ATTACH PARTITION %I.%I FOR VALUES FROM (%L) TO (%L)',
+                    parent_schema, parent, parent_schema, partition_name, month_start, month_end);
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detach monthly partitions of parent that end on or before cutoff and move
+-- them to the archive schema (still queryable, no longer scanned or vacuumed
+-- as part of the live table). The default partition is never archived.
+CREATE OR REPLACE FUNCTION archive_monthly_partitions(parent TEXT, cutoff DATE)
+RETURNS INT AS $$
+DECLARE
+    parent_schema TEXT := current_schema();
+    part RECORD;
+    archived INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_monthly_partitions:' || parent));
+
+    FOR part IN
+        SELECT c.relname AS name
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = format('%I.%I', parent_schema, parent)::regclass
+          AND c.relname ~ ('^' || parent || '_p[0-9]{4}_[0-9]{2}$')
+        ORDER BY c.relname
+    LOOP
+        IF (to_date(right(part.name, 7), 'YYYY_MM') + INTERVAL '1 month')::date <= cutoff THEN
+            EXECUTE format('ALTER TABLE %I.%I DETACH PARTITION %I.%I',
+                    parent_schema, parent, parent_schema, part.name);
+            EXECUTE format('ALTER TABLE %I.%I SET SCHEMA archive', parent_schema, part.name);
+            archived := archived + 1;
+        END IF;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ---------------------------------------------------------------------------
+-- Foreign keys referencing sales (re-created against sale_keys below)
+-- ---------------------------------------------------------------------------
+
+ALTER TABLE sale_items DROP CONSTRAINT IF EXISTS sale_items_sale_id_fkey;
+ALTER TABLE payments DROP CONSTRAINT IF EXISTS payments_sale_id_fkey;
+ALTER TABLE returns DROP CONSTRAINT IF EXISTS returns_original_sale_id_fkey;
+
+-- ---------------------------------------------------------------------------
+-- sales
+-- ---------------------------------------------------------------------------
+
+ALTER TABLE sales RENAME TO sales_legacy;
+ALTER SEQUENCE sales_id_seq OWNED BY NONE;
+
+CREATE TABLE sales (LIKE sales_legacy INCLUDING DEFAULTS INCLUDING COMMENTS)
+    PARTITION BY RANGE (timestamp);
+ALTER SEQUENCE sales_id_seq OWNED BY sales.id;
+CREATE TABLE sales_default PARTITION OF sales DEFAULT;
+
+SELECT ensure_monthly_partitions('sales',
+        COALESCE((SELECT MIN(timestamp) FROM sales_legacy)::date, CURRENT_DATE),
+        GREATEST(COALESCE((SELECT MAX(timestamp) FROM sales_legacy)::date, CURRENT_DATE),
+                 (CURRENT_DATE + INTERVAL '3 months')::date));
+
+INSERT INTO sales SELECT * FROM sales_legacy;
+DROP TABLE sales_legacy;
+
+ALTER TABLE sales ADD PRIMARY KEY (id, timestamp);
+ALTER TABLE sales ADD CONSTRAINT uk_sales_transaction_id UNIQUE (transaction_id, timestamp);
+ALTER TABLE sales ADD CONSTRAINT fk_sales_customer FOREIGN KEY (customer_id) REFERENCES customers(id);
+
+-- Not copied by LIKE; V10 spelled the values in lower case, the application
+-- stores the enum names
+ALTER TABLE sales ADD CONSTRAINT chk_sales_fulfillment_status
+    CHECK (upper(fulfillment_status) IN ('PENDING', 'FULFILLED', 'SHIPPED', 'CANCELLED'));
+ALTER TABLE sales ADD CONSTRAINT chk_sales_channel
+    CHECK (upper(channel) IN ('POS', 'ONLINE'));
+
+CREATE INDEX idx_sales_store_id ON sales(store_id);
+CREATE INDEX idx_sales_store_id_timestamp_id ON sales(store_id, timestamp DESC, id DESC);
+CREATE INDEX idx_sales_fulfillment_status ON sales(fulfillment_status);
+CREATE INDEX idx_sales_channel ON sales(channel);
+CREATE INDEX idx_sales_customer_id ON sales(customer_id);
+
+-- ---------------------------------------------------------------------------
+-- sale_keys: sale id -> transaction id / partition key
+-- ---------------------------------------------------------------------------
+
+CREATE TABLE sale_keys (
+    sale_id BIGINT PRIMARY KEY,
+    transaction_id VARCHAR(100) NOT NULL,
+    sale_timestamp TIMESTAMP NOT NULL,
+    CONSTRAINT uk_sale_keys_transaction_id UNIQUE (transaction_id)
+);
+
+INSERT INTO sale_keys (sale_id, transaction_id, sale_timestamp)
+SELECT id, transaction_id, timestamp FROM sales;
+
+-- Upsert rather than insert: an update that changes the month moves the row
+-- between partitions, which Postgres runs as a delete plus an insert
+CREATE OR REPLACE FUNCTION maintain_sale_keys()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO sale_keys (sale_id, transaction_id, sale_timestamp)
+    VALUES (NEW.id, NEW.transaction_id, NEW.timestamp)
+    ON CONFLICT (sale_id) DO UPDATE
+        SET transaction_id = EXCLUDED.transaction_id,
+            sale_timestamp = EXCLUDED.sale_timestamp;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_sales_keys_insert
+    AFTER INSERT ON sales
+    FOR EACH ROW EXECUTE FUNCTION maintain_sale_keys();
+
+CREATE TRIGGER trg_sales_keys_update
+    AFTER UPDATE OF transaction_id, timestamp ON sales
+    FOR EACH ROW
+    WHEN (OLD.transaction_id IS DISTINCT FROM NEW.transaction_id
+          OR OLD.timestamp IS DISTINCT FROM NEW.timestamp)
+    EXECUTE FUNCTION maintain_sale_keys();
+
+-- ---------------------------------------------------------------------------
+-- payments
+-- ---------------------------------------------------------------------------
+
+ALTER TABLE payments RENAME TO payments_legacy;
+ALTER SEQUENCE payments_id_seq OWNED BY NONE;
+
+CREATE TABLE payments (LIKE payments_legacy INCLUDING DEFAULTS INCLUDING COMMENTS)
+    PARTITION BY RANGE (date);
+ALTER SEQUENCE payments_id_seq OWNED BY payments.id;
+CREATE TABLE payments_default PARTITION OF payments DEFAULT;
+
+SELECT ensure_monthly_partitions('payments',
+        COALESCE((SELECT MIN(date) FROM payments_legacy)::date, CURRENT_DATE),
+        GREATEST(COALESCE((SELECT MAX(date) FROM payments_legacy)::date, CURRENT_DATE),
+                 (CURRENT_DATE + INTERVAL '3 months')::date));
+
+INSERT INTO payments SELECT * FROM payments_legacy;
+DROP TABLE payments_legacy;
+
+ALTER TABLE payments ADD PRIMARY KEY (id, date);
+ALTER TABLE payments ADD CONSTRAINT uk_payments_payment_id UNIQUE (payment_id, date);
+
+CREATE INDEX idx_payments_store_id ON payments(store_id);
+CREATE INDEX idx_payments_store_id_date ON payments(store_id, date);
+CREATE INDEX idx_payments_sale_id ON payments(sale_id);
+
+-- payment_keys: payment row id -> payment id
+CREATE TABLE payment_keys (
+    payment_row_id BIGINT PRIMARY KEY,
+    payment_id VARCHAR(100) NOT NULL,
+    CONSTRAINT uk_payment_keys_payment_id UNIQUE (payment_id)
+);
+
+INSERT INTO payment_keys (payment_row_id, payment_id)
+SELECT id, payment_id FROM payments;
+
+CREATE OR REPLACE FUNCTION maintain_payment_keys()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO payment_keys (payment_row_id, payment_id)
+    VALUES (NEW.id, NEW.payment_id)
+    ON CONFLICT (payment_row_id) DO UPDATE
+        SET payment_id = EXCLUDED.payment_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_payments_keys_insert
+    AFTER INSERT ON payments
+    FOR EACH ROW EXECUTE FUNCTION maintain_payment_keys();
+
+CREATE TRIGGER trg_payments_keys_update
+    AFTER UPDATE OF payment_id ON payments
+    FOR EACH ROW
+    WHEN (OLD.payment_id IS DISTINCT FROM NEW.payment_id)
+    EXECUTE FUNCTION maintain_payment_keys();
+
+-- ---------------------------------------------------------------------------
+-- audit_logs
+-- ---------------------------------------------------------------------------
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER SEQUENCE audit_logs_id_seq OWNED BY NONE;
+
+CREATE TABLE audit_logs (LIKE audit_logs_legacy INCLUDING DEFAULTS INCLUDING COMMENTS)
+    PARTITION BY RANGE (timestamp);
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+SELECT ensure_monthly_partitions('audit_logs',
+        COALESCE((SELECT MIN(timestamp) FROM audit_logs_legacy)::date, CURRENT_DATE),
+        GREATEST(COALESCE((SELECT MAX(timestamp) FROM audit_logs_legacy)::date, CURRENT_DATE),
+                 (CURRENT_DATE + INTERVAL '3 months')::date));
+
+INSERT INTO audit_logs SELECT * FROM audit_logs_legacy;
+DROP TABLE audit_logs_legacy;
+
+ALTER TABLE audit_logs ADD PRIMARY KEY (id, timestamp);
+ALTER TABLE audit_logs ADD CONSTRAINT fk_audit_logs_user FOREIGN KEY (user_id) REFERENCES users(id);
+
+CREATE INDEX idx_audit_logs_store_id_timestamp_id ON audit_logs(store_id, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_logs_user_id ON audit_logs(user_id);
+CREATE INDEX idx_audit_logs_action ON audit_logs(action);
+
+-- ---------------------------------------------------------------------------
+-- Foreign keys referencing sales, through sale_keys
+-- ---------------------------------------------------------------------------
+
+ALTER TABLE sale_items ADD CONSTRAINT fk_sale_items_sale
+    FOREIGN KEY (sale_id) REFERENCES sale_keys(sale_id);
+ALTER TABLE payments ADD CONSTRAINT fk_payments_sale
+    FOREIGN KEY (sale_id) REFERENCES sale_keys(sale_id);
+ALTER TABLE returns ADD CONSTRAINT fk_returns_original_sale
+    FOREIGN KEY (original_sale_id) REFERENCES sale_keys(sale_id);
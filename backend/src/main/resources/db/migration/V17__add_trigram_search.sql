@@ -0,0 +1,35 @@
+-- V17__add_trigram_search.sql
+-- Indexed, relevance-ranked search for products, customers and suppliers.
+-- Each table gets a lower-cased generated search_text column covered by a
+-- (store_id, search_text) GIN trigram index, so '%term%' and fuzzy (<%)
+-- matches within a store are index scans. Terms shorter than a trigram use
+-- the name prefix indexes instead.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- Products: name, SKU, barcode, brand, description
+ALTER TABLE products ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+    lower(coalesce(name, '') || ' ' || coalesce(sku, '') || ' ' || coalesce(barcode, '') || ' ' ||
+          coalesce(brand, '') || ' ' || coalesce(description, ''))
+) STORED;
+
+CREATE INDEX idx_products_search_trgm ON products USING gin (store_id, search_text gin_trgm_ops);
+CREATE INDEX idx_products_store_id_name_prefix ON products (store_id, lower(name) text_pattern_ops);
+
+-- Customers: name, email, phone
+ALTER TABLE customers ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+    lower(coalesce(name, '') || ' ' || coalesce(email, '') || ' ' || coalesce(phone, ''))
+) STORED;
+
+CREATE INDEX idx_customers_search_trgm ON customers USING gin (store_id, search_text gin_trgm_ops);
+CREATE INDEX idx_customers_store_id_name_prefix ON customers (store_id, lower(name) text_pattern_ops);
+
+-- Suppliers: name, contact person, email, phone
+ALTER TABLE suppliers ADD COLUMN search_text TEXT GENERATED ALWAYS AS (
+    lower(coalesce(name, '') || ' ' || coalesce(contact_person, '') || ' ' || coalesce(email, '') || ' ' ||
+          coalesce(phone, ''))
+) STORED;
+
+CREATE INDEX idx_suppliers_search_trgm ON suppliers USING gin (store_id, search_text gin_trgm_ops);
+CREATE INDEX idx_suppliers_store_id_name_prefix ON suppliers (store_id, lower(name) text_pattern_ops);
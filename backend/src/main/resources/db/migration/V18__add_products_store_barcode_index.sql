@@ -0,0 +1,8 @@
+-- V18__add_products_store_barcode_index.sql
+-- Scan lookups are always within a store: key the barcode index by store_id.
+-- The single-column SKU index is covered by uidx_products_store_sku.
+
+CREATE INDEX idx_products_store_id_barcode ON products(store_id, barcode);
+
+DROP INDEX IF EXISTS idx_products_barcode;
+DROP INDEX IF EXISTS idx_products_sku;
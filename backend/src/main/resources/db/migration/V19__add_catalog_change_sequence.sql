@@ -0,0 +1,71 @@
+-- V19__add_catalog_change_sequence.sql
+-- Change sequence for delta catalogue sync (GET /api/v1/catalog/changes).
+-- Every insert or update of a product or category (including price and stock
+-- updates made with plain SQL) is stamped by trigger with the next value of a
+-- shared sequence, so within a store the sequence only ever increases.
+-- Hard deletes leave a tombstone carrying a sequence value of its own.
+
+CREATE SEQUENCE catalog_change_seq;
+
+CREATE OR REPLACE FUNCTION stamp_catalog_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('catalog_change_seq');
+    NEW.changed_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TABLE catalog_tombstones (
+    id BIGSERIAL PRIMARY KEY,
+    store_id VARCHAR(255) NOT NULL,
+    entity_type VARCHAR(20) NOT NULL, -- 'product' or 'category'
+    entity_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL DEFAULT nextval('catalog_change_seq'),
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX idx_catalog_tombstones_store_id_change_seq ON catalog_tombstones(store_id, change_seq);
+
+CREATE OR REPLACE FUNCTION record_catalog_tombstone()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO catalog_tombstones (store_id, entity_type, entity_id)
+    VALUES (OLD.store_id, TG_ARGV[0], OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Products
+ALTER TABLE products ADD COLUMN change_seq BIGINT;
+ALTER TABLE products ADD COLUMN changed_at TIMESTAMPTZ;
+UPDATE products SET change_seq = nextval('catalog_change_seq'), changed_at = NOW();
+ALTER TABLE products ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE products ALTER COLUMN changed_at SET NOT NULL;
+
+CREATE INDEX idx_products_store_id_change_seq ON products(store_id, change_seq);
+
+CREATE TRIGGER trg_products_catalog_change
+    BEFORE INSERT OR UPDATE ON products
+    FOR EACH ROW EXECUTE FUNCTION stamp_catalog_change();
+
+CREATE TRIGGER trg_products_catalog_tombstone
+    AFTER DELETE ON products
+    FOR EACH ROW EXECUTE FUNCTION record_catalog_tombstone('product');
+
+-- Categories
+ALTER TABLE categories ADD COLUMN change_seq BIGINT;
+ALTER TABLE categories ADD COLUMN changed_at TIMESTAMPTZ;
+UPDATE categories SET change_seq = nextval('catalog_change_seq'), changed_at = NOW();
+ALTER TABLE categories ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE categories ALTER COLUMN changed_at SET NOT NULL;
+
+CREATE INDEX idx_categories_store_id_change_seq ON categories(store_id, change_seq);
+
+CREATE TRIGGER trg_categories_catalog_change
+    BEFORE INSERT OR UPDATE ON categories
+    FOR EACH ROW EXECUTE FUNCTION stamp_catalog_change();
+
+CREATE TRIGGER trg_categories_catalog_tombstone
+    AFTER DELETE ON categories
+    FOR EACH ROW EXECUTE FUNCTION record_catalog_tombstone('category');
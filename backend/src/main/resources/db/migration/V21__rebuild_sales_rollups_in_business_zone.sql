@@ -0,0 +1,67 @@
+-- V21__rebuild_sales_rollups_in_business_zone.sql
+-- V12 backfilled the daily rollups by CAST(timestamp AS DATE), the UTC day,
+-- while the application bucketed new sales by the JVM's zone. Both now use
+-- app.business-time-zone (the business_time_zone placeholder); rebuild the
+-- rollups from history in that zone. Timestamps are stored as wall-clock time
+-- in the JDBC session zone (the JVM's), which is also this session's zone.
+-- If sales partitions have been archived, days up to and including the oldest
+-- live sale's day are left as they are, since their history is incomplete.
+-- Run with the application stopped: checkouts committed during the rebuild
+-- would be counted twice.
+
+CREATE TEMP TABLE rollup_rebuild (from_day DATE NOT NULL) ON COMMIT DROP;
+
+INSERT INTO rollup_rebuild (from_day)
+SELECT CASE
+    WHEN EXISTS (SELECT 1 FROM pg_class c
+                 JOIN pg_namespace n ON n.oid = c.relnamespace
+                 WHERE n.nspname = 'archive' AND c.relname ~ '^sales_p[0-9]{4}_[0-9]{2}$')
+    THEN COALESCE(((MIN(timestamp) AT TIME ZONE current_setting('TimeZone')) AT TIME ZONE '${business_time_zone}')::date + 1,
+                  '-infinity'::date)
+    ELSE '-infinity'::date
+END
+FROM sales;
+
+DELETE FROM daily_sales_rollup WHERE day >= (SELECT from_day FROM rollup_rebuild);
+DELETE FROM daily_product_sales_rollup WHERE day >= (SELECT from_day FROM rollup_rebuild);
+
+INSERT INTO daily_sales_rollup (store_id, day, channel, transaction_count, gross_sales, discount_total, tax_total)
+SELECT store_id, day, channel, COUNT(*), SUM(total), SUM(discount), SUM(tax)
+FROM (SELECT store_id, channel, total, discount, tax,
+             ((timestamp AT TIME ZONE current_setting('TimeZone')) AT TIME ZONE '${business_time_zone}')::date AS day
+      FROM sales) s
+WHERE day >= (SELECT from_day FROM rollup_rebuild)
+GROUP BY store_id, day, channel;
+
+INSERT INTO daily_sales_rollup (store_id, day, channel, return_count, refund_total)
+SELECT store_id, day, channel, COUNT(*), SUM(refund_amount)
+FROM (SELECT r.store_id, s.channel, r.refund_amount,
+             ((r.timestamp AT TIME ZONE current_setting('TimeZone')) AT TIME ZONE '${business_time_zone}')::date AS day
+      FROM returns r
+      JOIN sales s ON s.id = r.original_sale_id) r
+WHERE day >= (SELECT from_day FROM rollup_rebuild)
+GROUP BY store_id, day, channel
+ON CONFLICT (store_id, day, channel) DO UPDATE SET
+    return_count = EXCLUDED.return_count,
+    refund_total = EXCLUDED.refund_total;
+
+INSERT INTO daily_product_sales_rollup (store_id, day, product_id, quantity_sold, revenue, cost)
+SELECT store_id, day, product_id, SUM(quantity), SUM(quantity * price_at_sale),
+       SUM(quantity * COALESCE(cost_at_sale, 0))
+FROM (SELECT si.store_id, si.product_id, si.quantity, si.price_at_sale, si.cost_at_sale,
+             ((s.timestamp AT TIME ZONE current_setting('TimeZone')) AT TIME ZONE '${business_time_zone}')::date AS day
+      FROM sale_items si
+      JOIN sales s ON s.id = si.sale_id) si
+WHERE day >= (SELECT from_day FROM rollup_rebuild)
+GROUP BY store_id, day, product_id;
+
+INSERT INTO daily_product_sales_rollup (store_id, day, product_id, quantity_returned)
+SELECT store_id, day, product_id, SUM(quantity)
+FROM (SELECT ri.store_id, ri.product_id, ri.quantity,
+             ((r.timestamp AT TIME ZONE current_setting('TimeZone')) AT TIME ZONE '${business_time_zone}')::date AS day
+      FROM return_items ri
+      JOIN returns r ON r.id = ri.return_id) ri
+WHERE day >= (SELECT from_day FROM rollup_rebuild)
+GROUP BY store_id, day, product_id
+ON CONFLICT (store_id, day, product_id) DO UPDATE SET
+    quantity_returned = EXCLUDED.quantity_returned;
@@ -0,0 +1,21 @@
+-- V22__add_inventory_movement_xid.sql
+-- Compaction took every movement with an id below the newest one older than a
+-- fixed settle time, so a movement written early in a transaction that
+-- committed later than that kept its low id and was never compacted.
+-- Movements now record the transaction that wrote them, and compaction folds
+-- everything written by transactions older than the oldest one still running
+-- (pg_snapshot_xmin): no such movement can appear afterwards.
+
+ALTER TABLE inventory_movements ADD COLUMN xid xid8;
+ALTER TABLE inventory_movements ALTER COLUMN xid SET DEFAULT pg_current_xact_id();
+
+-- Movements the old watermark had not reached yet are picked up by the next run;
+-- already compacted ones keep a NULL xid and are never read again
+UPDATE inventory_movements SET xid = pg_current_xact_id()
+WHERE id > (SELECT last_movement_id FROM inventory_snapshot_watermark WHERE id = 1);
+
+CREATE INDEX idx_inventory_movements_xid ON inventory_movements(xid);
+
+-- Lowest transaction id not yet folded into inventory_daily_snapshots
+ALTER TABLE inventory_snapshot_watermark ADD COLUMN last_xid xid8 NOT NULL DEFAULT '0';
+ALTER TABLE inventory_snapshot_watermark DROP COLUMN last_movement_id;
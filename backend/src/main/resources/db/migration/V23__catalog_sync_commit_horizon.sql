@@ -0,0 +1,51 @@
+-- V23__catalog_sync_commit_horizon.sql
+-- Catalogue sync cursors used to stop short of changes younger than a settle
+-- window, trusting that every transaction holding a lower change_seq had
+-- committed by then. A longer transaction could still commit below the cursor
+-- and never be sent. Changes now also record the transaction that wrote them
+-- and are read in (change_xid, change_seq) order, only below the oldest
+-- transaction still running (pg_snapshot_xmin). Nothing can commit behind a
+-- cursor taken that way.
+-- Tombstones are purged after a retention period; the highest purged position
+-- is kept so that older cursors can be told to resync from scratch.
+
+CREATE OR REPLACE FUNCTION stamp_catalog_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := nextval('catalog_change_seq');
+    NEW.change_xid := pg_current_xact_id();
+    NEW.changed_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Existing rows all get this migration's transaction id
+ALTER TABLE products ADD COLUMN change_xid xid8;
+UPDATE products SET change_xid = pg_current_xact_id();
+ALTER TABLE products ALTER COLUMN change_xid SET NOT NULL;
+DROP INDEX idx_products_store_id_change_seq;
+CREATE INDEX idx_products_store_id_change_xid_seq ON products(store_id, change_xid, change_seq);
+
+ALTER TABLE categories ADD COLUMN change_xid xid8;
+UPDATE categories SET change_xid = pg_current_xact_id();
+ALTER TABLE categories ALTER COLUMN change_xid SET NOT NULL;
+DROP INDEX idx_categories_store_id_change_seq;
+CREATE INDEX idx_categories_store_id_change_xid_seq ON categories(store_id, change_xid, change_seq);
+
+ALTER TABLE catalog_tombstones ADD COLUMN change_xid xid8;
+UPDATE catalog_tombstones SET change_xid = pg_current_xact_id();
+ALTER TABLE catalog_tombstones ALTER COLUMN change_xid SET NOT NULL;
+ALTER TABLE catalog_tombstones ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+DROP INDEX idx_catalog_tombstones_store_id_change_seq;
+CREATE INDEX idx_catalog_tombstones_store_id_change_xid_seq ON catalog_tombstones(store_id, change_xid, change_seq);
+CREATE INDEX idx_catalog_tombstones_changed_at ON catalog_tombstones(changed_at);
+
+-- Highest (change_xid, change_seq) removed by the tombstone purge
+CREATE TABLE catalog_tombstone_purge (
+    id SMALLINT PRIMARY KEY,
+    purged_xid xid8 NOT NULL,
+    purged_seq BIGINT NOT NULL,
+    purged_at TIMESTAMPTZ
+);
+
+INSERT INTO catalog_tombstone_purge (id, purged_xid, purged_seq) VALUES (1, '0', 0);
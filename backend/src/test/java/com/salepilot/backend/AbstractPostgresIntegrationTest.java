@@ -0,0 +1,39 @@
+package com.salepilot.backend;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests of SQL that only runs on PostgreSQL (xid8, unnest,
+ * data-modifying CTEs). The schema comes from the Flyway migrations instead of
+ * the H2 create-drop of the test profile. One container is shared by every
+ * subclass so the Spring context is cached across them; tests keep to their
+ * own store IDs. Skipped when Docker is not available.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class AbstractPostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> "true");
+
+        // Background jobs only run once at startup; tests invoke them directly
+        registry.add("app.inventory.snapshot-compaction-interval-ms", () -> "3600000");
+        registry.add("app.catalog-sync.tombstone-purge-interval-ms", () -> "3600000");
+    }
+}
@@ -0,0 +1,42 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.AbstractPostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionRepositoryIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private PartitionRepository partitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void saleForMissingMonthLandsInDefaultAndMovesWhenMonthIsCreated() {
+        String storeId = "store-" + UUID.randomUUID();
+        LocalDate month = LocalDate.of(2090, 1, 1);
+        Long saleId = jdbcTemplate.queryForObject("INSERT INTO sales (store_id, transaction_id, timestamp, total, "
+                + "subtotal, tax, amount_paid) VALUES (?, ?, ?, 10, 10, 0, 10) RETURNING id", Long.class,
+                storeId, "TRX-" + storeId, Timestamp.valueOf(LocalDateTime.of(2090, 1, 15, 12, 0)));
+
+        assertThat(partitionRepository.countDefaultPartitionRows("sales")).isEqualTo(1);
+
+        assertThat(partitionRepository.ensureMonthlyPartitions("sales", month, month)).isEqualTo(1);
+        assertThat(partitionRepository.ensureMonthlyPartitions("sales", month, month)).isZero();
+
+        assertThat(partitionRepository.countDefaultPartitionRows("sales")).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales_p2090_01 WHERE id = ?", Long.class,
+                saleId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT transaction_id FROM sale_keys WHERE sale_id = ?",
+                String.class, saleId)).isEqualTo("TRX-" + storeId);
+    }
+}
@@ -0,0 +1,119 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.AbstractPostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductRepositoryIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String storeId;
+
+    @BeforeEach
+    void setUp() {
+        storeId = "store-" + UUID.randomUUID();
+    }
+
+    @Test
+    void adjustsSeveralProductsInOneStatement() {
+        Long tea = insertProduct(storeId, "TEA", "10");
+        Long milk = insertProduct(storeId, "MILK", "5");
+
+        Map<Long, BigDecimal> levels = productRepository.adjustStock(storeId,
+                Map.of(tea, new BigDecimal("3"), milk, new BigDecimal("-2")), false);
+
+        assertThat(levels).containsOnlyKeys(tea, milk);
+        assertThat(levels.get(tea)).isEqualByComparingTo("13");
+        assertThat(levels.get(milk)).isEqualByComparingTo("3");
+        assertThat(stockOf(tea)).isEqualByComparingTo("13");
+        assertThat(versionOf(tea)).isEqualTo(1L);
+    }
+
+    @Test
+    void noNegativeGuardLeavesProductUntouched() {
+        Long tea = insertProduct(storeId, "TEA", "1");
+
+        Map<Long, BigDecimal> levels = productRepository.adjustStock(storeId, Map.of(tea, new BigDecimal("-2")), false);
+
+        assertThat(levels).isEmpty();
+        assertThat(stockOf(tea)).isEqualByComparingTo("1");
+        assertThat(productRepository.findStockLevels(storeId, List.of(tea)).get(tea)).isEqualByComparingTo("1");
+    }
+
+    @Test
+    void backordersMayTakeStockBelowZero() {
+        Long tea = insertProduct(storeId, "TEA", "1");
+
+        Map<Long, BigDecimal> levels = productRepository.adjustStock(storeId, Map.of(tea, new BigDecimal("-2")), true);
+
+        assertThat(levels.get(tea)).isEqualByComparingTo("-1");
+    }
+
+    @Test
+    void productsOfOtherStoresAreNotAdjusted() {
+        Long foreign = insertProduct("other-" + storeId, "TEA", "10");
+
+        Map<Long, BigDecimal> levels = productRepository.adjustStock(storeId, Map.of(foreign, BigDecimal.ONE), true);
+
+        assertThat(levels).isEmpty();
+        assertThat(stockOf(foreign)).isEqualByComparingTo("10");
+        assertThat(productRepository.findStockLevels(storeId, List.of(foreign))).isEmpty();
+    }
+
+    @Test
+    void concurrentAdjustmentsAreNotLost() throws Exception {
+        Long tea = insertProduct(storeId, "TEA", "0");
+        Long milk = insertProduct(storeId, "MILK", "0");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        productRepository.adjustStock(storeId, Map.of(tea, BigDecimal.ONE, milk, BigDecimal.ONE), false);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(stockOf(tea)).isEqualByComparingTo("200");
+        assertThat(stockOf(milk)).isEqualByComparingTo("200");
+    }
+
+    private Long insertProduct(String store, String sku, String stock) {
+        return jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, stock) "
+                + "VALUES (?, ?, ?, 1.00, ?) RETURNING id", Long.class, store, sku, sku, new BigDecimal(stock));
+    }
+
+    private BigDecimal stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", BigDecimal.class, productId);
+    }
+
+    private Long versionOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM products WHERE id = ?", Long.class, productId);
+    }
+}
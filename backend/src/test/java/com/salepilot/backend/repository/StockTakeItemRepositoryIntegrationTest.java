@@ -0,0 +1,117 @@
+package com.salepilot.backend.repository;
+
+import com.salepilot.backend.AbstractPostgresIntegrationTest;
+import com.salepilot.backend.dto.StockTakeVarianceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockTakeItemRepositoryIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private StockTakeItemRepository stockTakeItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String storeId;
+    private Long stockTakeId;
+
+    @BeforeEach
+    void setUp() {
+        storeId = "store-" + UUID.randomUUID();
+        stockTakeId = jdbcTemplate.queryForObject("INSERT INTO stock_takes (store_id, start_time) "
+                + "VALUES (?, NOW()) RETURNING id", Long.class, storeId);
+    }
+
+    @Test
+    void appliesVariancesOnTopOfMovementsMadeWhileCounting() {
+        Long tea = insertCountedProduct("TEA", "10", "2.00", "12");
+        Long milk = insertCountedProduct("MILK", "5", "3.00", "4");
+        Long sugar = insertCountedProduct("SUGAR", "7", "1.00", null);
+        Long salt = insertCountedProduct("SALT", "3", "1.00", "3");
+
+        // A sale made after the snapshot must survive the adjustment
+        jdbcTemplate.update("UPDATE products SET stock = stock - 1 WHERE id = ?", tea);
+
+        StockTakeVarianceDTO variance = stockTakeItemRepository.applyVariances(storeId, stockTakeId);
+
+        assertThat(variance.getItemsAdjusted()).isEqualTo(2);
+        assertThat(variance.getGainValue()).isEqualByComparingTo("4.00");
+        assertThat(variance.getLossValue()).isEqualByComparingTo("3.00");
+        assertThat(stockOf(tea)).isEqualByComparingTo("11");
+        assertThat(stockOf(milk)).isEqualByComparingTo("4");
+        assertThat(stockOf(sugar)).isEqualByComparingTo("7");
+        assertThat(stockOf(salt)).isEqualByComparingTo("3");
+    }
+
+    @Test
+    void appendsOneLedgerRowPerAdjustedProduct() {
+        Long tea = insertCountedProduct("TEA", "10", "2.00", "12");
+        insertCountedProduct("SALT", "3", "1.00", "3");
+
+        stockTakeItemRepository.applyVariances(storeId, stockTakeId);
+
+        List<Map<String, Object>> movements = jdbcTemplate.queryForList("SELECT product_id, movement_type, "
+                + "quantity, balance_after, reference_id FROM inventory_movements WHERE store_id = ?", storeId);
+        assertThat(movements).singleElement().satisfies(movement -> {
+            assertThat(movement.get("product_id")).isEqualTo(tea);
+            assertThat(movement.get("movement_type")).isEqualTo("STOCK_TAKE_ADJUSTMENT");
+            assertThat((BigDecimal) movement.get("quantity")).isEqualByComparingTo("2");
+            assertThat((BigDecimal) movement.get("balance_after")).isEqualByComparingTo("12");
+            assertThat(movement.get("reference_id")).isEqualTo(stockTakeId.toString());
+        });
+    }
+
+    @Test
+    void leavesOtherStoresAlone() {
+        String otherStore = "other-" + storeId;
+        Long foreign = jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, stock) "
+                + "VALUES (?, 'Tea', 'TEA', 1.00, 10) RETURNING id", Long.class, otherStore);
+        jdbcTemplate.update("INSERT INTO stock_take_items (store_id, stock_take_id, product_id, name, sku, expected, "
+                + "counted) VALUES (?, ?, ?, 'Tea', 'TEA', 10, 20)", otherStore, stockTakeId, foreign);
+
+        StockTakeVarianceDTO variance = stockTakeItemRepository.applyVariances(storeId, stockTakeId);
+
+        assertThat(variance.getItemsAdjusted()).isZero();
+        assertThat(stockOf(foreign)).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void batchUpdateReportsProductsOutsideTheStockTake() {
+        Long tea = insertCountedProduct("TEA", "10", "2.00", null);
+        Long notCounted = jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, stock) "
+                + "VALUES (?, 'Milk', 'MILK', 1.00, 5) RETURNING id", Long.class, storeId);
+
+        int[] updated = stockTakeItemRepository.batchUpdateCounts(stockTakeId, List.of(
+                new AbstractMap.SimpleEntry<>(tea, new BigDecimal("9")),
+                new AbstractMap.SimpleEntry<>(notCounted, new BigDecimal("4"))));
+
+        assertThat(updated).containsExactly(1, 0);
+        assertThat(jdbcTemplate.queryForObject("SELECT counted FROM stock_take_items WHERE stock_take_id = ? "
+                + "AND product_id = ?", BigDecimal.class, stockTakeId, tea)).isEqualByComparingTo("9");
+    }
+
+    private Long insertCountedProduct(String sku, String stock, String costPrice, String counted) {
+        Long productId = jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, cost_price, "
+                + "stock) VALUES (?, ?, ?, 5.00, ?, ?) RETURNING id", Long.class,
+                storeId, sku, sku, new BigDecimal(costPrice), new BigDecimal(stock));
+        jdbcTemplate.update("INSERT INTO stock_take_items (store_id, stock_take_id, product_id, name, sku, expected, "
+                + "counted) VALUES (?, ?, ?, ?, ?, ?, ?)", storeId, stockTakeId, productId, sku, sku,
+                new BigDecimal(stock), counted != null ? new BigDecimal(counted) : null);
+        return productId;
+    }
+
+    private BigDecimal stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", BigDecimal.class, productId);
+    }
+}
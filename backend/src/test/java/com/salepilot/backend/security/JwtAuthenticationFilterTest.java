@@ -0,0 +1,177 @@
+package com.salepilot.backend.security;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.entity.RevokedToken;
+import com.salepilot.backend.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final AppProperties appProperties = new AppProperties();
+    private TokenRevocationList tokenRevocationList;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository);
+        filter = new JwtAuthenticationFilter(tokenProvider, new PrincipalCache(userDetailsService, appProperties),
+                tokenRevocationList, appProperties);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loadsPrincipalOncePerUser() throws Exception {
+        givenToken("token-1", claims("jti-1", 1L, 0));
+        givenToken("token-2", claims("jti-2", 1L, 0));
+        when(userDetailsService.loadUserById(1L)).thenReturn(principal(1L, 0));
+
+        assertThat(authenticate("token-1")).isNotNull();
+        assertThat(authenticate("token-2")).isNotNull();
+        assertThat(authenticate("token-1").getPrincipal()).isInstanceOf(UserPrincipal.class);
+
+        verify(userDetailsService, times(1)).loadUserById(1L);
+    }
+
+    @Test
+    void reloadsPrincipalForTokenIssuedAfterSecurityChange() throws Exception {
+        givenToken("old", claims("jti-1", 1L, 0));
+        givenToken("new", claims("jti-2", 1L, 1));
+        when(userDetailsService.loadUserById(1L)).thenReturn(principal(1L, 0), principal(1L, 1));
+
+        assertThat(authenticate("old")).isNotNull();
+        assertThat(authenticate("new")).isNotNull();
+
+        // The token issued before the change no longer authenticates
+        assertThat(authenticate("old")).isNull();
+        verify(userDetailsService, times(2)).loadUserById(1L);
+    }
+
+    @Test
+    void rejectsDisabledUser() throws Exception {
+        givenToken("token", claims("jti-1", 1L, 0));
+        UserPrincipal disabled = principal(1L, 0);
+        disabled.setEnabled(false);
+        when(userDetailsService.loadUserById(1L)).thenReturn(disabled);
+
+        assertThat(authenticate("token")).isNull();
+    }
+
+    @Test
+    void statelessModeTrustsClaimsWithoutLoadingUser() throws Exception {
+        appProperties.getSecurity().setStatelessAuth(true);
+        givenToken("token", claims("jti-1", 1L, 0));
+
+        Authentication authentication = authenticate("token");
+
+        assertThat(authentication).isNotNull();
+        assertThat(((UserPrincipal) authentication.getPrincipal()).getCurrentStoreId()).isEqualTo("store-1");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_CASHIER");
+        verify(userDetailsService, never()).loadUserById(any());
+    }
+
+    @Test
+    void rejectsTokenRevokedOnThisNode() throws Exception {
+        givenToken("revoked", claims("jti-1", 1L, 0));
+        givenToken("other", claims("jti-2", 1L, 0));
+        when(userDetailsService.loadUserById(1L)).thenReturn(principal(1L, 0));
+
+        tokenRevocationList.revoke("jti-1", 1L, Instant.now().plusSeconds(900));
+
+        assertThat(authenticate("revoked")).isNull();
+        assertThat(authenticate("other")).isNotNull();
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void rejectsTokenRevokedOnAnotherNodeAfterRefresh() throws Exception {
+        givenToken("token", claims("jti-1", 1L, 0));
+        when(userDetailsService.loadUserById(1L)).thenReturn(principal(1L, 0));
+        assertThat(authenticate("token")).isNotNull();
+
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(RevokedToken.builder()
+                        .jti("jti-1")
+                        .userId(1L)
+                        .revokedAt(Instant.now())
+                        .expiresAt(Instant.now().plusSeconds(900))
+                        .build()));
+        tokenRevocationList.refresh();
+
+        assertThat(authenticate("token")).isNull();
+    }
+
+    @Test
+    void rejectsRefreshTokenAsAccessToken() throws Exception {
+        givenToken("refresh", JwtClaims.builder()
+                .jti("jti-1")
+                .userId(1L)
+                .refresh(true)
+                .expiresAt(Instant.now().plusSeconds(900))
+                .build());
+
+        assertThat(authenticate("refresh")).isNull();
+        verify(userDetailsService, never()).loadUserById(any());
+    }
+
+    private void givenToken(String token, JwtClaims claims) {
+        when(tokenProvider.parseToken(token)).thenReturn(Optional.of(claims));
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static JwtClaims claims(String jti, Long userId, long securityVersion) {
+        return JwtClaims.builder()
+                .jti(jti)
+                .userId(userId)
+                .username("user" + userId)
+                .roles(List.of("ROLE_CASHIER"))
+                .currentStoreId("store-1")
+                .securityVersion(securityVersion)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(900))
+                .build();
+    }
+
+    private static UserPrincipal principal(Long userId, long securityVersion) {
+        UserPrincipal principal = new UserPrincipal();
+        principal.setId(userId);
+        principal.setUsername("user" + userId);
+        principal.setCurrentStoreId("store-1");
+        principal.setAuthorities(List.of());
+        principal.setEnabled(true);
+        principal.setSecurityVersion(securityVersion);
+        return principal;
+    }
+}
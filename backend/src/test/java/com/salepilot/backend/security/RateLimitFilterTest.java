@@ -0,0 +1,115 @@
+package com.salepilot.backend.security;
+
+import com.salepilot.backend.config.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Refill is 2-3 tokens per second, far slower than these tests run
+        AppProperties appProperties = new AppProperties();
+        AppProperties.Security.RateLimit rateLimit = appProperties.getSecurity().getRateLimit();
+        rateLimit.setRequestsPerSecond(2);
+        rateLimit.setStoreRequestsPerSecond(3);
+        rateLimit.setBurstSeconds(1);
+        rateLimit.setEndpointCosts(new LinkedHashMap<>(Map.of("/api/v1/reports/**", 2)));
+        filter = new RateLimitFilter(appProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void limitsAnonymousCallersPerClientAddress() throws Exception {
+        assertThat(call("/api/v1/products", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call("/api/v1/products", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = call("/api/v1/products", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("Rate limit exceeded");
+        assertThat(meterRegistry.counter("http.server.requests.rate_limited", "scope", "ip").count()).isEqualTo(1);
+
+        assertThat(call("/api/v1/products", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void sharesStoreBucketAndRefundsCallerOnStoreRejection() throws Exception {
+        authenticate(1L, "store-1");
+        assertThat(call("/api/v1/products", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call("/api/v1/products", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        // Second user of the same store gets only what the store has left
+        authenticate(2L, "store-1");
+        assertThat(call("/api/v1/products", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(call("/api/v1/products", "10.0.0.2").getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.counter("http.server.requests.rate_limited", "scope", "store").count())
+                .isEqualTo(1);
+
+        // The rejected request was refunded, so the user still has a token elsewhere
+        authenticate(2L, "store-2");
+        assertThat(call("/api/v1/products", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(call("/api/v1/products", "10.0.0.2").getStatus()).isEqualTo(429);
+        assertThat(meterRegistry.counter("http.server.requests.rate_limited", "scope", "user").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void chargesEndpointCost() throws Exception {
+        authenticate(1L, null);
+        assertThat(call("/api/v1/reports/dashboard", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(call("/api/v1/products", "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void skipsNonApiAndPreflightRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(call("/actuator/health", "10.0.0.1").getStatus()).isEqualTo(200);
+
+            MockHttpServletRequest preflight = new MockHttpServletRequest("OPTIONS", "/api/v1/products");
+            preflight.setRemoteAddr("10.0.0.1");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(preflight, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse call(String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticate(Long userId, String storeId) {
+        UserPrincipal principal = new UserPrincipal();
+        principal.setId(userId);
+        principal.setUsername("user" + userId);
+        principal.setCurrentStoreId(storeId);
+        principal.setEnabled(true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
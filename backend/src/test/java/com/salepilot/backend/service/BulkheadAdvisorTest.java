@@ -0,0 +1,149 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.config.BulkheadConfig;
+import com.salepilot.backend.context.Bulkhead;
+import com.salepilot.backend.context.TenantBulkheads;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lives in the service package because the advisor only applies there.
+ */
+class BulkheadAdvisorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AppProperties appProperties = new AppProperties();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private TenantBulkheads bulkheads;
+    private Work work;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getBulkhead().setPerStoreReporting(1);
+        appProperties.getBulkhead().setAcquireTimeoutMs(50);
+        // Lanes would expire at once if a call in flight did not pin them
+        appProperties.getBulkhead().setStoreIdleSeconds(0);
+        bulkheads = new TenantBulkheads(appProperties, meterRegistry);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("tenantBulkheads", bulkheads);
+        ProxyFactory proxyFactory = new ProxyFactory(new Work());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(BulkheadConfig.tenantBulkheadAdvisor(
+                beanFactory.getBeanProvider(TenantBulkheads.class)));
+        work = (Work) proxyFactory.getProxy();
+
+        TenantContext.setCurrentTenant("store-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void transactionalMethodsUseStandardLane() {
+        assertThat(work.standard(() -> active("standard"))).isEqualTo(1.0);
+        assertThat(active("standard")).isZero();
+    }
+
+    @Test
+    void storeOverItsReportingShareGetsTooManyRequests() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            TenantContext.setCurrentTenant("store-1");
+            try {
+                return work.report(() -> {
+                    started.countDown();
+                    await(release);
+                    return null;
+                });
+            } finally {
+                TenantContext.clear();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(active("reporting")).isEqualTo(1.0);
+
+        assertThatThrownBy(() -> work.report(() -> null))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(meterRegistry.counter("bulkhead.rejected", "lane", "reporting", "scope", "store").count())
+                .isEqualTo(1);
+
+        // Other stores have their own share
+        TenantContext.setCurrentTenant("store-2");
+        assertThat(work.report(() -> "ok")).isEqualTo("ok");
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        TenantContext.setCurrentTenant("store-1");
+        assertThat(work.report(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void nestedCallsReuseOuterAdmission() {
+        assertThat(work.report(() -> work.report(() -> "nested"))).isEqualTo("nested");
+        assertThat(active("reporting")).isZero();
+    }
+
+    @Test
+    void callsWithoutTenantAreNotLimited() {
+        TenantContext.clear();
+
+        assertThat(work.report(() -> active("reporting"))).isZero();
+    }
+
+    @Test
+    void disabledBulkheadsAdmitEverything() {
+        appProperties.getBulkhead().setEnabled(false);
+
+        assertThat(work.report(() -> work.report(() -> active("reporting")))).isZero();
+    }
+
+    private double active(String lane) {
+        return meterRegistry.get("bulkhead.active").tag("lane", lane).gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Transactional
+    static class Work {
+
+        public <T> T standard(Supplier<T> body) {
+            return body.get();
+        }
+
+        @Bulkhead(Bulkhead.Lane.REPORTING)
+        public <T> T report(Supplier<T> body) {
+            return body.get();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.AbstractPostgresIntegrationTest;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.CatalogChangesResponse;
+import com.salepilot.backend.exception.BadRequestException;
+import com.salepilot.backend.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSyncIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private CatalogSyncService catalogSyncService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String storeId;
+
+    @BeforeEach
+    void setUp() {
+        storeId = "store-" + UUID.randomUUID();
+        TenantContext.setCurrentTenant(storeId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void pagesThroughEveryChangeExactlyOnce() {
+        Long categoryId = jdbcTemplate.queryForObject("INSERT INTO categories (store_id, name) "
+                + "VALUES (?, 'Drinks') RETURNING id", Long.class, storeId);
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            productIds.add(insertProduct("SKU-" + i));
+        }
+
+        List<Long> seenProducts = new ArrayList<>();
+        List<Long> seenCategories = new ArrayList<>();
+        String cursor = null;
+        CatalogChangesResponse page;
+        do {
+            page = catalogSyncService.getChanges(cursor, 2);
+            assertThat(page.getProducts().size() + page.getCategories().size()).isLessThanOrEqualTo(2);
+            page.getProducts().forEach(p -> seenProducts.add(p.getId()));
+            page.getCategories().forEach(c -> seenCategories.add(c.getId()));
+            cursor = page.getCursor();
+        } while (page.isHasMore());
+
+        assertThat(seenProducts).containsExactlyInAnyOrderElementsOf(productIds);
+        assertThat(seenCategories).containsExactly(categoryId);
+        assertThat(catalogSyncService.getChanges(cursor, 2).getProducts()).isEmpty();
+    }
+
+    @Test
+    void changeOfRunningTransactionIsNotSkipped() throws Exception {
+        Long early = insertProduct("EARLY");
+        Long late = insertProduct("LATE");
+        String cursor = syncToEnd(null);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE products SET name = 'Early renamed' WHERE id = ?")) {
+                update.setLong(1, early);
+                update.executeUpdate();
+            }
+
+            // Committed after the open transaction took its change position
+            jdbcTemplate.update("UPDATE products SET name = 'Late renamed' WHERE id = ?", late);
+
+            CatalogChangesResponse duringTransaction = catalogSyncService.getChanges(cursor, 100);
+            assertThat(duringTransaction.getProducts()).isEmpty();
+            assertThat(duringTransaction.getCursor()).isEqualTo(cursor);
+
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+
+        CatalogChangesResponse afterCommit = catalogSyncService.getChanges(cursor, 100);
+        assertThat(afterCommit.getProducts())
+                .extracting(CatalogChangesResponse.ProductChange::getName)
+                .containsExactly("Early renamed", "Late renamed");
+    }
+
+    @Test
+    void deletesComeBackAsTombstones() {
+        Long productId = insertProduct("GONE");
+        String cursor = syncToEnd(null);
+
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", productId);
+
+        CatalogChangesResponse changes = catalogSyncService.getChanges(cursor, 100);
+        assertThat(changes.getProducts()).singleElement().satisfies(change -> {
+            assertThat(change.getId()).isEqualTo(productId);
+            assertThat(change.isDeleted()).isTrue();
+        });
+    }
+
+    @Test
+    void cursorOlderThanPurgedTombstonesRequiresResync() {
+        Long productId = insertProduct("GONE");
+        String cursor = syncToEnd(null);
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", productId);
+        jdbcTemplate.update("UPDATE catalog_tombstones SET changed_at = NOW() - INTERVAL '365 days' "
+                + "WHERE store_id = ?", storeId);
+
+        catalogSyncService.purgeTombstones();
+
+        assertThatThrownBy(() -> catalogSyncService.getChanges(cursor, 100))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.GONE));
+        assertThat(catalogSyncService.getChanges(null, 100).getProducts()).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> catalogSyncService.getChanges("not-a-cursor", 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private String syncToEnd(String since) {
+        String cursor = since;
+        CatalogChangesResponse page;
+        do {
+            page = catalogSyncService.getChanges(cursor, 100);
+            cursor = page.getCursor();
+        } while (page.isHasMore());
+        return cursor;
+    }
+
+    private Long insertProduct(String sku) {
+        return jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, stock) "
+                + "VALUES (?, ?, ?, 1.00, 0) RETURNING id", Long.class, storeId, sku, sku);
+    }
+}
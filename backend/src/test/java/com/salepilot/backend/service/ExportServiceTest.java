@@ -0,0 +1,106 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.repository.ExportRepository;
+import com.salepilot.backend.util.RowWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ExportServiceTest {
+
+    private final ExportRepository exportRepository = mock(ExportRepository.class);
+    private final AppProperties appProperties = new AppProperties();
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getExport().setMaxDurationMs(200);
+        exportService = new ExportService(exportRepository, appProperties);
+        TenantContext.setCurrentTenant("store-1");
+
+        // Rows of random text, so gzip output soon reaches the response
+        doAnswer(invocation -> {
+            RowWriter writer = invocation.getArgument(2);
+            try {
+                writer.columns(List.of("id", "name"));
+                for (long id = 1; ; id++) {
+                    writer.row(new Object[] { id, UUID.randomUUID().toString() });
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).when(exportRepository).streamProducts(eq("store-1"), anyInt(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        exportService.shutdown();
+    }
+
+    @Test
+    void abortsExportBlockedOnClientThatStoppedReading() {
+        StalledClient client = new StalledClient();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThatThrownBy(
+                () -> exportService.exportProducts(ExportService.ExportFormat.CSV, client))
+                .isInstanceOf(UncheckedIOException.class));
+        assertThat(client.blocked).isTrue();
+    }
+
+    /**
+     * Response that takes the first few KB, then blocks every write until it is
+     * closed, like a socket whose peer stopped reading mid-download
+     */
+    private static class StalledClient extends OutputStream {
+        private static final int ACCEPTED_BYTES = 16 * 1024;
+
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private int written;
+        private volatile boolean blocked;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed.getCount() > 0 && written + len <= ACCEPTED_BYTES) {
+                written += len;
+                return;
+            }
+            blocked = true;
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Stream closed");
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
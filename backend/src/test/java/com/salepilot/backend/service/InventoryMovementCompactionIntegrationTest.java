@@ -0,0 +1,129 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.AbstractPostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryMovementCompactionIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    private static final String INSERT_MOVEMENT_SQL = "INSERT INTO inventory_movements "
+            + "(store_id, product_id, movement_type, quantity, balance_after, occurred_at) "
+            + "VALUES (?, ?, 'SALE', ?, ?, ?)";
+
+    @Autowired
+    private InventoryMovementService inventoryMovementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String storeId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        storeId = "store-" + UUID.randomUUID();
+        productId = jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, stock) "
+                + "VALUES (?, 'Tea', 'TEA', 1.00, 0) RETURNING id", Long.class, storeId);
+    }
+
+    @Test
+    void foldsCommittedMovementsIntoDailySnapshots() {
+        Instant day = Instant.parse("2026-03-10T09:00:00Z");
+        insertMovement("10", "10", day);
+        insertMovement("-3", "7", day.plusSeconds(3600));
+        insertMovement("-2", "5", day.plusSeconds(7200));
+
+        inventoryMovementService.compactDailySnapshots();
+
+        List<Map<String, Object>> snapshots = snapshots();
+        assertThat(snapshots).hasSize(1);
+        Map<String, Object> snapshot = snapshots.get(0);
+        assertThat(((Date) snapshot.get("day")).toLocalDate()).isEqualTo(LocalDate.of(2026, 3, 10));
+        assertThat((BigDecimal) snapshot.get("quantity_in")).isEqualByComparingTo("10");
+        assertThat((BigDecimal) snapshot.get("quantity_out")).isEqualByComparingTo("5");
+        assertThat((BigDecimal) snapshot.get("closing_balance")).isEqualByComparingTo("5");
+        assertThat(snapshot.get("movement_count")).isEqualTo(3);
+    }
+
+    @Test
+    void foldsEachMovementOnce() {
+        insertMovement("4", "4", Instant.parse("2026-03-10T09:00:00Z"));
+        inventoryMovementService.compactDailySnapshots();
+        inventoryMovementService.compactDailySnapshots();
+
+        assertThat(snapshots()).singleElement()
+                .satisfies(snapshot -> assertThat(snapshot.get("movement_count")).isEqualTo(1));
+    }
+
+    @Test
+    void bucketsByBusinessDayWhateverTheJvmZone() {
+        // Late evening UTC is already the next day in zones east of UTC
+        insertMovement("1", "1", Instant.parse("2026-03-10T23:30:00Z"));
+
+        inventoryMovementService.compactDailySnapshots();
+
+        assertThat(snapshots()).singleElement().satisfies(snapshot -> assertThat(
+                ((Date) snapshot.get("day")).toLocalDate()).isEqualTo(LocalDate.of(2026, 3, 10)));
+    }
+
+    @Test
+    void movementOfRunningTransactionIsFoldedAfterItCommits() throws Exception {
+        Instant day = Instant.parse("2026-03-10T09:00:00Z");
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_MOVEMENT_SQL)) {
+                insert.setString(1, storeId);
+                insert.setLong(2, productId);
+                insert.setBigDecimal(3, new BigDecimal("-1"));
+                insert.setBigDecimal(4, new BigDecimal("9"));
+                insert.setTimestamp(5, Timestamp.from(day));
+                insert.executeUpdate();
+            }
+
+            // A later transaction commits first; neither may be folded yet
+            insertMovement("10", "10", day.minusSeconds(60));
+            inventoryMovementService.compactDailySnapshots();
+            assertThat(snapshots()).isEmpty();
+
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+
+        inventoryMovementService.compactDailySnapshots();
+
+        assertThat(snapshots()).singleElement().satisfies(snapshot -> {
+            assertThat(snapshot.get("movement_count")).isEqualTo(2);
+            assertThat((BigDecimal) snapshot.get("closing_balance")).isEqualByComparingTo("9");
+        });
+    }
+
+    private void insertMovement(String quantity, String balanceAfter, Instant occurredAt) {
+        jdbcTemplate.update(INSERT_MOVEMENT_SQL, storeId, productId, new BigDecimal(quantity),
+                new BigDecimal(balanceAfter), Timestamp.from(occurredAt));
+    }
+
+    private List<Map<String, Object>> snapshots() {
+        return jdbcTemplate.queryForList("SELECT day, quantity_in, quantity_out, closing_balance, movement_count "
+                + "FROM inventory_daily_snapshots WHERE store_id = ? ORDER BY day", storeId);
+    }
+}
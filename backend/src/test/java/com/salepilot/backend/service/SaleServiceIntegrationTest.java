@@ -0,0 +1,171 @@
+package com.salepilot.backend.service;
+
+import com.salepilot.backend.AbstractPostgresIntegrationTest;
+import com.salepilot.backend.config.AppProperties;
+import com.salepilot.backend.context.TenantContext;
+import com.salepilot.backend.dto.SaleRequest;
+import com.salepilot.backend.entity.Sale;
+import com.salepilot.backend.exception.InsufficientStockException;
+import com.salepilot.backend.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SaleServiceIntegrationTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private AppProperties appProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String storeId;
+
+    @BeforeEach
+    void setUp() {
+        storeId = "store-" + UUID.randomUUID();
+        TenantContext.setCurrentTenant(storeId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void deductsStockAndRecordsItemsForWholeBasket() {
+        Long tea = insertProduct("TEA", "10");
+        Long milk = insertProduct("MILK", "5");
+
+        Sale sale = saleService.createSale(request(
+                line(tea, "2", "4.50"),
+                line(milk, "1", "3.00"),
+                line(tea, "1", "4.50")));
+
+        assertThat(sale.getSubtotal()).isEqualByComparingTo("16.50");
+        assertThat(stockOf(tea)).isEqualByComparingTo("7");
+        assertThat(stockOf(milk)).isEqualByComparingTo("4");
+
+        List<Map<String, Object>> items = jdbcTemplate.queryForList("SELECT product_id, quantity, price_at_sale "
+                + "FROM sale_items WHERE store_id = ? AND sale_id = ? ORDER BY id", storeId, sale.getId());
+        assertThat(items).hasSize(3);
+        assertThat((BigDecimal) items.get(0).get("price_at_sale")).isEqualByComparingTo("4.50");
+
+        // One ledger row per product, carrying the merged quantity
+        List<Map<String, Object>> movements = jdbcTemplate.queryForList("SELECT product_id, quantity, balance_after "
+                + "FROM inventory_movements WHERE store_id = ? AND reference_id = ? AND movement_type = 'SALE' "
+                + "ORDER BY product_id", storeId, sale.getTransactionId());
+        assertThat(movements).hasSize(2);
+        assertThat((BigDecimal) movements.get(0).get("quantity")).isEqualByComparingTo("-3");
+        assertThat((BigDecimal) movements.get(0).get("balance_after")).isEqualByComparingTo("7");
+    }
+
+    @Test
+    void rejectsOversellWithoutTouchingStockWhenBackordersAreDisabled() {
+        Long tea = insertProduct("TEA", "10");
+        Long milk = insertProduct("MILK", "1");
+
+        appProperties.getInventory().setAllowNegativeStock(false);
+        try {
+            assertThatThrownBy(() -> saleService.createSale(request(line(tea, "2", "4.50"), line(milk, "2", "3.00"))))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("Available: 1.00");
+        } finally {
+            appProperties.getInventory().setAllowNegativeStock(true);
+        }
+
+        assertThat(stockOf(tea)).isEqualByComparingTo("10");
+        assertThat(stockOf(milk)).isEqualByComparingTo("1");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales WHERE store_id = ?", Long.class, storeId))
+                .isZero();
+    }
+
+    @Test
+    void rejectsProductsOfOtherStores() {
+        Long foreign = jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, cost_price, "
+                + "stock) VALUES (?, 'Tea', 'TEA', 4.50, 2.00, 10) RETURNING id", Long.class, "other-" + storeId);
+
+        assertThatThrownBy(() -> saleService.createSale(request(line(foreign, "1", "4.50"))))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(stockOf(foreign)).isEqualByComparingTo("10");
+    }
+
+    @Test
+    void concurrentCheckoutsInOppositeOrderNeitherDeadlockNorLoseUpdates() throws Exception {
+        Long tea = insertProduct("TEA", "1000");
+        Long milk = insertProduct("MILK", "1000");
+
+        // Stays within the per-store checkout lane so no call waits on a permit
+        int threads = appProperties.getBulkhead().getPerStoreCheckout();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                boolean teaFirst = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    TenantContext.setCurrentTenant(storeId);
+                    try {
+                        for (int i = 0; i < 25; i++) {
+                            saleService.createSale(teaFirst
+                                    ? request(line(tea, "1", "4.50"), line(milk, "1", "3.00"))
+                                    : request(line(milk, "1", "3.00"), line(tea, "1", "4.50")));
+                        }
+                    } finally {
+                        TenantContext.clear();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        BigDecimal expected = BigDecimal.valueOf(1000 - threads * 25L);
+        assertThat(stockOf(tea)).isEqualByComparingTo(expected);
+        assertThat(stockOf(milk)).isEqualByComparingTo(expected);
+    }
+
+    private Long insertProduct(String sku, String stock) {
+        return jdbcTemplate.queryForObject("INSERT INTO products (store_id, name, sku, price, cost_price, stock) "
+                + "VALUES (?, ?, ?, 4.50, 2.00, ?) RETURNING id", Long.class,
+                storeId, sku, sku, new BigDecimal(stock));
+    }
+
+    private BigDecimal stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", BigDecimal.class, productId);
+    }
+
+    private static SaleRequest.SaleItemRequest line(Long productId, String quantity, String price) {
+        return SaleRequest.SaleItemRequest.builder()
+                .productId(productId)
+                .quantity(new BigDecimal(quantity))
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    private static SaleRequest request(SaleRequest.SaleItemRequest... items) {
+        return SaleRequest.builder()
+                .items(List.of(items))
+                .build();
+    }
+}
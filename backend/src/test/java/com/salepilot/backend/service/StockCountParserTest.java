@@ -0,0 +1,91 @@
+package com.salepilot.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salepilot.backend.dto.StockTakeBulkCountResponse;
+import com.salepilot.backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockCountParserTest {
+
+    private final StockCountParser parser = new StockCountParser(new ObjectMapper());
+
+    @Test
+    void skipsCsvHeaderAndKeepsValidLines() {
+        StockCountParser.ParsedCounts parsed = parse("barcode,qty\nTEA,12\nMILK,4.5\n",
+                StockCountParser.CountFormat.CSV);
+
+        assertThat(parsed.getLines()).containsExactly(
+                new StockCountParser.CountLine(2, "TEA", new BigDecimal("12")),
+                new StockCountParser.CountLine(3, "MILK", new BigDecimal("4.5")));
+        assertThat(parsed.getTotalLines()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsInvalidCsvLinesWithoutStopping() {
+        StockCountParser.ParsedCounts parsed = parse("TEA,12\nMILK,abc\nSUGAR,-1\n,3\nSALT,2\n",
+                StockCountParser.CountFormat.CSV);
+
+        assertThat(parsed.getLines()).extracting(StockCountParser.CountLine::code).containsExactly("TEA", "SALT");
+        assertThat(parsed.getFailures())
+                .extracting(StockTakeBulkCountResponse.LineResult::getLine)
+                .containsExactly(2, 3, 4);
+        assertThat(parsed.getFailures())
+                .allSatisfy(failure -> assertThat(failure.getStatus())
+                        .isEqualTo(StockTakeBulkCountResponse.LineStatus.INVALID));
+        assertThat(parsed.getTotalLines()).isEqualTo(5);
+    }
+
+    @Test
+    void readsNdjsonWithFieldAliases() {
+        StockCountParser.ParsedCounts parsed = parse("{\"code\":\"TEA\",\"count\":12}\n\n"
+                + "{\"barcode\":\"MILK\",\"quantity\":\"4\"}\n{not json\n", StockCountParser.CountFormat.NDJSON);
+
+        assertThat(parsed.getLines()).extracting(StockCountParser.CountLine::code).containsExactly("TEA", "MILK");
+        assertThat(parsed.getFailures()).singleElement().satisfies(failure -> {
+            assertThat(failure.getLine()).isEqualTo(4);
+            assertThat(failure.getMessage()).isEqualTo("Malformed JSON");
+        });
+    }
+
+    @Test
+    void keepsOnlyTheFirstFailuresButCountsAll() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < StockCountParser.MAX_REPORTED_FAILURES + 5; i++) {
+            body.append("X").append(i).append(",bad\n");
+        }
+
+        StockCountParser.ParsedCounts parsed = parse(body.toString(), StockCountParser.CountFormat.CSV);
+
+        assertThat(parsed.getFailures()).hasSize(StockCountParser.MAX_REPORTED_FAILURES);
+        assertThat(parsed.getTotalLines()).isEqualTo(StockCountParser.MAX_REPORTED_FAILURES + 5);
+    }
+
+    @Test
+    void rejectsUnreadableUpload() {
+        Reader broken = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("connection reset");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        assertThatThrownBy(() -> parser.parse(broken, StockCountParser.CountFormat.CSV))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private StockCountParser.ParsedCounts parse(String body, StockCountParser.CountFormat format) {
+        return parser.parse(new StringReader(body), format);
+    }
+}
@@ -0,0 +1,44 @@
+package com.salepilot.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAddedValuesAsMissing() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(3_000); // Target 1%, allow 3%
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain("anything")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+}
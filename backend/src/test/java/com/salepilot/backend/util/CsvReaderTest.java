@@ -0,0 +1,64 @@
+package com.salepilot.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRows() throws IOException {
+        assertThat(readAll("sku,name\nA1,Apple\nB2,Banana\n")).containsExactly(
+                List.of("sku", "name"),
+                List.of("A1", "Apple"),
+                List.of("B2", "Banana"));
+    }
+
+    @Test
+    void handlesQuotedCommasQuotesAndLineBreaks() throws IOException {
+        assertThat(readAll("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\n")).containsExactly(
+                List.of("a,b", "say \"hi\"", "two\nlines"));
+    }
+
+    @Test
+    void skipsBlankLinesAndAcceptsCrLf() throws IOException {
+        assertThat(readAll("a,1\r\n\r\n\nb,2\r\n")).containsExactly(
+                List.of("a", "1"),
+                List.of("b", "2"));
+    }
+
+    @Test
+    void trimsUnquotedFieldsAndKeepsEmptyOnes() throws IOException {
+        assertThat(readAll(" a , 1 ,\n")).containsExactly(List.of("a", "1", ""));
+    }
+
+    @Test
+    void readsLastRowWithoutLineBreak() throws IOException {
+        assertThat(readAll("a,1\nb,2")).containsExactly(
+                List.of("a", "1"),
+                List.of("b", "2"));
+    }
+
+    @Test
+    void returnsNullAtEndOfInput() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(""))) {
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    private List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            List<String> row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,75 @@
+package com.salepilot.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTest {
+
+    @Test
+    void writesHeaderAndRowsWithCrLf() throws IOException {
+        String csv = write(List.of("sku", "qty"), new Object[] { "A1", 3 }, new Object[] { "B2", null });
+
+        assertThat(csv).isEqualTo("sku,qty\r\nA1,3\r\nB2,\r\n");
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        String csv = write(List.of("name"), new Object[] { "Tea, green" }, new Object[] { "6\" pipe" },
+                new Object[] { "two\nlines" });
+
+        assertThat(csv).isEqualTo("name\r\n\"Tea, green\"\r\n\"6\"\" pipe\"\r\n\"two\nlines\"\r\n");
+    }
+
+    @Test
+    void formatsDecimalsAndTimestamps() throws IOException {
+        String csv = write(List.of("total", "at"),
+                new Object[] { new BigDecimal("1E+3"), Timestamp.valueOf(LocalDateTime.of(2026, 3, 10, 9, 30)) });
+
+        assertThat(csv).isEqualTo("total,at\r\n1000,2026-03-10T09:30\r\n");
+    }
+
+    @Test
+    void neutralizesTextThatSpreadsheetsWouldEvaluate() throws IOException {
+        String csv = write(List.of("value"),
+                new Object[] { "=HYPERLINK(\"http://x\")" },
+                new Object[] { "+1" },
+                new Object[] { "-2" },
+                new Object[] { "@SUM(A1)" },
+                new Object[] { "\tcmd" },
+                new Object[] { "\rcmd" });
+
+        assertThat(csv).isEqualTo("value\r\n"
+                + "\"'=HYPERLINK(\"\"http://x\"\")\"\r\n"
+                + "'+1\r\n"
+                + "'-2\r\n"
+                + "'@SUM(A1)\r\n"
+                + "'\tcmd\r\n"
+                + "\"'\rcmd\"\r\n");
+    }
+
+    @Test
+    void leavesNumbersAndBooleansAlone() throws IOException {
+        String csv = write(List.of("a", "b", "c"), new Object[] { -5, new BigDecimal("-1.50"), true });
+
+        assertThat(csv).isEqualTo("a,b,c\r\n-5,-1.50,true\r\n");
+    }
+
+    private String write(List<String> columns, Object[]... rows) throws IOException {
+        StringWriter out = new StringWriter();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            writer.columns(columns);
+            for (Object[] row : rows) {
+                writer.row(row);
+            }
+        }
+        return out.toString();
+    }
+}
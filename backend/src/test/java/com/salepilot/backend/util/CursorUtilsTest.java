@@ -0,0 +1,74 @@
+package com.salepilot.backend.util;
+
+import com.salepilot.backend.dto.response.CursorPageResponse;
+import com.salepilot.backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilsTest {
+
+    private record Row(Instant timestamp, Long id) {
+    }
+
+    @Test
+    void decodesWhatItEncodes() {
+        Instant timestamp = Instant.parse("2026-03-10T12:34:56.123456789Z");
+
+        CursorUtils.Position position = CursorUtils.decode(CursorUtils.encode(timestamp, 42L));
+
+        assertThat(position.getTimestamp()).isEqualTo(timestamp);
+        assertThat(position.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void emptyCursorMeansFirstPage() {
+        assertThat(CursorUtils.decode(null)).isNull();
+        assertThat(CursorUtils.decode("")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> CursorUtils.decode("not-a-cursor")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorUtils.decode("!!!")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void clampsPageSize() {
+        assertThat(CursorUtils.pageSize(null)).isEqualTo(CursorUtils.DEFAULT_PAGE_SIZE);
+        assertThat(CursorUtils.pageSize(0)).isEqualTo(1);
+        assertThat(CursorUtils.pageSize(10)).isEqualTo(10);
+        assertThat(CursorUtils.pageSize(10_000)).isEqualTo(CursorUtils.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void extraRowSignalsAnotherPage() {
+        List<Row> rows = List.of(
+                new Row(Instant.parse("2026-03-10T12:00:03Z"), 3L),
+                new Row(Instant.parse("2026-03-10T12:00:02Z"), 2L),
+                new Row(Instant.parse("2026-03-10T12:00:01Z"), 1L));
+
+        CursorPageResponse<Row> page = CursorUtils.toCursorPage(rows, 2, Row::timestamp, Row::id);
+
+        assertThat(page.getContent()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(page.getHasMore()).isTrue();
+        CursorUtils.Position next = CursorUtils.decode(page.getNextCursor());
+        assertThat(next.getTimestamp()).isEqualTo(rows.get(1).timestamp());
+        assertThat(next.getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        List<Row> rows = List.of(new Row(Instant.parse("2026-03-10T12:00:01Z"), 1L));
+
+        CursorPageResponse<Row> page = CursorUtils.toCursorPage(rows, 2, Row::timestamp, Row::id);
+
+        assertThat(page.getContent()).containsExactly(rows.get(0));
+        assertThat(page.getHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+}
@@ -0,0 +1,60 @@
+package com.salepilot.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonWriterTest {
+
+    @Test
+    void writesOneObjectPerLine() throws IOException {
+        String ndjson = write(List.of("id", "name", "active"),
+                new Object[] { 1L, "Tea", true },
+                new Object[] { 2, null, false });
+
+        assertThat(ndjson).isEqualTo("{\"id\":1,\"name\":\"Tea\",\"active\":true}\n"
+                + "{\"id\":2,\"name\":null,\"active\":false}\n");
+    }
+
+    @Test
+    void writesDecimalsAsNumbersAndDatesAsStrings() throws IOException {
+        String ndjson = write(List.of("total", "at", "day"), new Object[] {
+                new BigDecimal("12.50"),
+                Timestamp.valueOf(LocalDateTime.of(2026, 3, 10, 9, 30)),
+                Date.valueOf(LocalDate.of(2026, 3, 10)) });
+
+        assertThat(ndjson).isEqualTo("{\"total\":12.50,\"at\":\"2026-03-10T09:30\",\"day\":\"2026-03-10\"}\n");
+    }
+
+    @Test
+    void escapesText() throws IOException {
+        String ndjson = write(List.of("name"), new Object[] { "say \"hi\"\nbye" });
+
+        assertThat(ndjson).isEqualTo("{\"name\":\"say \\\"hi\\\"\\nbye\"}\n");
+    }
+
+    @Test
+    void writesNothingWithoutRows() throws IOException {
+        assertThat(write(List.of("id"))).isEmpty();
+    }
+
+    private String write(List<String> columns, Object[]... rows) throws IOException {
+        StringWriter out = new StringWriter();
+        try (NdjsonWriter writer = new NdjsonWriter(out)) {
+            writer.columns(columns);
+            for (Object[] row : rows) {
+                writer.row(row);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.salepilot.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchUtilsTest {
+
+    @Test
+    void normalizesTerms() {
+        assertThat(SearchUtils.normalize("  Green \t  TEA ")).isEqualTo("green tea");
+        assertThat(SearchUtils.normalize(null)).isEmpty();
+        assertThat(SearchUtils.normalize("x".repeat(150))).hasSize(100);
+    }
+
+    @Test
+    void shortTermsAreNotTrigramSearchable() {
+        assertThat(SearchUtils.isTrigramSearchable("ab")).isFalse();
+        assertThat(SearchUtils.isTrigramSearchable("abc")).isTrue();
+    }
+
+    @Test
+    void escapesLikeWildcards() {
+        assertThat(SearchUtils.containsPattern("50%_off\\")).isEqualTo("%50\\%\\_off\\\\%");
+        assertThat(SearchUtils.prefixPattern("a_b")).isEqualTo("a\\_b%");
+    }
+
+    @Test
+    void dropsSortingButKeepsPaging() {
+        Pageable sorted = PageRequest.of(3, 25, Sort.by("name"));
+
+        Pageable unsorted = SearchUtils.unsorted(sorted);
+
+        assertThat(unsorted.getPageNumber()).isEqualTo(3);
+        assertThat(unsorted.getPageSize()).isEqualTo(25);
+        assertThat(unsorted.getSort().isSorted()).isFalse();
+        assertThat(SearchUtils.unsorted(Pageable.unpaged())).isEqualTo(Pageable.unpaged());
+    }
+}
@@ -0,0 +1,65 @@
+package com.salepilot.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(1, 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(1)).isZero();
+        }
+        assertThat(bucket.tryConsume(1)).isPositive();
+    }
+
+    @Test
+    void rejectionReportsTimeUntilTokensAreAvailable() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+
+        assertThat(bucket.tryConsume(1)).isZero();
+        long wait = bucket.tryConsume(1);
+        assertThat(wait).isPositive().isLessThanOrEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    void weightedRequestsTakeSeveralTokens() {
+        TokenBucket bucket = new TokenBucket(1, 10);
+
+        assertThat(bucket.tryConsume(6)).isZero();
+        assertThat(bucket.tryConsume(6)).isPositive();
+        assertThat(bucket.tryConsume(4)).isZero();
+    }
+
+    @Test
+    void costAboveCapacityIsChargedAsFullBucket() {
+        TokenBucket bucket = new TokenBucket(1, 3);
+
+        assertThat(bucket.tryConsume(100)).isZero();
+        assertThat(bucket.tryConsume(1)).isPositive();
+    }
+
+    @Test
+    void refundGivesTokensBack() {
+        TokenBucket bucket = new TokenBucket(1, 2);
+
+        assertThat(bucket.tryConsume(2)).isZero();
+        assertThat(bucket.tryConsume(1)).isPositive();
+
+        bucket.refund(1);
+        assertThat(bucket.tryConsume(1)).isZero();
+        assertThat(bucket.tryConsume(1)).isPositive();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, 1);
+
+        assertThat(bucket.tryConsume(1)).isZero();
+        Thread.sleep(5);
+        assertThat(bucket.tryConsume(1)).isZero();
+    }
+}
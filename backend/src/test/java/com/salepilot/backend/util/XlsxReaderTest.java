@@ -0,0 +1,98 @@
+package com.salepilot.backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XlsxReaderTest {
+
+    private static final String SHARED_STRINGS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+            + "<si><t>sku</t></si>"
+            + "<si><t>barcode</t></si>"
+            + "<si><r><t>Green </t></r><r><t>Tea</t></r><rPh><t>ignored</t></rPh></si>"
+            + "</sst>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsSharedStringsNumbersAndInlineStrings() throws IOException {
+        File file = workbook(SHARED_STRINGS, sheet(
+                "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"B1\" t=\"s\"><v>1</v></c></row>"
+                        + "<row r=\"2\"><c r=\"A2\" t=\"s\"><v>2</v></c><c r=\"B2\"><v>4006381333931</v></c>"
+                        + "<c r=\"C2\"><v>1.50</v></c><c r=\"D2\" t=\"inlineStr\"><is><t> kg </t></is></c></row>"));
+
+        assertThat(readAll(file)).containsExactly(
+                List.of("sku", "barcode"),
+                List.of("Green Tea", "4006381333931", "1.5", "kg"));
+    }
+
+    @Test
+    void keepsColumnPositionsAcrossMissingCells() throws IOException {
+        File file = workbook(SHARED_STRINGS, sheet(
+                "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"C1\" t=\"b\"><v>1</v></c></row>"));
+
+        assertThat(readAll(file)).containsExactly(List.of("sku", "", "true"));
+    }
+
+    @Test
+    void numbersInScientificNotationComeBackPlain() throws IOException {
+        File file = workbook(null, sheet("<row r=\"1\"><c r=\"A1\"><v>1.2345678901E+12</v></c></row>"));
+
+        assertThat(readAll(file)).containsExactly(List.of("1234567890100"));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotWorkbooks() throws IOException {
+        Path file = tempDir.resolve("not-a-workbook.xlsx");
+        Files.writeString(file, "sku,name\n");
+
+        assertThatThrownBy(() -> new XlsxReader(file.toFile())).isInstanceOf(IOException.class);
+    }
+
+    private String sheet(String rows) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<sheetData>" + rows + "</sheetData></worksheet>";
+    }
+
+    private File workbook(String sharedStrings, String sheet) throws IOException {
+        Path file = tempDir.resolve("products.xlsx");
+        try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+            if (sharedStrings != null) {
+                zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+                zip.write(sharedStrings.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            zip.write(sheet.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return file.toFile();
+    }
+
+    private List<List<String>> readAll(File file) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (XlsxReader reader = new XlsxReader(file)) {
+            List<String> row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}